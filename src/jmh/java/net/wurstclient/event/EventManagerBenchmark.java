@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.wurstclient.WurstClient;
+
+/**
+ * Compares {@link EventManager}'s copy-on-write dispatch with the previous
+ * implementation, which copied the listener list on every fire.
+ *
+ * <p>
+ * Run with <code>./gradlew jmh</code>. Add <code>-prof gc</code> to the JMH
+ * arguments to see the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventManagerBenchmark
+{
+	@Param({"1", "5", "20"})
+	private int listenerCount;
+	
+	private EventManager eventManager;
+	private LegacyEventManager legacyEventManager;
+	private TestEvent event;
+	
+	@Setup
+	public void setup()
+	{
+		eventManager = new EventManager(WurstClient.INSTANCE);
+		legacyEventManager = new LegacyEventManager();
+		event = new TestEvent();
+		
+		for(int i = 0; i < listenerCount; i++)
+		{
+			TestListener listener = new TestListener();
+			eventManager.add(TestListener.class, listener);
+			legacyEventManager.add(TestListener.class, listener);
+		}
+	}
+	
+	@Benchmark
+	public void copyOnWrite(Blackhole blackhole)
+	{
+		event.blackhole = blackhole;
+		eventManager.fireImpl(event);
+	}
+	
+	@Benchmark
+	public void copyOnFire(Blackhole blackhole)
+	{
+		event.blackhole = blackhole;
+		legacyEventManager.fire(event);
+	}
+	
+	/**
+	 * The dispatch path of {@link EventManager} before it was changed to
+	 * copy-on-write, without the crash reporting.
+	 */
+	private static final class LegacyEventManager
+	{
+		private final HashMap<Class<? extends Listener>, ArrayList<? extends Listener>> listenerMap =
+			new HashMap<>();
+		
+		@SuppressWarnings("unchecked")
+		public <L extends Listener, E extends Event<L>> void fire(E event)
+		{
+			ArrayList<L> listeners =
+				(ArrayList<L>)listenerMap.get(event.getListenerType());
+			if(listeners == null || listeners.isEmpty())
+				return;
+			
+			ArrayList<L> listeners2 = new ArrayList<>(listeners);
+			listeners2.removeIf(Objects::isNull);
+			event.fire(listeners2);
+		}
+		
+		@SuppressWarnings("unchecked")
+		public <L extends Listener> void add(Class<L> type, L listener)
+		{
+			((ArrayList<L>)listenerMap.computeIfAbsent(type,
+				t -> new ArrayList<L>())).add(listener);
+		}
+	}
+	
+	private static final class TestListener implements Listener
+	{
+		private int calls;
+		
+		public void onTest(Blackhole blackhole)
+		{
+			blackhole.consume(++calls);
+		}
+	}
+	
+	private static final class TestEvent extends Event<TestListener>
+	{
+		private Blackhole blackhole;
+		
+		@Override
+		public void fire(ArrayList<TestListener> listeners)
+		{
+			for(TestListener listener : listeners)
+				listener.onTest(blackhole);
+		}
+		
+		@Override
+		public Class<TestListener> getListenerType()
+		{
+			return TestListener.class;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.event;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.wurstclient.WurstClient;
+import net.wurstclient.events.ShouldDrawSideListener;
+import net.wurstclient.events.ShouldDrawSideListener.ShouldDrawSideEvent;
+
+/**
+ * Runs the per-face {@link ShouldDrawSideEvent} hook over a fixed set of
+ * chunk sections, the same way the block renderer mixins do while meshing,
+ * once the old way (new event for every face) and once the new way (skip
+ * when nobody is listening, otherwise reuse a thread-local event).
+ *
+ * <p>
+ * Run with <code>./gradlew jmh -PjmhIncludes=RenderHookBenchmark</code>. Add
+ * <code>-prof gc</code> to the JMH arguments to see the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderHookBenchmark
+{
+	private static final int SECTIONS = 16;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	
+	@Param({"false", "true"})
+	private boolean xRayEnabled;
+	
+	private EventManager eventManager;
+	private BlockState[][] sections;
+	
+	@Setup
+	public void setup()
+	{
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+		
+		eventManager = new EventManager(WurstClient.INSTANCE);
+		if(xRayEnabled)
+			eventManager.add(ShouldDrawSideListener.class,
+				event -> event.setRendered(
+					event.getState().isOf(Blocks.DIAMOND_ORE)));
+		
+		BlockState[] palette = {Blocks.AIR.getDefaultState(),
+			Blocks.STONE.getDefaultState(), Blocks.DIRT.getDefaultState(),
+			Blocks.DIAMOND_ORE.getDefaultState()};
+		
+		Random random = new Random(0);
+		sections = new BlockState[SECTIONS][4096];
+		for(BlockState[] section : sections)
+			for(int i = 0; i < section.length; i++)
+				section[i] = palette[random.nextInt(palette.length)];
+	}
+	
+	@Benchmark
+	public void newEventPerFace(Blackhole blackhole)
+	{
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		for(BlockState[] section : sections)
+			for(int i = 0; i < section.length; i++)
+			{
+				BlockState state = section[i];
+				if(state.isAir())
+					continue;
+				
+				pos.set(i & 15, i >> 8, i >> 4 & 15);
+				for(Direction side : DIRECTIONS)
+				{
+					ShouldDrawSideEvent event =
+						new ShouldDrawSideEvent(state, pos);
+					eventManager.fireImpl(event);
+					blackhole.consume(event.isRendered());
+					blackhole.consume(side);
+				}
+			}
+	}
+	
+	@Benchmark
+	public void guardedReusedEvent(Blackhole blackhole)
+	{
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		for(BlockState[] section : sections)
+			for(int i = 0; i < section.length; i++)
+			{
+				BlockState state = section[i];
+				if(state.isAir())
+					continue;
+				
+				pos.set(i & 15, i >> 8, i >> 4 & 15);
+				for(Direction side : DIRECTIONS)
+				{
+					if(!eventManager
+						.hasListenersImpl(ShouldDrawSideListener.class))
+					{
+						blackhole.consume(side);
+						continue;
+					}
+					
+					ShouldDrawSideEvent event =
+						ShouldDrawSideEvent.reuse(state, pos);
+					eventManager.fireImpl(event);
+					blackhole.consume(event.isRendered());
+					blackhole.consume(side);
+				}
+			}
+	}
+}
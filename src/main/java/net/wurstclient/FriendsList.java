@@ -19,6 +19,7 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.wurstclient.commands.FriendsCmd;
 import net.wurstclient.settings.CheckboxSetting;
+import net.wurstclient.util.json.DebouncedJsonFile;
 import net.wurstclient.util.json.JsonException;
 import net.wurstclient.util.json.JsonUtils;
 
@@ -26,10 +27,12 @@ public class FriendsList
 {
 	private final TreeSet<String> friends = new TreeSet<>();
 	private Path path;
+	private final DebouncedJsonFile saver;
 	
 	public FriendsList(Path path)
 	{
 		this.path = path;
+		saver = new DebouncedJsonFile(path);
 	}
 	
 	public void addAndSave(String name)
@@ -105,15 +108,7 @@ public class FriendsList
 	
 	private void save()
 	{
-		try
-		{
-			JsonUtils.toJson(createJson(), path);
-			
-		}catch(JsonException | IOException e)
-		{
-			System.out.println("Couldn't save " + path.getFileName());
-			e.printStackTrace();
-		}
+		saver.save(this::createJson);
 	}
 	
 	private JsonArray createJson()
@@ -14,7 +14,10 @@ import java.util.ArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.minecraft.client.MinecraftClient;
+import net.wurstclient.ai.WorldSnapshot;
 import net.wurstclient.altmanager.AltManager;
 import net.wurstclient.altmanager.Encryption;
 import net.wurstclient.analytics.PlausibleAnalytics;
@@ -26,6 +29,7 @@ import net.wurstclient.event.EventManager;
 import net.wurstclient.events.ChatOutputListener;
 import net.wurstclient.events.GUIRenderListener;
 import net.wurstclient.events.KeyPressListener;
+import net.wurstclient.events.PacketInputListener;
 import net.wurstclient.events.PostMotionListener;
 import net.wurstclient.events.PreMotionListener;
 import net.wurstclient.events.UpdateListener;
@@ -41,6 +45,11 @@ import net.wurstclient.other_feature.OtherFeature;
 import net.wurstclient.settings.SettingsFile;
 import net.wurstclient.update.ProblematicResourcePackDetector;
 import net.wurstclient.update.WurstUpdater;
+import net.wurstclient.util.EntitySnapshot;
+import net.wurstclient.util.InventoryIndex;
+import net.wurstclient.util.InventoryScheduler;
+import net.wurstclient.util.chunk.ChunkScanner;
+import net.wurstclient.util.json.DebouncedJsonFile;
 import net.wurstclient.util.json.JsonException;
 
 public enum WurstClient
@@ -68,6 +77,11 @@ public enum WurstClient
 	private IngameHUD hud;
 	private RotationFaker rotationFaker;
 	private FriendsList friends;
+	private ChunkScanner chunkScanner;
+	private WorldSnapshot worldSnapshot;
+	private EntitySnapshot entitySnapshot;
+	private InventoryIndex inventoryIndex;
+	private InventoryScheduler inventoryScheduler;
 	private WurstTranslator translator;
 	
 	private boolean enabled = true;
@@ -128,6 +142,19 @@ public enum WurstClient
 		hud = new IngameHUD();
 		eventManager.add(GUIRenderListener.class, hud);
 		
+		chunkScanner = new ChunkScanner();
+		eventManager.add(UpdateListener.class, chunkScanner);
+		
+		worldSnapshot = new WorldSnapshot();
+		eventManager.add(UpdateListener.class, worldSnapshot);
+		eventManager.add(PacketInputListener.class, worldSnapshot);
+		
+		entitySnapshot = new EntitySnapshot();
+		inventoryIndex = new InventoryIndex();
+		
+		inventoryScheduler = new InventoryScheduler();
+		eventManager.add(UpdateListener.class, inventoryScheduler);
+		
 		rotationFaker = new RotationFaker();
 		eventManager.add(PreMotionListener.class, rotationFaker);
 		eventManager.add(PostMotionListener.class, rotationFaker);
@@ -141,6 +168,13 @@ public enum WurstClient
 		Path altsFile = wurstFolder.resolve("alts.encrypted_json");
 		Path encFolder = Encryption.chooseEncryptionFolder();
 		altManager = new AltManager(altsFile, encFolder);
+		
+		// settings and other files are saved in the background, make sure
+		// nothing is lost when leaving a world or closing the game
+		ClientPlayConnectionEvents.DISCONNECT
+			.register((handler, client) -> DebouncedJsonFile.flushAll());
+		ClientLifecycleEvents.CLIENT_STOPPING
+			.register(client -> DebouncedJsonFile.flushAll());
 	}
 	
 	private Path createWurstFolder()
@@ -279,6 +313,31 @@ public enum WurstClient
 		return friends;
 	}
 	
+	public ChunkScanner getChunkScanner()
+	{
+		return chunkScanner;
+	}
+	
+	public WorldSnapshot getWorldSnapshot()
+	{
+		return worldSnapshot;
+	}
+	
+	public EntitySnapshot getEntitySnapshot()
+	{
+		return entitySnapshot;
+	}
+	
+	public InventoryIndex getInventoryIndex()
+	{
+		return inventoryIndex;
+	}
+	
+	public InventoryScheduler getInventoryScheduler()
+	{
+		return inventoryScheduler;
+	}
+	
 	public WurstTranslator getTranslator()
 	{
 		return translator;
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.minecraft.block.AbstractFireBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.MagmaBlock;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.WorldChunk;
+import net.wurstclient.WurstClient;
+
+/**
+ * Plans long trips on a coarse graph of chunk columns and hands the
+ * block-level {@link PathFinder} one short segment at a time, so that goals
+ * beyond the {@link PathFinder}'s 256 block search radius can be reached.
+ *
+ * <p>
+ * Each loaded chunk is summarized once (average surface height, how much of
+ * its surface is water or dangerous) when the coarse search first touches
+ * it. Chunks that aren't loaded yet are assumed to be easy to cross, and
+ * their summaries are filled in as the player gets close enough to load
+ * them.
+ */
+public final class ChunkRoutePlanner
+{
+	private static final MinecraftClient MC = WurstClient.MC;
+	
+	// How far one block-level segment may go, in chunks. Must stay well within
+	// the PathFinder's 256 block radius.
+	private static final int MAX_SEGMENT_LENGTH = 12;
+	private static final int MAX_CHUNK_NODES = 65536;
+	private static final int MAX_FAILED_SEGMENTS = 8;
+	
+	private static final ChunkSummary UNKNOWN =
+		new ChunkSummary(false, 0, 1, false);
+	
+	private final BlockPos goal;
+	private final ChunkPos goalChunk;
+	private final PlayerAbilities abilities = PlayerAbilities.get();
+	
+	private final HashMap<Long, ChunkSummary> summaries = new HashMap<>();
+	private final HashSet<Long> unreachableChunks = new HashSet<>();
+	private final Set<ChunkPos> chunksToUpdate =
+		Collections.synchronizedSet(new HashSet<>());
+	private int failedSegments;
+	
+	public ChunkRoutePlanner(BlockPos goal)
+	{
+		this.goal = goal;
+		goalChunk = new ChunkPos(goal);
+	}
+	
+	/**
+	 * Returns a {@link PathFinder} for the next part of the trip, starting at
+	 * the player's current position, or <code>null</code> if no route to the
+	 * goal could be found.
+	 */
+	public PathFinder createPathFinder()
+	{
+		updateSummaries();
+		
+		ChunkPos playerChunk = MC.player.getChunkPos();
+		if(isInSegmentRange(playerChunk, goalChunk))
+			return new PathFinder(goal);
+		
+		ArrayList<ChunkPos> route = findRoute(playerChunk);
+		if(route == null)
+			return null;
+			
+		// go as far along the route as the block-level search can reach
+		ChunkPos waypoint = null;
+		for(ChunkPos chunk : route)
+		{
+			if(!isInSegmentRange(playerChunk, chunk))
+				break;
+			
+			if(MC.world.isChunkLoaded(chunk.x, chunk.z))
+				waypoint = chunk;
+		}
+		
+		if(waypoint == null || waypoint.equals(playerChunk))
+			return null;
+		
+		return new SegmentPathFinder(waypoint, getWaypointGoal(waypoint));
+	}
+	
+	/**
+	 * Returns true if the given {@link PathFinder} leads to the actual goal
+	 * rather than to an intermediate waypoint.
+	 */
+	public boolean isFinalSegment(PathFinder pathFinder)
+	{
+		return !(pathFinder instanceof SegmentPathFinder);
+	}
+	
+	/**
+	 * Tells the planner that the block-level search couldn't reach the
+	 * waypoint of the given segment, so that the next route avoids it.
+	 *
+	 * @return false if too many segments have failed and the trip should be
+	 *         given up.
+	 */
+	public boolean onSegmentFailed(PathFinder pathFinder)
+	{
+		if(!(pathFinder instanceof SegmentPathFinder segment))
+			return false;
+		
+		unreachableChunks.add(segment.waypoint.toLong());
+		return ++failedSegments <= MAX_FAILED_SEGMENTS;
+	}
+	
+	/**
+	 * Marks the given chunk's summary as outdated. Safe to call from the
+	 * network thread.
+	 */
+	public void onChunkChanged(ChunkPos chunkPos)
+	{
+		if(chunkPos != null)
+			chunksToUpdate.add(chunkPos);
+	}
+	
+	private void updateSummaries()
+	{
+		synchronized(chunksToUpdate)
+		{
+			for(ChunkPos chunkPos : chunksToUpdate)
+				summaries.remove(chunkPos.toLong());
+			
+			chunksToUpdate.clear();
+		}
+	}
+	
+	private ArrayList<ChunkPos> findRoute(ChunkPos from)
+	{
+		PathNodeMap nodes = new PathNodeMap(from.x, from.z);
+		PathQueue queue = new PathQueue();
+		
+		int startNode = nodes.getOrCreate(nodes.pack(from.x, 0, from.z, false));
+		nodes.setCost(startNode, 0);
+		queue.add(startNode, getHeuristic(from.x, from.z));
+		
+		while(!queue.isEmpty() && nodes.size() < MAX_CHUNK_NODES)
+		{
+			int node = queue.poll();
+			int x = nodes.getX(node);
+			int z = nodes.getZ(node);
+			
+			if(x == goalChunk.x && z == goalChunk.z)
+				return getRoute(nodes, node);
+			
+			ChunkSummary summary = getSummary(x, z);
+			for(int dx = -1; dx <= 1; dx++)
+				for(int dz = -1; dz <= 1; dz++)
+				{
+					if(dx == 0 && dz == 0)
+						continue;
+					
+					int nextX = x + dx;
+					int nextZ = z + dz;
+					if(!canEnter(nextX, nextZ))
+						continue;
+						
+					// don't cut corners past blocked chunks
+					boolean diagonal = dx != 0 && dz != 0;
+					if(diagonal
+						&& (!canEnter(x + dx, z) || !canEnter(x, z + dz)))
+						continue;
+					
+					float newCost = nodes.getCost(node)
+						+ getCost(summary, getSummary(nextX, nextZ), diagonal);
+					int next =
+						nodes.getOrCreate(nodes.pack(nextX, 0, nextZ, false));
+					if(nodes.getCost(next) <= newCost)
+						continue;
+					
+					nodes.setCost(next, newCost);
+					nodes.setParent(next, node);
+					queue.add(next, newCost + getHeuristic(nextX, nextZ));
+				}
+		}
+		
+		return null;
+	}
+	
+	private ArrayList<ChunkPos> getRoute(PathNodeMap nodes, int node)
+	{
+		ArrayList<ChunkPos> route = new ArrayList<>();
+		for(; node != PathNodeMap.NO_NODE; node = nodes.getParent(node))
+			route.add(new ChunkPos(nodes.getX(node), nodes.getZ(node)));
+		
+		Collections.reverse(route);
+		return route;
+	}
+	
+	private boolean canEnter(int chunkX, int chunkZ)
+	{
+		if(chunkX == goalChunk.x && chunkZ == goalChunk.z)
+			return true;
+		
+		if(unreachableChunks.contains(ChunkPos.toLong(chunkX, chunkZ)))
+			return false;
+		
+		return !getSummary(chunkX, chunkZ).blocked();
+	}
+	
+	private float getCost(ChunkSummary current, ChunkSummary next,
+		boolean diagonal)
+	{
+		float cost = 8 * (current.costFactor() + next.costFactor());
+		if(diagonal)
+			cost *= 1.4142135623730951F;
+		
+		// climbing and dropping
+		if(current.known() && next.known() && !abilities.flying())
+			cost += Math.abs(current.height() - next.height());
+		
+		return cost;
+	}
+	
+	private float getHeuristic(int chunkX, int chunkZ)
+	{
+		// same as the PathFinder's heuristic, in blocks
+		float dx = Math.abs(chunkX - goalChunk.x);
+		float dz = Math.abs(chunkZ - goalChunk.z);
+		return 16 * (dx + dz - 0.5857864376269049F * Math.min(dx, dz));
+	}
+	
+	private ChunkSummary getSummary(int chunkX, int chunkZ)
+	{
+		if(!MC.world.isChunkLoaded(chunkX, chunkZ))
+			return UNKNOWN;
+		
+		return summaries.computeIfAbsent(ChunkPos.toLong(chunkX, chunkZ),
+			key -> summarize(MC.world.getChunk(chunkX, chunkZ)));
+	}
+	
+	private ChunkSummary summarize(WorldChunk chunk)
+	{
+		if(abilities.flying())
+			return new ChunkSummary(true, 0, 1, false);
+		
+		int startX = chunk.getPos().getStartX();
+		int startZ = chunk.getPos().getStartZ();
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		
+		int columns = 0;
+		int heightSum = 0;
+		int water = 0;
+		int dangerous = 0;
+		
+		for(int x = 0; x < 16; x++)
+			for(int z = 0; z < 16; z++)
+			{
+				int top =
+					chunk.sampleHeightmap(Heightmap.Type.MOTION_BLOCKING, x, z);
+				
+				// void, can't walk here
+				if(top < chunk.getBottomY())
+					continue;
+				
+				columns++;
+				heightSum += top;
+				
+				BlockState state =
+					chunk.getBlockState(pos.set(startX + x, top, startZ + z));
+				if(state.getFluidState().isIn(FluidTags.WATER))
+					water++;
+				else if(!abilities.invulnerable()
+					&& (state.getFluidState().isIn(FluidTags.LAVA)
+						|| state.getBlock() instanceof AbstractFireBlock
+						|| state.getBlock() instanceof MagmaBlock))
+					dangerous++;
+			}
+		
+		// mostly void or lava
+		int walkable = columns - dangerous;
+		if(walkable < 64)
+			return new ChunkSummary(true, 0, 1, true);
+		
+		int height = heightSum / columns;
+		float costFactor = 1 + 0.5F * water / columns + 2F * dangerous / columns;
+		return new ChunkSummary(true, height, costFactor, false);
+	}
+	
+	private BlockPos getWaypointGoal(ChunkPos waypoint)
+	{
+		WorldChunk chunk = MC.world.getChunk(waypoint.x, waypoint.z);
+		int y = chunk.sampleHeightmap(Heightmap.Type.MOTION_BLOCKING, 8, 8) + 1;
+		if(y <= chunk.getBottomY())
+			y = MC.player.getBlockY();
+		
+		return new BlockPos(waypoint.getStartX() + 8, y,
+			waypoint.getStartZ() + 8);
+	}
+	
+	private static boolean isInSegmentRange(ChunkPos a, ChunkPos b)
+	{
+		return Math.abs(a.x - b.x) <= MAX_SEGMENT_LENGTH
+			&& Math.abs(a.z - b.z) <= MAX_SEGMENT_LENGTH;
+	}
+	
+	public BlockPos getGoal()
+	{
+		return goal;
+	}
+	
+	private record ChunkSummary(boolean known, int height, float costFactor,
+		boolean blocked)
+	{}
+	
+	/**
+	 * Finds a path to any standing position in the waypoint chunk. The exact
+	 * block doesn't matter, since it's only a stop on the way to the goal.
+	 */
+	private static final class SegmentPathFinder extends PathFinder
+	{
+		private final ChunkPos waypoint;
+		
+		public SegmentPathFinder(ChunkPos waypoint, BlockPos goal)
+		{
+			super(goal);
+			this.waypoint = waypoint;
+		}
+		
+		@Override
+		protected boolean checkDone()
+		{
+			return done = current.getX() >> 4 == waypoint.x
+				&& current.getZ() >> 4 == waypoint.z && !current.isJumping()
+				&& (canFlyAt(current) || canBeSolid(current.down()));
+		}
+	}
+}
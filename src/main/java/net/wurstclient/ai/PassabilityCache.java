@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.ai;
+
+/**
+ * Remembers the passability flags that a {@link PathFinder} has already
+ * computed for each block position during one search, so that neighboring
+ * nodes don't look up the same blocks over and over again.
+ *
+ * <p>
+ * Keys are packed block positions (<code>BlockPos.asLong()</code>), values
+ * are non-zero flag bytes. A value of zero means "not cached".
+ */
+public final class PassabilityCache
+{
+	private long[] keys = new long[1 << 14];
+	private byte[] values = new byte[keys.length];
+	private int mask = keys.length - 1;
+	private int size;
+	
+	private long hits;
+	private long misses;
+	
+	/**
+	 * Returns the cached flags for the given position, or 0 if they haven't
+	 * been computed yet.
+	 */
+	public int get(long key)
+	{
+		for(int slot = hash(key) & mask;; slot = slot + 1 & mask)
+		{
+			byte value = values[slot];
+			if(value == 0)
+			{
+				misses++;
+				return 0;
+			}
+			
+			if(keys[slot] == key)
+			{
+				hits++;
+				return value & 0xFF;
+			}
+		}
+	}
+	
+	/**
+	 * Stores the flags for a position that isn't cached yet.
+	 */
+	public void put(long key, int flags)
+	{
+		if(flags == 0)
+			throw new IllegalArgumentException("Flags must not be zero!");
+		
+		insert(key, (byte)flags);
+		
+		// keep the load factor at or below 0.5
+		if(++size * 2 > keys.length)
+			rehash();
+	}
+	
+	private void insert(long key, byte value)
+	{
+		int slot = hash(key) & mask;
+		while(values[slot] != 0)
+			slot = slot + 1 & mask;
+		
+		keys[slot] = key;
+		values[slot] = value;
+	}
+	
+	private void rehash()
+	{
+		long[] oldKeys = keys;
+		byte[] oldValues = values;
+		
+		keys = new long[oldKeys.length * 2];
+		values = new byte[keys.length];
+		mask = keys.length - 1;
+		
+		for(int i = 0; i < oldKeys.length; i++)
+			if(oldValues[i] != 0)
+				insert(oldKeys[i], oldValues[i]);
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public long getHits()
+	{
+		return hits;
+	}
+	
+	public long getMisses()
+	{
+		return misses;
+	}
+	
+	/**
+	 * Returns the fraction of lookups that didn't have to touch the world,
+	 * between 0 and 1.
+	 */
+	public double getHitRate()
+	{
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double)hits / lookups;
+	}
+	
+	private static int hash(long key)
+	{
+		// MurmurHash3 finalizer, spreads neighboring coordinates apart
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int)key;
+	}
+}
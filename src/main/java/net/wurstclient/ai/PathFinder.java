@@ -9,16 +9,15 @@ package net.wurstclient.ai;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import net.minecraft.block.*;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.VertexConsumer;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.util.math.MatrixStack;
-import net.minecraft.fluid.Fluid;
 import net.minecraft.fluid.LavaFluid;
 import net.minecraft.fluid.WaterFluid;
 import net.minecraft.util.math.BlockPos;
@@ -27,13 +26,16 @@ import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 import net.wurstclient.WurstClient;
 import net.wurstclient.WurstRenderLayers;
-import net.wurstclient.util.BlockUtils;
+import net.wurstclient.util.MinPriorityThreadFactory;
 import net.wurstclient.util.RegionPos;
 import net.wurstclient.util.RenderUtils;
 
 public class PathFinder
 {
+	private static final WurstClient WURST = WurstClient.INSTANCE;
 	private static final MinecraftClient MC = WurstClient.MC;
+	private static final ExecutorService BACKGROUND_THREAD_POOL =
+		MinPriorityThreadFactory.newFixedThreadPool();
 	
 	private final PlayerAbilities abilities = PlayerAbilities.get();
 	protected boolean fallingAllowed = true;
@@ -41,11 +43,28 @@ public class PathFinder
 	
 	private final PathPos start;
 	protected PathPos current;
+	private int currentNode;
 	private final BlockPos goal;
 	
-	private final HashMap<PathPos, Float> costMap = new HashMap<>();
-	protected final HashMap<PathPos, PathPos> prevPosMap = new HashMap<>();
+	private PathNodeMap nodes;
 	private final PathQueue queue = new PathQueue();
+	private PassabilityCache passabilityCache;
+	private boolean usePassabilityCache;
+	
+	// passability flags, see computeFlags()
+	private static final int COMPUTED = 1;
+	private static final int SOLID = 1 << 1;
+	private static final int PASSABLE = 1 << 2;
+	private static final int FENCE = 1 << 3;
+	private static final int SAFE_TO_STAND = 1 << 4;
+	private static final int CLIMBABLE = 1 << 5;
+	private static final int DANGEROUS = 1 << 6;
+	private static final int WATER = 1 << 7;
+	
+	// neighbors of the node that is being expanded, reused for every node
+	private final long[] neighborKeys = new long[10];
+	private final float[] neighborCosts = new float[10];
+	private int neighborCount;
 	
 	protected int thinkSpeed = 1024;
 	protected int thinkTime = 200;
@@ -55,6 +74,11 @@ public class PathFinder
 	protected boolean failed;
 	private final ArrayList<PathPos> path = new ArrayList<>();
 	
+	// only used by thinkAsync()
+	private WorldSnapshot.Reader snapshot;
+	private CompletableFuture<Boolean> asyncTask;
+	private volatile boolean cancelled;
+	
 	public PathFinder(BlockPos goal)
 	{
 		if(MC.player.isOnGround())
@@ -64,8 +88,7 @@ public class PathFinder
 			start = new PathPos(BlockPos.ofFloored(MC.player.getPos()));
 		this.goal = goal;
 		
-		costMap.put(start, 0F);
-		queue.add(start, getHeuristic(start));
+		resetSearch();
 	}
 	
 	public PathFinder(PathFinder pathFinder)
@@ -75,6 +98,140 @@ public class PathFinder
 		thinkTime = pathFinder.thinkTime;
 	}
 	
+	private void resetSearch()
+	{
+		nodes = new PathNodeMap(start.getX(), start.getZ());
+		queue.clear();
+		passabilityCache = new PassabilityCache();
+		usePassabilityCache = true;
+		iterations = 0;
+		current = null;
+		done = false;
+		failed = false;
+		
+		int startNode = nodes.getOrCreate(nodes.pack(start.getX(),
+			start.getY(), start.getZ(), start.isJumping()));
+		nodes.setCost(startNode, 0);
+		queue.add(startNode, getHeuristic(start));
+	}
+	
+	/**
+	 * Runs the whole search on a background thread, using the shared
+	 * {@link WorldSnapshot} instead of the live world. Call this once per tick
+	 * instead of {@link #think()}. {@link #isDone()} and {@link #isFailed()}
+	 * return false until the search has finished.
+	 *
+	 * <p>
+	 * When the search reaches blocks that haven't been copied yet, it pauses
+	 * and continues where it left off on a later tick, once the client thread
+	 * has copied them.
+	 *
+	 * <p>
+	 * Only {@link #checkDone()} and {@link #isMineable(BlockPos)} run on the
+	 * background thread, so subclasses that use this must not read the live
+	 * world or other mutable client state there.
+	 */
+	public void thinkAsync()
+	{
+		if(asyncTask != null)
+		{
+			// still running
+			Boolean finished = asyncTask.getNow(null);
+			if(finished == null)
+				return;
+			
+			if(finished)
+			{
+				detachSnapshot();
+				return;
+			}
+			
+			// otherwise paused, continue with the blocks copied since then
+		}else
+		{
+			if(done)
+				throw new IllegalStateException("Path was already found!");
+			
+			snapshot = WURST.getWorldSnapshot().newReader();
+		}
+		
+		// returns false if the search paused or was cancelled
+		asyncTask = CompletableFuture.supplyAsync(() -> {
+			try
+			{
+				while(!done && !failed)
+				{
+					if(cancelled)
+						return false;
+					
+					think();
+				}
+				
+				return true;
+				
+			}catch(WorldSnapshot.MissingSectionException e)
+			{
+				// put back the node that was being expanded, so that the
+				// search can continue with it once the blocks are copied
+				queue.add(currentNode,
+					nodes.getCost(currentNode) + getHeuristic(current));
+				return false;
+			}
+		}, BACKGROUND_THREAD_POOL).handle((finished, e) -> {
+			if(e == null)
+				return finished;
+			
+			// count a crashed search as failed instead of rethrowing it on
+			// the client thread
+			e.printStackTrace();
+			failed = true;
+			return true;
+		});
+	}
+	
+	/**
+	 * Stops a search started with {@link #thinkAsync()} and switches this
+	 * {@link PathFinder} back to the live world. Must be called when
+	 * discarding a {@link PathFinder} that might still be thinking.
+	 */
+	public void cancel()
+	{
+		if(asyncTask == null)
+			return;
+		
+		// wait for the search to stop, which can't throw since thinkAsync()
+		// already handles exceptions
+		cancelled = true;
+		if(!asyncTask.join())
+			failed = true;
+		
+		detachSnapshot();
+	}
+	
+	/**
+	 * Switches back to the live world once the async search has finished,
+	 * so that the path is checked against the live world while following it.
+	 */
+	private void detachSnapshot()
+	{
+		snapshot = null;
+		asyncTask = null;
+		cancelled = false;
+	}
+	
+	public boolean isThinking()
+	{
+		if(asyncTask == null)
+			return false;
+		
+		Boolean finished = asyncTask.getNow(null);
+		if(finished == null || !finished)
+			return true;
+		
+		detachSnapshot();
+		return false;
+	}
+	
 	public void think()
 	{
 		if(done)
@@ -84,24 +241,29 @@ public class PathFinder
 		for(; i < thinkSpeed && !checkFailed(); i++)
 		{
 			// get next position from queue
-			current = queue.poll();
+			currentNode = queue.poll();
+			current = nodes.getPos(currentNode);
 			
 			// check if path is found
 			if(checkDone())
 				return;
 			
 			// add neighbors to queue
-			for(PathPos next : getNeighbors(current))
+			float currentCost = nodes.getCost(currentNode);
+			findNeighbors(current, currentNode);
+			for(int j = 0; j < neighborCount; j++)
 			{
 				// check cost
-				float newCost = costMap.get(current) + getCost(current, next);
-				if(costMap.containsKey(next) && costMap.get(next) <= newCost)
+				float newCost = currentCost + neighborCosts[j];
+				int next = nodes.getOrCreate(neighborKeys[j]);
+				if(nodes.getCost(next) <= newCost)
 					continue;
 				
-				// add to queue
-				costMap.put(next, newCost);
-				prevPosMap.put(next, current);
-				queue.add(next, newCost + getHeuristic(next));
+				// add to queue (or move it up if it's already queued)
+				nodes.setCost(next, newCost);
+				nodes.setParent(next, currentNode);
+				queue.add(next, newCost + getHeuristic(nodes.getX(next),
+					nodes.getY(next), nodes.getZ(next)));
 			}
 		}
 		iterations += i;
@@ -117,14 +279,22 @@ public class PathFinder
 		return failed = queue.isEmpty() || iterations >= thinkSpeed * thinkTime;
 	}
 	
-	private ArrayList<PathPos> getNeighbors(PathPos pos)
+	/**
+	 * Writes the neighbors of the given position into
+	 * <code>neighborKeys</code> and <code>neighborCosts</code>.
+	 *
+	 * @param node
+	 *            The ID of <code>pos</code> in the node map, used to look up
+	 *            how the player got there.
+	 */
+	private void findNeighbors(PathPos pos, int node)
 	{
-		ArrayList<PathPos> neighbors = new ArrayList<>();
+		neighborCount = 0;
 		
 		// abort if too far away
 		if(Math.abs(start.getX() - pos.getX()) > 256
 			|| Math.abs(start.getZ() - pos.getZ()) > 256)
-			return neighbors;
+			return;
 		
 		// get all neighbors
 		BlockPos north = pos.north();
@@ -153,53 +323,59 @@ public class PathFinder
 		{
 			// north
 			if(checkHorizontalMovement(pos, north))
-				neighbors.add(new PathPos(north));
+				addNeighbor(pos, north, false);
 			
 			// east
 			if(checkHorizontalMovement(pos, east))
-				neighbors.add(new PathPos(east));
+				addNeighbor(pos, east, false);
 			
 			// south
 			if(checkHorizontalMovement(pos, south))
-				neighbors.add(new PathPos(south));
+				addNeighbor(pos, south, false);
 			
 			// west
 			if(checkHorizontalMovement(pos, west))
-				neighbors.add(new PathPos(west));
+				addNeighbor(pos, west, false);
 			
 			// north-east
 			if(checkDiagonalMovement(pos, Direction.NORTH, Direction.EAST))
-				neighbors.add(new PathPos(northEast));
+				addNeighbor(pos, northEast, false);
 			
 			// south-east
 			if(checkDiagonalMovement(pos, Direction.SOUTH, Direction.EAST))
-				neighbors.add(new PathPos(southEast));
+				addNeighbor(pos, southEast, false);
 			
 			// south-west
 			if(checkDiagonalMovement(pos, Direction.SOUTH, Direction.WEST))
-				neighbors.add(new PathPos(southWest));
+				addNeighbor(pos, southWest, false);
 			
 			// north-west
 			if(checkDiagonalMovement(pos, Direction.NORTH, Direction.WEST))
-				neighbors.add(new PathPos(northWest));
+				addNeighbor(pos, northWest, false);
 		}
 		
 		// up
-		if(pos.getY() < MC.world.getTopYInclusive() && canGoThrough(up.up())
+		if(pos.getY() < getTopYInclusive() && canGoThrough(up.up())
 			&& (flying || onGround || canClimbUpAt(pos))
 			&& (flying || canClimbUpAt(pos) || goal.equals(up)
 				|| canSafelyStandOn(north) || canSafelyStandOn(east)
 				|| canSafelyStandOn(south) || canSafelyStandOn(west))
-			&& (divingAllowed || BlockUtils.getBlock(up.up()) != Blocks.WATER))
-			neighbors.add(new PathPos(up, onGround));
+			&& (divingAllowed || !isWater(up.up())))
+			addNeighbor(pos, up, onGround);
 		
 		// down
-		if(pos.getY() > MC.world.getBottomY() && canGoThrough(down)
-			&& canGoAbove(down.down()) && (flying || canFallBelow(pos))
-			&& (divingAllowed || BlockUtils.getBlock(pos) != Blocks.WATER))
-			neighbors.add(new PathPos(down));
-		
-		return neighbors;
+		if(pos.getY() > getBottomY() && canGoThrough(down)
+			&& canGoAbove(down.down()) && (flying || canFallBelow(pos, node))
+			&& (divingAllowed || !isWater(pos)))
+			addNeighbor(pos, down, false);
+	}
+	
+	private void addNeighbor(BlockPos pos, BlockPos next, boolean jumping)
+	{
+		neighborKeys[neighborCount] =
+			nodes.pack(next.getX(), next.getY(), next.getZ(), jumping);
+		neighborCosts[neighborCount] = getCost(pos, next);
+		neighborCount++;
 	}
 	
 	private boolean checkHorizontalMovement(BlockPos current, BlockPos next)
@@ -238,7 +414,7 @@ public class PathFinder
 		if(!canGoAbove(pos.down()))
 			return false;
 		
-		if(!divingAllowed && BlockUtils.getBlock(up) == Blocks.WATER)
+		if(!divingAllowed && isWater(up))
 			return false;
 		
 		return true;
@@ -256,7 +432,7 @@ public class PathFinder
 		if(!canGoAbove(pos.down()))
 			return false;
 		
-		if(!divingAllowed && BlockUtils.getBlock(up) == Blocks.WATER)
+		if(!divingAllowed && isWater(up))
 			return false;
 		
 		return true;
@@ -267,73 +443,102 @@ public class PathFinder
 		return false;
 	}
 	
-	@SuppressWarnings("deprecation")
 	protected boolean canBeSolid(BlockPos pos)
 	{
-		BlockState state = BlockUtils.getState(pos);
-		Block block = state.getBlock();
-		
-		return state.blocksMovement() && !(block instanceof AbstractSignBlock)
-			|| block instanceof LadderBlock || abilities.jesus()
-				&& (block == Blocks.WATER || block == Blocks.LAVA);
+		return (getFlags(pos) & SOLID) != 0;
 	}
 	
-	@SuppressWarnings("deprecation")
 	private boolean canGoThrough(BlockPos pos)
 	{
-		// check if loaded
-		// Can't see why isChunkLoaded() is deprecated. Still seems to be widely
-		// used with no replacement.
-		if(!MC.world.isChunkLoaded(pos))
-			return false;
-		
-		// check if solid
-		BlockState state = BlockUtils.getState(pos);
-		Block block = state.getBlock();
-		if(state.blocksMovement() && !(block instanceof AbstractSignBlock))
-			return false;
-		
-		// check if trapped
-		if(block instanceof TripwireBlock
-			|| block instanceof PressurePlateBlock)
-			return false;
-		
-		// check if safe
-		if(!abilities.invulnerable()
-			&& (block == Blocks.LAVA || block instanceof AbstractFireBlock))
-			return false;
-		
-		return true;
+		return (getFlags(pos) & PASSABLE) != 0;
 	}
 	
 	private boolean canGoAbove(BlockPos pos)
 	{
-		// check for fences, etc.
-		Block block = BlockUtils.getBlock(pos);
-		if(block instanceof FenceBlock || block instanceof WallBlock
-			|| block instanceof FenceGateBlock)
-			return false;
-		
-		return true;
+		return (getFlags(pos) & FENCE) == 0;
 	}
 	
 	private boolean canSafelyStandOn(BlockPos pos)
 	{
+		return (getFlags(pos) & SAFE_TO_STAND) != 0;
+	}
+	
+	private boolean isWater(BlockPos pos)
+	{
+		return (getFlags(pos) & WATER) != 0;
+	}
+	
+	/**
+	 * Returns the passability flags of the given position, computing them
+	 * only once per search.
+	 */
+	private int getFlags(BlockPos pos)
+	{
+		if(!usePassabilityCache)
+			return computeFlags(pos);
+		
+		long key = pos.asLong();
+		int flags = passabilityCache.get(key);
+		if(flags != 0)
+			return flags;
+		
+		flags = computeFlags(pos);
+		passabilityCache.put(key, flags);
+		return flags;
+	}
+	
+	@SuppressWarnings("deprecation")
+	private int computeFlags(BlockPos pos)
+	{
+		BlockState state = getState(pos);
+		Block block = state.getBlock();
+		int flags = COMPUTED;
+		
+		if(block == Blocks.WATER)
+			flags |= WATER;
+		
+		// check if it hurts
+		if(!abilities.invulnerable() && (block == Blocks.LAVA
+			|| block instanceof AbstractFireBlock
+			|| block instanceof CactusBlock
+			|| state.getFluidState().getFluid() instanceof LavaFluid))
+			flags |= DANGEROUS;
+		
 		// check if solid
-		if(!canBeSolid(pos))
-			return false;
+		boolean blocksMovement =
+			state.blocksMovement() && !(block instanceof AbstractSignBlock);
+		if(blocksMovement || block instanceof LadderBlock || abilities.jesus()
+			&& (block == Blocks.WATER || block == Blocks.LAVA))
+		{
+			flags |= SOLID;
+			
+			if((flags & DANGEROUS) == 0)
+				flags |= SAFE_TO_STAND;
+		}
 		
-		// check if safe
-		BlockState state = BlockUtils.getState(pos);
-		Fluid fluid = state.getFluidState().getFluid();
-		if(!abilities.invulnerable() && (state.getBlock() instanceof CactusBlock
-			|| fluid instanceof LavaFluid))
-			return false;
+		// check if loaded, not solid, not trapped and safe
+		// Can't see why isChunkLoaded() is deprecated. Still seems to be widely
+		// used with no replacement.
+		if(isChunkLoaded(pos) && !blocksMovement
+			&& !(block instanceof TripwireBlock)
+			&& !(block instanceof PressurePlateBlock)
+			&& (flags & DANGEROUS) == 0)
+			flags |= PASSABLE;
 		
-		return true;
+		// check for fences, etc.
+		if(block instanceof FenceBlock || block instanceof WallBlock
+			|| block instanceof FenceGateBlock)
+			flags |= FENCE;
+		
+		// check if this block works for climbing
+		if(abilities.spider() || block instanceof LadderBlock
+			|| block instanceof VineBlock)
+			flags |= CLIMBABLE;
+		
+		return flags;
 	}
 	
-	private boolean canFallBelow(PathPos pos)
+	private boolean canFallBelow(PathPos pos, int node)
 	{
 		// check if player can keep falling
 		BlockPos down2 = pos.down(2);
@@ -349,51 +554,52 @@ public class PathFinder
 			return true;
 		
 		// check if fall ends with slime block
-		if(BlockUtils.getBlock(down2) instanceof SlimeBlock && fallingAllowed)
+		if(getBlock(down2) instanceof SlimeBlock && fallingAllowed)
 			return true;
 		
 		// check fall damage
-		BlockPos prevPos = pos;
+		int prevNode = node;
 		for(int i = 0; i <= (fallingAllowed ? 3 : 1); i++)
 		{
-			// check if prevPos does not exist, meaning that the pathfinding
+			// check if prevNode does not exist, meaning that the pathfinding
 			// started during the fall and fall damage should be ignored because
 			// it cannot be prevented
-			if(prevPos == null)
+			if(prevNode == PathNodeMap.NO_NODE)
 				return true;
 				
 			// check if point is not part of this fall, meaning that the fall is
 			// too short to cause any damage
-			if(!pos.up(i).equals(prevPos))
+			BlockPos prevPos = pos.up(i);
+			if(nodes.getX(prevNode) != prevPos.getX()
+				|| nodes.getY(prevNode) != prevPos.getY()
+				|| nodes.getZ(prevNode) != prevPos.getZ())
 				return true;
 			
 			// check if block resets fall damage
-			Block prevBlock = BlockUtils.getBlock(prevPos);
-			BlockState prevState = BlockUtils.getState(prevPos);
+			Block prevBlock = getBlock(prevPos);
+			BlockState prevState = getState(prevPos);
 			if(prevState.getFluidState().getFluid() instanceof WaterFluid
 				|| prevBlock instanceof LadderBlock
 				|| prevBlock instanceof VineBlock
 				|| prevBlock instanceof CobwebBlock)
 				return true;
 			
-			prevPos = prevPosMap.get(prevPos);
+			prevNode = nodes.getParent(prevNode);
 		}
 		
 		return false;
 	}
 	
-	private boolean canFlyAt(BlockPos pos)
+	protected boolean canFlyAt(BlockPos pos)
 	{
-		return abilities.flying() || !abilities.noWaterSlowdown()
-			&& BlockUtils.getBlock(pos) == Blocks.WATER;
+		return abilities.flying()
+			|| !abilities.noWaterSlowdown() && isWater(pos);
 	}
 	
 	private boolean canClimbUpAt(BlockPos pos)
 	{
 		// check if this block works for climbing
-		Block block = BlockUtils.getBlock(pos);
-		if(!abilities.spider() && !(block instanceof LadderBlock)
-			&& !(block instanceof VineBlock))
+		if((getFlags(pos) & CLIMBABLE) == 0)
 			return false;
 		
 		// check if any adjacent block is solid
@@ -410,16 +616,16 @@ public class PathFinder
 	private boolean canMoveSidewaysInMidairAt(BlockPos pos)
 	{
 		// check feet
-		Block blockFeet = BlockUtils.getBlock(pos);
-		if(BlockUtils.getBlock(pos) instanceof FluidBlock
+		Block blockFeet = getBlock(pos);
+		if(getBlock(pos) instanceof FluidBlock
 			|| blockFeet instanceof LadderBlock
 			|| blockFeet instanceof VineBlock
 			|| blockFeet instanceof CobwebBlock)
 			return true;
 		
 		// check head
-		Block blockHead = BlockUtils.getBlock(pos.up());
-		if(BlockUtils.getBlock(pos.up()) instanceof FluidBlock
+		Block blockHead = getBlock(pos.up());
+		if(getBlock(pos.up()) instanceof FluidBlock
 			|| blockHead instanceof CobwebBlock)
 			return true;
 		
@@ -434,7 +640,7 @@ public class PathFinder
 		for(int i = 0; i < positions.length; i++)
 		{
 			BlockPos pos = positions[i];
-			Block block = BlockUtils.getBlock(pos);
+			Block block = getBlock(pos);
 			
 			// liquids
 			if(block == Blocks.WATER && !abilities.noWaterSlowdown())
@@ -444,7 +650,7 @@ public class PathFinder
 			
 			// soul sand
 			if(!canFlyAt(pos)
-				&& BlockUtils.getBlock(pos.down()) instanceof SoulSandBlock)
+				&& getBlock(pos.down()) instanceof SoulSandBlock)
 				costs[i] *= 2.5F;
 			
 			// mining
@@ -465,12 +671,55 @@ public class PathFinder
 	
 	private float getHeuristic(BlockPos pos)
 	{
-		float dx = Math.abs(pos.getX() - goal.getX());
-		float dy = Math.abs(pos.getY() - goal.getY());
-		float dz = Math.abs(pos.getZ() - goal.getZ());
+		return getHeuristic(pos.getX(), pos.getY(), pos.getZ());
+	}
+	
+	private float getHeuristic(int x, int y, int z)
+	{
+		float dx = Math.abs(x - goal.getX());
+		float dy = Math.abs(y - goal.getY());
+		float dz = Math.abs(z - goal.getZ());
 		return 1.001F * (dx + dy + dz - 0.5857864376269049F * Math.min(dx, dz));
 	}
 	
+	protected BlockState getState(BlockPos pos)
+	{
+		if(snapshot != null)
+			return snapshot.getBlockState(pos);
+		
+		return MC.world.getBlockState(pos);
+	}
+	
+	protected Block getBlock(BlockPos pos)
+	{
+		return getState(pos).getBlock();
+	}
+	
+	@SuppressWarnings("deprecation")
+	private boolean isChunkLoaded(BlockPos pos)
+	{
+		if(snapshot != null)
+			return snapshot.isChunkLoaded(pos);
+		
+		return MC.world.isChunkLoaded(pos);
+	}
+	
+	private int getTopYInclusive()
+	{
+		if(snapshot != null)
+			return snapshot.getTopYInclusive();
+		
+		return MC.world.getTopYInclusive();
+	}
+	
+	private int getBottomY()
+	{
+		if(snapshot != null)
+			return snapshot.getBottomY();
+		
+		return MC.world.getBottomY();
+	}
+	
 	public PathPos getCurrentPos()
 	{
 		return current;
@@ -483,7 +732,8 @@ public class PathFinder
 	
 	public int countProcessedBlocks()
 	{
-		return prevPosMap.size();
+		// every node except the start has a parent
+		return nodes.size() - 1;
 	}
 	
 	public int getQueueSize()
@@ -491,46 +741,78 @@ public class PathFinder
 		return queue.size();
 	}
 	
+	public PassabilityCache getPassabilityCache()
+	{
+		return passabilityCache;
+	}
+	
 	public float getCost(BlockPos pos)
 	{
-		return costMap.get(pos);
+		boolean jumping = pos instanceof PathPos pathPos && pathPos.isJumping();
+		int node = nodes.get(
+			nodes.pack(pos.getX(), pos.getY(), pos.getZ(), jumping));
+		if(node == PathNodeMap.NO_NODE)
+			throw new IllegalArgumentException("Position was never reached!");
+		
+		return nodes.getCost(node);
 	}
 	
 	public boolean isDone()
 	{
-		return done;
+		return !isThinking() && done;
 	}
 	
 	public boolean isFailed()
 	{
-		return failed;
+		return !isThinking() && failed;
 	}
 	
 	public ArrayList<PathPos> formatPath()
 	{
+		if(isThinking())
+			throw new IllegalStateException("Still thinking!");
+		
+		// path validation after this point should use the live world
+		cancel();
+		usePassabilityCache = false;
+		
 		if(!done && !failed)
 			throw new IllegalStateException("No path found!");
 		if(!path.isEmpty())
 			throw new IllegalStateException("Path was already formatted!");
 		
 		// get last position
-		PathPos pos;
+		int node;
 		if(!failed)
-			pos = current;
+			node = currentNode;
 		else
 		{
-			pos = start;
-			for(PathPos next : prevPosMap.keySet())
-				if(getHeuristic(next) < getHeuristic(pos)
-					&& (canFlyAt(next) || canBeSolid(next.down())))
-					pos = next;
+			node = nodes.get(start);
+			float bestHeuristic = getHeuristic(start);
+			for(int next = 0; next < nodes.size(); next++)
+			{
+				if(nodes.getParent(next) == PathNodeMap.NO_NODE)
+					continue;
+				
+				float heuristic = getHeuristic(nodes.getX(next),
+					nodes.getY(next), nodes.getZ(next));
+				if(heuristic >= bestHeuristic)
+					continue;
+				
+				PathPos nextPos = nodes.getPos(next);
+				if(canFlyAt(nextPos) || canBeSolid(nextPos.down()))
+				{
+					node = next;
+					bestHeuristic = heuristic;
+				}
+			}
 		}
 		
 		// get positions
-		while(pos != null)
+		while(node != PathNodeMap.NO_NODE)
 		{
-			path.add(pos);
-			pos = prevPosMap.get(pos);
+			path.add(nodes.getPos(node));
+			node = nodes.getParent(node);
 		}
 		
 		// reverse path
@@ -553,32 +835,37 @@ public class PathFinder
 		Vec3d regionOffset = region.negate().toVec3d();
 		RenderUtils.applyRegionalRenderOffset(matrixStack, region);
 		
-		if(debugMode)
+		// the search data can't be read while another thread is writing it
+		if(debugMode && !isThinking())
 		{
 			int thingsRendered = 0;
 			
 			// queue (yellow)
-			for(PathPos element : queue.toArray())
+			for(int element : queue.toArray())
 			{
 				if(thingsRendered >= 5000)
 					break;
 				
-				Box box = new Box(element).offset(regionOffset).contract(0.4);
+				Box box = new Box(nodes.getPos(element)).offset(regionOffset)
+					.contract(0.4);
 				RenderUtils.drawNode(matrixStack, buffer, box, 0xC0FFFF00);
 				thingsRendered++;
 			}
 			
 			// processed (red or magenta)
-			for(Entry<PathPos, PathPos> entry : prevPosMap.entrySet())
+			for(int node = 0; node < nodes.size(); node++)
 			{
 				if(thingsRendered >= 5000)
 					break;
 				
-				int color =
-					entry.getKey().isJumping() ? 0xC0FF00FF : 0xC0FF0000;
+				int prevNode = nodes.getParent(node);
+				if(prevNode == PathNodeMap.NO_NODE)
+					continue;
 				
-				RenderUtils.drawArrow(matrixStack, buffer, entry.getValue(),
-					entry.getKey(), region, color);
+				int color = nodes.isJumping(node) ? 0xC0FF00FF : 0xC0FF0000;
+				
+				RenderUtils.drawArrow(matrixStack, buffer,
+					nodes.getPos(prevNode), nodes.getPos(node), region, color);
 				thingsRendered++;
 			}
 		}
@@ -614,12 +901,25 @@ public class PathFinder
 		
 		// check path
 		for(int i = Math.max(1, index); i < path.size(); i++)
-			if(!getNeighbors(path.get(i - 1)).contains(path.get(i)))
+			if(!isNeighbor(path.get(i - 1), path.get(i)))
 				return false;
 			
 		return true;
 	}
 	
+	private boolean isNeighbor(PathPos pos, PathPos next)
+	{
+		findNeighbors(pos, nodes.get(pos));
+		
+		long nextKey = nodes.pack(next.getX(), next.getY(), next.getZ(),
+			next.isJumping());
+		for(int i = 0; i < neighborCount; i++)
+			if(neighborKeys[i] == nextKey)
+				return true;
+			
+		return false;
+	}
+	
 	public PathProcessor getProcessor()
 	{
 		if(abilities.flying())
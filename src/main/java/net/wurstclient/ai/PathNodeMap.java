@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.ai;
+
+import java.util.Arrays;
+
+/**
+ * Stores the nodes of a {@link PathFinder} search in primitive arrays.
+ *
+ * <p>
+ * Each node is identified by a packed <code>long</code> key (X and Z relative
+ * to the search origin, absolute Y and the jumping flag) and gets a dense
+ * <code>int</code> ID when it is first seen. Costs and parents are stored by
+ * ID, and an open-addressing hash table maps keys to IDs. This avoids the
+ * boxed <code>Float</code> values, map entries and {@link PathPos} objects
+ * that a <code>HashMap</code>-based search would allocate for every
+ * neighbor.
+ */
+public final class PathNodeMap
+{
+	public static final int NO_NODE = -1;
+	
+	private static final int XZ_BITS = 25;
+	private static final int Y_BITS = 12;
+	private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+	private static final long Y_MASK = (1L << Y_BITS) - 1;
+	private static final int Z_SHIFT = 1;
+	private static final int Y_SHIFT = Z_SHIFT + XZ_BITS;
+	private static final int X_SHIFT = Y_SHIFT + Y_BITS;
+	
+	private final int originX;
+	private final int originZ;
+	
+	// hash table slots contain node ID + 1, so that 0 means empty
+	private int[] table;
+	private int tableMask;
+	
+	private long[] keys;
+	private float[] costs;
+	private int[] parents;
+	private int size;
+	
+	public PathNodeMap(int originX, int originZ)
+	{
+		this.originX = originX;
+		this.originZ = originZ;
+		
+		table = new int[1 << 14];
+		tableMask = table.length - 1;
+		
+		keys = new long[1 << 12];
+		costs = new float[keys.length];
+		parents = new int[keys.length];
+	}
+	
+	public long pack(int x, int y, int z, boolean jumping)
+	{
+		return ((x - originX) & XZ_MASK) << X_SHIFT
+			| (y & Y_MASK) << Y_SHIFT | ((z - originZ) & XZ_MASK) << Z_SHIFT
+			| (jumping ? 1 : 0);
+	}
+	
+	public int getX(int node)
+	{
+		return originX + (int)(keys[node] << 64 - X_SHIFT - XZ_BITS >> 64
+			- XZ_BITS);
+	}
+	
+	public int getY(int node)
+	{
+		return (int)(keys[node] << 64 - Y_SHIFT - Y_BITS >> 64 - Y_BITS);
+	}
+	
+	public int getZ(int node)
+	{
+		return originZ + (int)(keys[node] << 64 - Z_SHIFT - XZ_BITS >> 64
+			- XZ_BITS);
+	}
+	
+	public boolean isJumping(int node)
+	{
+		return (keys[node] & 1) != 0;
+	}
+	
+	public PathPos getPos(int node)
+	{
+		return new PathPos(getX(node), getY(node), getZ(node),
+			isJumping(node));
+	}
+	
+	/**
+	 * Returns the ID of the node with the given key, or {@link #NO_NODE} if
+	 * there is no such node.
+	 */
+	public int get(long key)
+	{
+		for(int slot = hash(key) & tableMask;; slot = slot + 1 & tableMask)
+		{
+			int entry = table[slot];
+			if(entry == 0)
+				return NO_NODE;
+			
+			if(keys[entry - 1] == key)
+				return entry - 1;
+		}
+	}
+	
+	public int get(PathPos pos)
+	{
+		return get(pack(pos.getX(), pos.getY(), pos.getZ(), pos.isJumping()));
+	}
+	
+	/**
+	 * Returns the ID of the node with the given key, creating it with an
+	 * infinite cost and no parent if it doesn't exist yet.
+	 */
+	public int getOrCreate(long key)
+	{
+		int slot = hash(key) & tableMask;
+		for(;; slot = slot + 1 & tableMask)
+		{
+			int entry = table[slot];
+			if(entry == 0)
+				break;
+			
+			if(keys[entry - 1] == key)
+				return entry - 1;
+		}
+		
+		if(size == keys.length)
+			growNodes();
+		
+		int node = size++;
+		keys[node] = key;
+		costs[node] = Float.POSITIVE_INFINITY;
+		parents[node] = NO_NODE;
+		table[slot] = node + 1;
+		
+		// keep the load factor at or below 0.5
+		if(size * 2 > table.length)
+			rehash(table.length * 2);
+		
+		return node;
+	}
+	
+	public float getCost(int node)
+	{
+		return costs[node];
+	}
+	
+	public void setCost(int node, float cost)
+	{
+		costs[node] = cost;
+	}
+	
+	public int getParent(int node)
+	{
+		return parents[node];
+	}
+	
+	public void setParent(int node, int parent)
+	{
+		parents[node] = parent;
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	private void growNodes()
+	{
+		int newLength = keys.length * 2;
+		keys = Arrays.copyOf(keys, newLength);
+		costs = Arrays.copyOf(costs, newLength);
+		parents = Arrays.copyOf(parents, newLength);
+	}
+	
+	private void rehash(int newLength)
+	{
+		table = new int[newLength];
+		tableMask = newLength - 1;
+		
+		for(int node = 0; node < size; node++)
+		{
+			int slot = hash(keys[node]) & tableMask;
+			while(table[slot] != 0)
+				slot = slot + 1 & tableMask;
+			
+			table[slot] = node + 1;
+		}
+	}
+	
+	private static int hash(long key)
+	{
+		// MurmurHash3 finalizer, spreads neighboring coordinates apart
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int)key;
+	}
+}
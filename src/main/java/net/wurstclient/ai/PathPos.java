@@ -24,6 +24,12 @@ public class PathPos extends BlockPos
 		this.jumping = jumping;
 	}
 	
+	public PathPos(int x, int y, int z, boolean jumping)
+	{
+		super(x, y, z);
+		this.jumping = jumping;
+	}
+	
 	public boolean isJumping()
 	{
 		return jumping;
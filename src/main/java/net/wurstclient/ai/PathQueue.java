@@ -7,60 +7,152 @@
  */
 package net.wurstclient.ai;
 
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.Arrays;
 
+/**
+ * Indexed binary min-heap of {@link PathNodeMap} node IDs. Unlike a
+ * {@link java.util.PriorityQueue}, it supports decrease-key, so a node is
+ * never in the queue more than once.
+ */
 public class PathQueue
 {
-	private final PriorityQueue<PathQueue.Entry> queue =
-		new PriorityQueue<>(Comparator.comparing(e1 -> e1.priority));
+	private int[] heap = new int[1 << 10];
+	private float[] priorities = new float[heap.length];
+	private int size;
+	
+	// heap index of each node ID + 1, so that 0 means "not in the queue"
+	private int[] indices = new int[1 << 12];
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	public int size()
+	{
+		return size;
+	}
 	
-	private static class Entry
+	public boolean contains(int node)
 	{
-		private PathPos pos;
-		private float priority;
+		return node < indices.length && indices[node] != 0;
+	}
+	
+	/**
+	 * Adds the node to the queue, or lowers its priority if it's already in
+	 * the queue.
+	 */
+	public void add(int node, float priority)
+	{
+		if(node >= indices.length)
+			indices = Arrays.copyOf(indices,
+				Math.max(indices.length * 2, node + 1));
 		
-		public Entry(PathPos pos, float priority)
+		int index = indices[node] - 1;
+		if(index >= 0)
 		{
-			this.pos = pos;
-			this.priority = priority;
+			if(priority < priorities[index])
+			{
+				priorities[index] = priority;
+				siftUp(index);
+			}
+			return;
 		}
+		
+		if(size == heap.length)
+		{
+			heap = Arrays.copyOf(heap, size * 2);
+			priorities = Arrays.copyOf(priorities, size * 2);
+		}
+		
+		heap[size] = node;
+		priorities[size] = priority;
+		indices[node] = size + 1;
+		siftUp(size++);
 	}
 	
-	public boolean isEmpty()
+	public int poll()
 	{
-		return queue.isEmpty();
+		if(size == 0)
+			throw new IllegalStateException("Queue is empty!");
+		
+		int node = heap[0];
+		indices[node] = 0;
+		
+		if(--size > 0)
+		{
+			move(size, 0);
+			siftDown(0);
+		}
+		
+		return node;
 	}
 	
-	public boolean add(PathPos pos, float priority)
+	public int[] toArray()
+	{
+		return Arrays.copyOf(heap, size);
+	}
+	
+	public void clear()
 	{
-		return queue.add(new Entry(pos, priority));
+		for(int i = 0; i < size; i++)
+			indices[heap[i]] = 0;
+		
+		size = 0;
 	}
 	
-	public PathPos[] toArray()
+	private void siftUp(int index)
 	{
-		PathPos[] array = new PathPos[size()];
-		Iterator<Entry> itr = queue.iterator();
+		int node = heap[index];
+		float priority = priorities[index];
 		
-		for(int i = 0; i < size() && itr.hasNext(); i++)
-			array[i] = itr.next().pos;
+		while(index > 0)
+		{
+			int parent = index - 1 >>> 1;
+			if(priorities[parent] <= priority)
+				break;
+			
+			move(parent, index);
+			index = parent;
+		}
 		
-		return array;
+		place(node, priority, index);
 	}
 	
-	public int size()
+	private void siftDown(int index)
 	{
-		return queue.size();
+		int node = heap[index];
+		float priority = priorities[index];
+		int half = size >>> 1;
+		
+		while(index < half)
+		{
+			int child = 2 * index + 1;
+			int right = child + 1;
+			if(right < size && priorities[right] < priorities[child])
+				child = right;
+			
+			if(priority <= priorities[child])
+				break;
+			
+			move(child, index);
+			index = child;
+		}
+		
+		place(node, priority, index);
 	}
 	
-	public void clear()
+	private void move(int from, int to)
 	{
-		queue.clear();
+		heap[to] = heap[from];
+		priorities[to] = priorities[from];
+		indices[heap[to]] = to + 1;
 	}
 	
-	public PathPos poll()
+	private void place(int node, float priority, int index)
 	{
-		return queue.poll().pos;
+		heap[index] = node;
+		priorities[index] = priority;
+		indices[node] = index + 1;
 	}
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.ai;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.UnloadChunkS2CPacket;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import net.wurstclient.WurstClient;
+import net.wurstclient.events.PacketInputListener;
+import net.wurstclient.events.UpdateListener;
+
+/**
+ * Copies of chunk sections that {@link PathFinder}s can read from a
+ * background thread. Shared by all path finders and kept for as long as the
+ * chunks stay loaded, so that a new search near the last one doesn't need to
+ * copy anything.
+ *
+ * <p>
+ * Sections are only copied on the client thread, and only once a search has
+ * asked for them. A search that reaches a section that hasn't been copied
+ * yet stops with a {@link MissingSectionException} and continues on the next
+ * tick, after {@link #onUpdate()} has copied the sections around it. Copies
+ * of sections that change are replaced in place, so a running search simply
+ * reads the newer blocks, just like a search on the live world would.
+ */
+public final class WorldSnapshot implements UpdateListener, PacketInputListener
+{
+	/**
+	 * How many chunks and sections around a missing section are copied
+	 * along with it, so that a search doesn't stop at every section border.
+	 */
+	private static final int REQUEST_RADIUS = 2;
+	
+	/**
+	 * How often to forget which sections were unloaded, so that searches far
+	 * away don't leave them behind forever.
+	 */
+	private static final int PRUNE_INTERVAL = 100;
+	
+	private static final Section UNLOADED = new Section(null, false);
+	private static final Section EMPTY = new Section(null, true);
+	private static final MissingSectionException MISSING_SECTION =
+		new MissingSectionException();
+	
+	private final ConcurrentHashMap<Long, Section> sections =
+		new ConcurrentHashMap<>();
+	private final Set<Long> requestedSections = ConcurrentHashMap.newKeySet();
+	
+	// ChunkSectionPos keys of changed sections, ChunkPos keys of changed
+	// chunks, see onReceivedPacket()
+	private final Set<Long> changedSections = ConcurrentHashMap.newKeySet();
+	private final Set<Long> changedChunks = ConcurrentHashMap.newKeySet();
+	private HashSet<Long> delayedSections = new HashSet<>();
+	private HashSet<Long> delayedChunks = new HashSet<>();
+	
+	private ClientWorld world;
+	private int ticksUntilPrune = PRUNE_INTERVAL;
+	
+	/**
+	 * Creates a reader for one search. Must be called on the client thread.
+	 */
+	public Reader newReader()
+	{
+		return new Reader(WurstClient.MC.world);
+	}
+	
+	@Override
+	public void onReceivedPacket(PacketInputEvent event)
+	{
+		Packet<?> packet = event.getPacket();
+		if(packet instanceof BlockUpdateS2CPacket p)
+			changedSections.add(ChunkSectionPos.toLong(p.getPos()));
+		else if(packet instanceof ChunkDeltaUpdateS2CPacket p)
+			changedSections.add(p.sectionPos.asLong());
+		else if(packet instanceof ChunkDataS2CPacket p)
+			changedChunks.add(ChunkPos.toLong(p.getChunkX(), p.getChunkZ()));
+		else if(packet instanceof UnloadChunkS2CPacket p)
+			changedChunks.add(p.pos().toLong());
+	}
+	
+	@Override
+	public void onUpdate()
+	{
+		ClientWorld world = WurstClient.MC.world;
+		if(world != this.world)
+		{
+			this.world = world;
+			sections.clear();
+			changedSections.clear();
+			changedChunks.clear();
+			delayedSections.clear();
+			delayedChunks.clear();
+		}
+		
+		if(world == null)
+		{
+			requestedSections.clear();
+			return;
+		}
+		
+		updateChangedSections(world);
+		
+		if(--ticksUntilPrune <= 0)
+		{
+			ticksUntilPrune = PRUNE_INTERVAL;
+			sections.values().removeIf(section -> section == UNLOADED);
+		}
+		
+		for(Long key : requestedSections)
+		{
+			requestedSections.remove(key);
+			sections.computeIfAbsent(key, k -> copySection(world, k));
+		}
+	}
+	
+	private void updateChangedSections(ClientWorld world)
+	{
+		// Packets arrive before the client applies them, so each batch is
+		// held back until the next update, when the world has caught up.
+		HashSet<Long> chunks = delayedChunks;
+		HashSet<Long> sectionKeys = delayedSections;
+		delayedChunks = drain(changedChunks);
+		delayedSections = drain(changedSections);
+		
+		int bottomSectionY = world.getBottomY() >> 4;
+		int topSectionY = world.getTopYInclusive() >> 4;
+		for(long chunk : chunks)
+		{
+			int chunkX = ChunkPos.getPackedX(chunk);
+			int chunkZ = ChunkPos.getPackedZ(chunk);
+			for(int y = bottomSectionY; y <= topSectionY; y++)
+				sectionKeys.add(ChunkSectionPos.asLong(chunkX, y, chunkZ));
+		}
+		
+		for(long key : sectionKeys)
+			sections.computeIfPresent(key, (k, old) -> copySection(world, k));
+	}
+	
+	private static HashSet<Long> drain(Set<Long> set)
+	{
+		HashSet<Long> drained = new HashSet<>();
+		for(Long key : set)
+		{
+			set.remove(key);
+			drained.add(key);
+		}
+		
+		return drained;
+	}
+	
+	private static Section copySection(ClientWorld world, long key)
+	{
+		int chunkX = ChunkSectionPos.unpackX(key);
+		int chunkZ = ChunkSectionPos.unpackZ(key);
+		if(!world.isChunkLoaded(chunkX, chunkZ))
+			return UNLOADED;
+		
+		WorldChunk chunk = world.getChunk(chunkX, chunkZ);
+		int index = world.sectionCoordToIndex(ChunkSectionPos.unpackY(key));
+		ChunkSection section = chunk.getSectionArray()[index];
+		if(section.isEmpty())
+			return EMPTY;
+		
+		return new Section(section.getBlockStateContainer().copy(), true);
+	}
+	
+	private void request(int chunkX, int sectionY, int chunkZ,
+		int bottomSectionY, int topSectionY)
+	{
+		int r = REQUEST_RADIUS;
+		int minY = Math.max(bottomSectionY, sectionY - r);
+		int maxY = Math.min(topSectionY, sectionY + r);
+		
+		for(int x = chunkX - r; x <= chunkX + r; x++)
+			for(int z = chunkZ - r; z <= chunkZ + r; z++)
+				for(int y = minY; y <= maxY; y++)
+				{
+					long key = ChunkSectionPos.asLong(x, y, z);
+					if(!sections.containsKey(key))
+						requestedSections.add(key);
+				}
+	}
+	
+	/**
+	 * Reads blocks from the copied sections for one search. Must only be
+	 * used by the thread running that search.
+	 */
+	public final class Reader
+	{
+		private final int bottomY;
+		private final int topYInclusive;
+		private final int bottomSectionY;
+		private final int topSectionY;
+		
+		private long lastKey = Long.MAX_VALUE;
+		private Section lastSection;
+		
+		private Reader(ClientWorld world)
+		{
+			bottomY = world.getBottomY();
+			topYInclusive = world.getTopYInclusive();
+			bottomSectionY = bottomY >> 4;
+			topSectionY = topYInclusive >> 4;
+		}
+		
+		/**
+		 * @throws MissingSectionException
+		 *             if the section containing this position hasn't been
+		 *             copied yet
+		 */
+		public BlockState getBlockState(BlockPos pos)
+		{
+			int y = pos.getY();
+			if(y < bottomY || y > topYInclusive)
+				return Blocks.VOID_AIR.getDefaultState();
+			
+			Section section = getSection(pos);
+			if(!section.loaded())
+				return Blocks.VOID_AIR.getDefaultState();
+			
+			if(section.states() == null)
+				return Blocks.AIR.getDefaultState();
+			
+			return section.states().get(pos.getX() & 15, y & 15,
+				pos.getZ() & 15);
+		}
+		
+		/**
+		 * @throws MissingSectionException
+		 *             if the section containing this position hasn't been
+		 *             copied yet
+		 */
+		public boolean isChunkLoaded(BlockPos pos)
+		{
+			int y = Math.clamp(pos.getY(), bottomY, topYInclusive);
+			return getSection(pos.withY(y)).loaded();
+		}
+		
+		private Section getSection(BlockPos pos)
+		{
+			long key = ChunkSectionPos.toLong(pos);
+			if(key == lastKey)
+				return lastSection;
+			
+			Section section = sections.get(key);
+			if(section == null)
+			{
+				request(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4,
+					bottomSectionY, topSectionY);
+				throw MISSING_SECTION;
+			}
+			
+			lastKey = key;
+			lastSection = section;
+			return section;
+		}
+		
+		public int getBottomY()
+		{
+			return bottomY;
+		}
+		
+		public int getTopYInclusive()
+		{
+			return topYInclusive;
+		}
+	}
+	
+	private record Section(PalettedContainer<BlockState> states,
+		boolean loaded)
+	{}
+	
+	/**
+	 * Thrown when a search reaches a section that hasn't been copied yet.
+	 * Always the same instance, without a stack trace, since it's thrown
+	 * often and only used for control flow.
+	 */
+	public static final class MissingSectionException extends RuntimeException
+	{
+		private MissingSectionException()
+		{
+			super(null, null, false, false);
+		}
+	}
+}
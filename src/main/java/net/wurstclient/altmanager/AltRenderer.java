@@ -8,17 +8,12 @@
 package net.wurstclient.altmanager;
 
 import java.util.HashMap;
-import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import com.mojang.authlib.GameProfile;
-import com.mojang.authlib.yggdrasil.ProfileResult;
+import com.mojang.authlib.properties.Property;
 
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gl.RenderPipelines;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.network.PlayerListEntry;
@@ -27,14 +22,27 @@ import net.minecraft.client.util.SkinTextures;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Uuids;
 import net.wurstclient.WurstClient;
+import net.wurstclient.altmanager.ProfileFetcher.Textures;
 
 public final class AltRenderer
 {
-	private static final ExecutorService BACKGROUND_THREAD =
-		Executors.newSingleThreadExecutor();
+	private static final ProfileCache profileCache = new ProfileCache();
+	private static final ProfileCacheFile profileCacheFile =
+		new ProfileCacheFile(WurstClient.INSTANCE.getWurstFolder()
+			.resolve("alt_profiles.json"));
+	private static final ProfileQueue profileQueue =
+		new ProfileQueue(new ProfileFetcher(), profileCache,
+			() -> profileCacheFile.save(profileCache));
+	
+	static
+	{
+		profileCacheFile.load(profileCache);
+	}
 	
 	private static final ConcurrentHashMap<String, Identifier> onlineSkins =
 		new ConcurrentHashMap<>();
+	private static final HashMap<String, Textures> loadedTextures =
+		new HashMap<>();
 	
 	private static final HashMap<String, Identifier> offlineSkins =
 		new HashMap<>();
@@ -46,10 +54,11 @@ public final class AltRenderer
 		
 		Identifier offlineSkin = offlineSkins.get(name);
 		if(offlineSkin == null)
-		{
-			queueOnlineSkinLoading(name);
 			offlineSkin = loadOfflineSkin(name);
-		}
+		
+		// called every frame, so that visible alts are fetched first
+		profileQueue.request(name);
+		loadOnlineSkin(name);
 		
 		Identifier onlineSkin = onlineSkins.get(name);
 		return onlineSkin != null ? onlineSkin : offlineSkin;
@@ -65,34 +74,27 @@ public final class AltRenderer
 		return texture;
 	}
 	
-	private static void queueOnlineSkinLoading(String name)
+	/**
+	 * Loads the skin from the cached textures, if they have changed since
+	 * the last time. The skin provider keeps the skin files in its own disk
+	 * cache, so this usually doesn't download anything.
+	 */
+	private static void loadOnlineSkin(String name)
 	{
-		MinecraftClient mc = WurstClient.MC;
+		Textures textures = profileCache.getTexturesForName(name);
+		if(textures == null || textures.equals(loadedTextures.get(name)))
+			return;
 		
-		CompletableFuture.supplyAsync(() -> {
-			
-			UUID uuid = SkinStealer.getUUIDOrNull(name);
-			ProfileResult result =
-				mc.getSessionService().fetchProfile(uuid, false);
-			
-			return result == null ? null : result.profile();
-			
-		}, BACKGROUND_THREAD).thenComposeAsync(profile -> {
-			
-			if(profile == null)
-				return CompletableFuture.completedFuture(null);
-			
-			CompletableFuture<Optional<SkinTextures>> skinFuture =
-				mc.getSkinProvider().fetchSkinTextures(profile);
-			
-			return skinFuture.thenApplyAsync(opt -> opt.orElse(null));
-			
-		}, BACKGROUND_THREAD).thenAcceptAsync(skinTextures -> {
-			
-			if(skinTextures != null)
-				onlineSkins.put(name, skinTextures.texture());
-			
-		}, BACKGROUND_THREAD);
+		loadedTextures.put(name, textures);
+		
+		UUID uuid = profileCache.getName(name).uuid();
+		GameProfile profile = new GameProfile(uuid, name);
+		profile.getProperties().put("textures",
+			new Property("textures", textures.value(), textures.signature()));
+		
+		WurstClient.MC.getSkinProvider().fetchSkinTextures(profile)
+			.thenAccept(opt -> opt
+				.ifPresent(skin -> onlineSkins.put(name, skin.texture())));
 	}
 	
 	public static void drawAltFace(DrawContext context, String name, int x,
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.altmanager;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import net.wurstclient.altmanager.ProfileFetcher.Textures;
+
+/**
+ * Remembers which UUID belongs to which name and which skin textures belong
+ * to which UUID. Entries stay usable after they expire, so that alts keep
+ * their faces while the entry is being refreshed.
+ *
+ * <p>
+ * Names without an account are remembered too, but for a shorter time,
+ * since most cracked alts will never have one.
+ */
+public final class ProfileCache
+{
+	public static final long NAME_TTL = TimeUnit.DAYS.toMillis(7);
+	public static final long NO_ACCOUNT_TTL = TimeUnit.DAYS.toMillis(1);
+	public static final long TEXTURES_TTL = TimeUnit.DAYS.toMillis(2);
+	
+	private final HashMap<String, NameEntry> names = new HashMap<>();
+	private final HashMap<UUID, TexturesEntry> textures = new HashMap<>();
+	private final LongSupplier clock;
+	
+	public ProfileCache()
+	{
+		this(System::currentTimeMillis);
+	}
+	
+	ProfileCache(LongSupplier clock)
+	{
+		this.clock = clock;
+	}
+	
+	public synchronized NameEntry getName(String name)
+	{
+		return names.get(name.toLowerCase(Locale.ROOT));
+	}
+	
+	public synchronized TexturesEntry getTextures(UUID uuid)
+	{
+		return textures.get(uuid);
+	}
+	
+	/**
+	 * Returns the cached textures for the given name, even if they are
+	 * expired, or null if there are none.
+	 */
+	public synchronized Textures getTexturesForName(String name)
+	{
+		NameEntry nameEntry = getName(name);
+		if(nameEntry == null || nameEntry.uuid() == null)
+			return null;
+		
+		TexturesEntry texturesEntry = textures.get(nameEntry.uuid());
+		return texturesEntry == null ? null : texturesEntry.textures();
+	}
+	
+	/**
+	 * Returns true if the UUID or the textures for the given name are
+	 * missing or expired.
+	 */
+	public synchronized boolean needsFetch(String name)
+	{
+		NameEntry nameEntry = getName(name);
+		if(!isFresh(nameEntry))
+			return true;
+		
+		if(nameEntry.uuid() == null)
+			return false;
+		
+		return !isFresh(textures.get(nameEntry.uuid()));
+	}
+	
+	public synchronized boolean isFresh(NameEntry entry)
+	{
+		if(entry == null)
+			return false;
+		
+		long ttl = entry.uuid() == null ? NO_ACCOUNT_TTL : NAME_TTL;
+		return clock.getAsLong() - entry.time() < ttl;
+	}
+	
+	public synchronized boolean isFresh(TexturesEntry entry)
+	{
+		return entry != null
+			&& clock.getAsLong() - entry.time() < TEXTURES_TTL;
+	}
+	
+	/**
+	 * @param uuid
+	 *            the account's UUID, or null if there is no such account
+	 */
+	public synchronized void putName(String name, UUID uuid)
+	{
+		restoreName(name, new NameEntry(uuid, clock.getAsLong()));
+	}
+	
+	synchronized void restoreName(String name, NameEntry entry)
+	{
+		names.put(name.toLowerCase(Locale.ROOT), entry);
+	}
+	
+	/**
+	 * @param textures
+	 *            the account's textures, or null if it doesn't have any
+	 */
+	public synchronized void putTextures(UUID uuid, Textures textures)
+	{
+		restoreTextures(uuid, new TexturesEntry(textures, clock.getAsLong()));
+	}
+	
+	synchronized void restoreTextures(UUID uuid, TexturesEntry entry)
+	{
+		textures.put(uuid, entry);
+	}
+	
+	public synchronized Map<String, NameEntry> getNames()
+	{
+		return new HashMap<>(names);
+	}
+	
+	public synchronized Map<UUID, TexturesEntry> getAllTextures()
+	{
+		return new HashMap<>(textures);
+	}
+	
+	/**
+	 * @param uuid
+	 *            null if there is no account with this name
+	 * @param time
+	 *            when this entry was fetched, in milliseconds since the epoch
+	 */
+	public record NameEntry(UUID uuid, long time)
+	{}
+	
+	/**
+	 * @param textures
+	 *            null if the account doesn't have any
+	 * @param time
+	 *            when this entry was fetched, in milliseconds since the epoch
+	 */
+	public record TexturesEntry(Textures textures, long time)
+	{}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.altmanager;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import net.wurstclient.altmanager.ProfileCache.NameEntry;
+import net.wurstclient.altmanager.ProfileCache.TexturesEntry;
+import net.wurstclient.altmanager.ProfileFetcher.Textures;
+import net.wurstclient.util.json.DebouncedJsonFile;
+import net.wurstclient.util.json.JsonException;
+import net.wurstclient.util.json.JsonUtils;
+import net.wurstclient.util.json.WsonObject;
+
+/**
+ * Keeps a {@link ProfileCache} on disk, so that alt skins don't have to be
+ * looked up again after every restart.
+ */
+public final class ProfileCacheFile
+{
+	private final Path path;
+	private final DebouncedJsonFile saver;
+	
+	public ProfileCacheFile(Path path)
+	{
+		this.path = path;
+		saver = new DebouncedJsonFile(path);
+	}
+	
+	public void load(ProfileCache cache)
+	{
+		try
+		{
+			WsonObject wson = JsonUtils.parseFileToObject(path);
+			
+			for(WsonObject entry : wson.getArray("names").getAllObjects())
+			{
+				String uuid = entry.getString("uuid", null);
+				cache.restoreName(entry.getString("name"),
+					new NameEntry(uuid == null ? null : UUID.fromString(uuid),
+						entry.getLong("time")));
+			}
+			
+			for(WsonObject entry : wson.getArray("textures").getAllObjects())
+			{
+				String value = entry.getString("value", null);
+				Textures textures = value == null ? null
+					: new Textures(value, entry.getString("signature", null));
+				cache.restoreTextures(UUID.fromString(entry.getString("uuid")),
+					new TexturesEntry(textures, entry.getLong("time")));
+			}
+			
+		}catch(NoSuchFileException e)
+		{
+			// The file doesn't exist yet. No problem, we'll create it later.
+			
+		}catch(IOException | JsonException | IllegalArgumentException e)
+		{
+			System.out.println("Couldn't load " + path.getFileName());
+			e.printStackTrace();
+		}
+	}
+	
+	public void save(ProfileCache cache)
+	{
+		saver.save(() -> createJson(cache));
+	}
+	
+	private JsonObject createJson(ProfileCache cache)
+	{
+		JsonArray names = new JsonArray();
+		for(Map.Entry<String, NameEntry> entry : cache.getNames().entrySet())
+		{
+			NameEntry nameEntry = entry.getValue();
+			JsonObject json = new JsonObject();
+			json.addProperty("name", entry.getKey());
+			if(nameEntry.uuid() != null)
+				json.addProperty("uuid", nameEntry.uuid().toString());
+			json.addProperty("time", nameEntry.time());
+			names.add(json);
+		}
+		
+		JsonArray textures = new JsonArray();
+		for(Map.Entry<UUID, TexturesEntry> entry : cache.getAllTextures()
+			.entrySet())
+		{
+			Textures value = entry.getValue().textures();
+			JsonObject json = new JsonObject();
+			json.addProperty("uuid", entry.getKey().toString());
+			if(value != null)
+			{
+				json.addProperty("value", value.value());
+				if(value.signature() != null)
+					json.addProperty("signature", value.signature());
+			}
+			json.addProperty("time", entry.getValue().time());
+			textures.add(json);
+		}
+		
+		JsonObject json = new JsonObject();
+		json.add("names", names);
+		json.add("textures", textures);
+		return json;
+	}
+}
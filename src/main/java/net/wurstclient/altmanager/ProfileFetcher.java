@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.altmanager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Looks up the UUIDs and skin textures of Minecraft accounts. All requests
+ * share one {@link HttpClient}, so that connections can be reused.
+ */
+public final class ProfileFetcher
+{
+	public static final URI DEFAULT_PROFILE_API =
+		URI.create("https://api.mojang.com/users/profiles/minecraft/");
+	public static final URI DEFAULT_SESSION_SERVER = URI
+		.create("https://sessionserver.mojang.com/session/minecraft/profile/");
+	
+	private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+		.connectTimeout(Duration.ofSeconds(5)).build();
+	
+	private final URI profileApi;
+	private final URI sessionServer;
+	
+	public ProfileFetcher()
+	{
+		this(DEFAULT_PROFILE_API, DEFAULT_SESSION_SERVER);
+	}
+	
+	/**
+	 * Creates a fetcher that uses the given services instead of Mojang's.
+	 * Both URIs must end with a slash.
+	 */
+	public ProfileFetcher(URI profileApi, URI sessionServer)
+	{
+		this.profileApi = profileApi;
+		this.sessionServer = sessionServer;
+	}
+	
+	/**
+	 * Returns the UUID of the account with the given name, or null if there
+	 * is no such account.
+	 */
+	public UUID fetchUuid(String name) throws IOException
+	{
+		URI uri = profileApi
+			.resolve(URLEncoder.encode(name, StandardCharsets.UTF_8));
+		JsonObject json = get(uri);
+		if(json == null)
+			return null;
+			
+		// {"name":"<username>","id":"<UUID>"}
+		return parseUuid(getString(json, "id"));
+	}
+	
+	/**
+	 * Returns the skin textures of the account with the given UUID, or null
+	 * if it doesn't have any.
+	 */
+	public Textures fetchTextures(UUID uuid) throws IOException
+	{
+		URI uri = sessionServer
+			.resolve(uuid.toString().replace("-", "") + "?unsigned=false");
+		JsonObject json = get(uri);
+		if(json == null || !(json.get("properties") instanceof JsonArray))
+			return null;
+		
+		for(JsonElement element : json.getAsJsonArray("properties"))
+		{
+			if(!(element instanceof JsonObject property)
+				|| !"textures".equals(getString(property, "name")))
+				continue;
+			
+			String value = getString(property, "value");
+			if(value == null)
+				return null;
+			
+			return new Textures(value, getString(property, "signature"));
+		}
+		
+		return null;
+	}
+	
+	private JsonObject get(URI uri) throws IOException
+	{
+		HttpRequest request = HttpRequest.newBuilder(uri)
+			.timeout(Duration.ofSeconds(10)).GET().build();
+		
+		HttpResponse<String> response;
+		try
+		{
+			response = HTTP_CLIENT.send(request,
+				HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+			
+		}catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted", e);
+		}
+		
+		// the API answers unknown names with 204 or 404
+		int status = response.statusCode();
+		if(status == 204 || status == 404)
+			return null;
+		
+		if(status != 200)
+			throw new IOException("HTTP " + status + " from " + uri);
+		
+		try
+		{
+			JsonElement json = JsonParser.parseString(response.body());
+			return json instanceof JsonObject object ? object : null;
+			
+		}catch(JsonParseException e)
+		{
+			throw new IOException("Invalid JSON from " + uri, e);
+		}
+	}
+	
+	private static String getString(JsonObject json, String key)
+	{
+		JsonElement element = json.get(key);
+		if(element == null || !element.isJsonPrimitive())
+			return null;
+		
+		return element.getAsString();
+	}
+	
+	private static UUID parseUuid(String uuid)
+	{
+		if(uuid == null || uuid.length() != 32)
+			return null;
+		
+		try
+		{
+			long mostSigBits =
+				Long.parseUnsignedLong(uuid.substring(0, 16), 16);
+			long leastSigBits = Long.parseUnsignedLong(uuid.substring(16), 16);
+			return new UUID(mostSigBits, leastSigBits);
+			
+		}catch(NumberFormatException e)
+		{
+			return null;
+		}
+	}
+	
+	/**
+	 * The "textures" property of an account, as sent by the session server.
+	 * The signature can be null.
+	 */
+	public record Textures(String value, String signature)
+	{}
+}
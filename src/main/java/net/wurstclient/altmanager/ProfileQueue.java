@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.altmanager;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import net.wurstclient.altmanager.ProfileCache.NameEntry;
+
+/**
+ * Fetches the UUIDs and skin textures of alts into a {@link ProfileCache},
+ * with at most {@link #MAX_REQUESTS} lookups running at the same time.
+ *
+ * <p>
+ * Alts are requested every time they are drawn, so the most recently
+ * requested alts are the ones that are currently visible and those are
+ * fetched first. Requests that haven't been repeated for a while are for
+ * alts that have been scrolled out of view and are dropped.
+ */
+public final class ProfileQueue
+{
+	public static final int MAX_REQUESTS = 4;
+	
+	private static final long FORGET_AFTER = TimeUnit.SECONDS.toNanos(1);
+	private static final long RETRY_AFTER = TimeUnit.SECONDS.toNanos(30);
+	
+	private final ProfileFetcher fetcher;
+	private final ProfileCache cache;
+	private final Runnable onUpdate;
+	private final long forgetAfter;
+	
+	// insertion order = request order, newest last
+	private final LinkedHashMap<String, Long> pending = new LinkedHashMap<>();
+	private final HashSet<String> inFlight = new HashSet<>();
+	private final HashMap<String, Long> failed = new HashMap<>();
+	private int workers;
+	
+	/**
+	 * @param onUpdate
+	 *            called from a background thread whenever the cache has
+	 *            changed
+	 */
+	public ProfileQueue(ProfileFetcher fetcher, ProfileCache cache,
+		Runnable onUpdate)
+	{
+		this(fetcher, cache, onUpdate, FORGET_AFTER);
+	}
+	
+	ProfileQueue(ProfileFetcher fetcher, ProfileCache cache,
+		Runnable onUpdate, long forgetAfter)
+	{
+		this.fetcher = fetcher;
+		this.cache = cache;
+		this.onUpdate = onUpdate;
+		this.forgetAfter = forgetAfter;
+	}
+	
+	/**
+	 * Requests the profile of the given alt if it isn't cached yet or has
+	 * expired. Meant to be called every time the alt is drawn.
+	 */
+	public void request(String name)
+	{
+		if(!cache.needsFetch(name))
+			return;
+		
+		String key = name.toLowerCase(Locale.ROOT);
+		long now = System.nanoTime();
+		
+		synchronized(this)
+		{
+			if(inFlight.contains(key))
+				return;
+			
+			Long failTime = failed.get(key);
+			if(failTime != null && now - failTime < RETRY_AFTER)
+				return;
+				
+			// move it to the end
+			pending.remove(key);
+			pending.put(key, now);
+			
+			if(workers >= MAX_REQUESTS)
+				return;
+			
+			workers++;
+		}
+		
+		Thread.ofVirtual().name("AltManager profile lookup").start(this::work);
+	}
+	
+	private void work()
+	{
+		while(true)
+		{
+			String name;
+			synchronized(this)
+			{
+				name = takeNext();
+				if(name == null)
+				{
+					workers--;
+					return;
+				}
+				
+				inFlight.add(name);
+			}
+			
+			boolean success = false;
+			try
+			{
+				fetch(name);
+				success = true;
+				
+			}catch(IOException e)
+			{
+				System.out.println("Couldn't look up alt " + name + ": "
+					+ e.getMessage());
+				
+			}catch(RuntimeException e)
+			{
+				// e.g. an unexpected response, retried later like any other
+				// failure so that the worker keeps running
+				e.printStackTrace();
+				
+			}finally
+			{
+				synchronized(this)
+				{
+					inFlight.remove(name);
+					if(success)
+						failed.remove(name);
+					else
+						failed.put(name, System.nanoTime());
+				}
+			}
+			
+			if(success)
+				notifyUpdate();
+		}
+	}
+	
+	private void notifyUpdate()
+	{
+		try
+		{
+			onUpdate.run();
+			
+		}catch(RuntimeException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	private String takeNext()
+	{
+		long now = System.nanoTime();
+		for(Iterator<Long> itr = pending.values().iterator(); itr.hasNext();)
+		{
+			if(now - itr.next() <= forgetAfter)
+				break;
+			
+			itr.remove();
+		}
+		
+		Map.Entry<String, Long> newest = pending.pollLastEntry();
+		return newest == null ? null : newest.getKey();
+	}
+	
+	private void fetch(String name) throws IOException
+	{
+		NameEntry nameEntry = cache.getName(name);
+		UUID uuid;
+		if(cache.isFresh(nameEntry))
+			uuid = nameEntry.uuid();
+		else
+		{
+			uuid = fetcher.fetchUuid(name);
+			cache.putName(name, uuid);
+		}
+		
+		if(uuid == null || cache.isFresh(cache.getTextures(uuid)))
+			return;
+		
+		cache.putTextures(uuid, fetcher.fetchTextures(uuid));
+	}
+}
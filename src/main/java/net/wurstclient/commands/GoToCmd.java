@@ -13,21 +13,25 @@ import java.util.stream.StreamSupport;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.BlockPos;
+import net.wurstclient.ai.ChunkRoutePlanner;
 import net.wurstclient.ai.PathFinder;
 import net.wurstclient.ai.PathProcessor;
 import net.wurstclient.command.CmdError;
 import net.wurstclient.command.CmdException;
 import net.wurstclient.command.CmdSyntaxError;
 import net.wurstclient.command.Command;
+import net.wurstclient.events.PacketInputListener;
 import net.wurstclient.events.RenderListener;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.util.ChatUtils;
 import net.wurstclient.util.FakePlayerEntity;
 import net.wurstclient.util.MathUtils;
+import net.wurstclient.util.chunk.ChunkUtils;
 
 public final class GoToCmd extends Command
-	implements UpdateListener, RenderListener
+	implements UpdateListener, RenderListener, PacketInputListener
 {
+	private ChunkRoutePlanner routePlanner;
 	private PathFinder pathFinder;
 	private PathProcessor processor;
 	private boolean enabled;
@@ -51,23 +55,30 @@ public final class GoToCmd extends Command
 				return;
 		}
 		
-		// set PathFinder
+		// set goal
+		BlockPos goal;
 		if(args.length == 1 && args[0].equals("-path"))
 		{
-			BlockPos goal = WURST.getCmds().pathCmd.getLastGoal();
+			goal = WURST.getCmds().pathCmd.getLastGoal();
 			if(goal == null)
 				throw new CmdError("No previous position on .path.");
-			pathFinder = new PathFinder(goal);
 		}else
+			goal = argsToPos(args);
+		
+		// set PathFinder
+		routePlanner = new ChunkRoutePlanner(goal);
+		pathFinder = routePlanner.createPathFinder();
+		if(pathFinder == null)
 		{
-			BlockPos goal = argsToPos(args);
-			pathFinder = new PathFinder(goal);
+			routePlanner = null;
+			throw new CmdError("Could not find a route.");
 		}
 		
 		// start
 		enabled = true;
 		EVENTS.add(UpdateListener.class, this);
 		EVENTS.add(RenderListener.class, this);
+		EVENTS.add(PacketInputListener.class, this);
 	}
 	
 	private BlockPos argsToPos(String... args) throws CmdException
@@ -132,14 +143,20 @@ public final class GoToCmd extends Command
 		{
 			PathProcessor.lockControls();
 			
-			pathFinder.think();
+			pathFinder.thinkAsync();
 			
 			if(!pathFinder.isDone())
 			{
 				if(pathFinder.isFailed())
 				{
-					ChatUtils.error("Could not find a path.");
-					disable();
+					// try to find a way around the unreachable waypoint
+					if(routePlanner.onSegmentFailed(pathFinder))
+						nextSegment();
+					else
+					{
+						ChatUtils.error("Could not find a path.");
+						disable();
+					}
 				}
 				
 				return;
@@ -158,7 +175,7 @@ public final class GoToCmd extends Command
 			&& !pathFinder.isPathStillValid(processor.getIndex()))
 		{
 			System.out.println("Updating path...");
-			pathFinder = new PathFinder(pathFinder.getGoal());
+			nextSegment();
 			return;
 		}
 		
@@ -166,7 +183,33 @@ public final class GoToCmd extends Command
 		processor.process();
 		
 		if(processor.isDone())
+			if(routePlanner.isFinalSegment(pathFinder))
+				disable();
+			else
+				nextSegment();
+	}
+	
+	private void nextSegment()
+	{
+		pathFinder.cancel();
+		processor = null;
+		
+		pathFinder = routePlanner.createPathFinder();
+		if(pathFinder == null)
+		{
+			ChatUtils.error("Could not find a route.");
 			disable();
+		}
+	}
+	
+	@Override
+	public void onReceivedPacket(PacketInputEvent event)
+	{
+		// runs on the network thread, the planner only queues the chunk
+		ChunkRoutePlanner routePlanner = this.routePlanner;
+		if(routePlanner != null)
+			routePlanner
+				.onChunkChanged(ChunkUtils.getAffectedChunk(event.getPacket()));
 	}
 	
 	@Override
@@ -181,8 +224,12 @@ public final class GoToCmd extends Command
 	{
 		EVENTS.remove(UpdateListener.class, this);
 		EVENTS.remove(RenderListener.class, this);
+		EVENTS.remove(PacketInputListener.class, this);
 		
+		if(pathFinder != null)
+			pathFinder.cancel();
 		pathFinder = null;
+		routePlanner = null;
 		processor = null;
 		PathProcessor.releaseControls();
 		
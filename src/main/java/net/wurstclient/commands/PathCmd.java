@@ -14,6 +14,7 @@ import java.util.stream.StreamSupport;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.BlockPos;
+import net.wurstclient.ai.PassabilityCache;
 import net.wurstclient.ai.PathFinder;
 import net.wurstclient.ai.PathPos;
 import net.wurstclient.command.CmdError;
@@ -184,10 +185,18 @@ public final class PathCmd extends Command
 			
 			System.out.println("Done after " + passedTime + "ms");
 			if(debugMode.isChecked())
+			{
 				System.out.println("Length: " + path.size() + ", processed: "
 					+ pathFinder.countProcessedBlocks() + ", queue: "
 					+ pathFinder.getQueueSize() + ", cost: "
 					+ pathFinder.getCost(pathFinder.getCurrentPos()));
+				
+				PassabilityCache cache = pathFinder.getPassabilityCache();
+				System.out.println("Passability cache: " + cache.size()
+					+ " blocks, " + cache.getHits() + " hits, "
+					+ cache.getMisses() + " world lookups, hit rate: "
+					+ Math.round(cache.getHitRate() * 100) + "%");
+			}
 		}
 	}
 	
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import net.wurstclient.DontBlock;
+import net.wurstclient.command.CmdError;
+import net.wurstclient.command.CmdException;
+import net.wurstclient.command.CmdSyntaxError;
+import net.wurstclient.command.Command;
+import net.wurstclient.event.EventManager;
+import net.wurstclient.event.EventProfiler;
+import net.wurstclient.event.EventProfiler.Timing;
+import net.wurstclient.util.ChatUtils;
+
+@DontBlock
+public final class ProfilerCmd extends Command
+{
+	public ProfilerCmd()
+	{
+		super("profiler",
+			"Measures how much time each hack spends handling events\n"
+				+ "and shows the slowest ones next to the hack list.",
+			".profiler on", ".profiler off", ".profiler export [<file>]",
+			"Exports are saved in '.minecraft/wurst/profiler'.");
+	}
+	
+	@Override
+	public void call(String[] args) throws CmdException
+	{
+		if(args.length < 1)
+			throw new CmdSyntaxError();
+		
+		EventManager eventManager = WURST.getEventManager();
+		switch(args[0].toLowerCase())
+		{
+			case "on":
+			eventManager.setProfilerEnabled(true);
+			ChatUtils.message("Event profiler started.");
+			break;
+			
+			case "off":
+			eventManager.setProfilerEnabled(false);
+			ChatUtils.message("Event profiler stopped.");
+			break;
+			
+			case "export":
+			export(args);
+			break;
+			
+			default:
+			throw new CmdSyntaxError();
+		}
+	}
+	
+	private void export(String[] args) throws CmdException
+	{
+		if(args.length > 2)
+			throw new CmdSyntaxError();
+		
+		EventProfiler profiler = WURST.getEventManager().getProfiler();
+		if(profiler == null)
+			throw new CmdError("The event profiler is not running.");
+		
+		String fileName = args.length == 2 ? args[1]
+			: "events-" + System.currentTimeMillis();
+		if(!fileName.endsWith(".csv"))
+			fileName += ".csv";
+		
+		Path folder = WURST.getWurstFolder().resolve("profiler");
+		Path file = folder.resolve(fileName).normalize();
+		if(!file.startsWith(folder))
+			throw new CmdError("Invalid file name.");
+		
+		int samples = profiler.getSampleCount();
+		ArrayList<String> lines = new ArrayList<>();
+		lines.add("event,listener,calls,total_ns,ms_per_tick");
+		for(Timing timing : profiler.getTotals())
+			lines.add(timing.eventType().getName() + ","
+				+ timing.listenerClass().getName() + "," + timing.calls() + ","
+				+ timing.nanos() + ","
+				+ (samples == 0 ? 0 : timing.nanos() / 1e6 / samples));
+		
+		try
+		{
+			Files.createDirectories(folder);
+			Files.write(file, lines);
+			
+		}catch(IOException e)
+		{
+			e.printStackTrace();
+			throw new CmdError("Couldn't export profiler data.");
+		}
+		
+		ChatUtils.message("Exported " + samples + " ticks to " + fileName);
+	}
+}
@@ -20,4 +20,12 @@ public abstract class CancellableEvent<T extends Listener> extends Event<T>
 	{
 		return cancelled;
 	}
+	
+	/**
+	 * For events that are reused instead of being created again each time.
+	 */
+	protected void resetCancelled()
+	{
+		cancelled = false;
+	}
 }
@@ -11,6 +11,10 @@ import java.util.ArrayList;
 
 public abstract class Event<T extends Listener>
 {
+	/**
+	 * Calls the given listeners. The list is shared between events and must
+	 * not be modified.
+	 */
 	public abstract void fire(ArrayList<T> listeners);
 	
 	public abstract Class<T> getListenerType();
@@ -8,20 +8,35 @@
 package net.wurstclient.event;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Objects;
 
 import net.minecraft.util.crash.CrashException;
 import net.minecraft.util.crash.CrashReport;
 import net.minecraft.util.crash.CrashReportSection;
 import net.wurstclient.WurstClient;
+import net.wurstclient.events.UpdateListener;
 
+/**
+ * Keeps track of Wurst's event listeners and fires events to them.
+ *
+ * <p>
+ * Each listener type has its own copy-on-write list. Adding or removing a
+ * listener replaces the list with an updated copy, so firing an event never
+ * has to copy or lock anything and is safe to do from any thread, including
+ * the chunk builder threads.
+ */
 public final class EventManager
 {
 	private final WurstClient wurst;
-	private final HashMap<Class<? extends Listener>, ArrayList<? extends Listener>> listenerMap =
-		new HashMap<>();
+	private final ClassValue<ListenerSlot<?>> listenerSlots =
+		new ClassValue<>()
+		{
+			@Override
+			protected ListenerSlot<?> computeValue(Class<?> type)
+			{
+				return new ListenerSlot<>();
+			}
+		};
+	private volatile EventProfiler profiler;
 	
 	public EventManager(WurstClient wurst)
 	{
@@ -42,31 +57,43 @@ public final class EventManager
 		eventManager.fireImpl(event);
 	}
 	
-	private <L extends Listener, E extends Event<L>> void fireImpl(E event)
+	/**
+	 * Returns true if Wurst is enabled and at least one listener of the given
+	 * type is registered. This is a single volatile read, so hooks that run
+	 * very often (e.g. once per rendered block face) can check it before
+	 * creating an event that nobody would receive.
+	 */
+	public static boolean hasListeners(Class<? extends Listener> type)
+	{
+		EventManager eventManager = WurstClient.INSTANCE.getEventManager();
+		if(eventManager == null)
+			return false;
+		
+		return eventManager.hasListenersImpl(type);
+	}
+	
+	boolean hasListenersImpl(Class<? extends Listener> type)
+	{
+		return wurst.isEnabled()
+			&& !listenerSlots.get(type).listeners.isEmpty();
+	}
+	
+	<L extends Listener, E extends Event<L>> void fireImpl(E event)
 	{
 		if(!wurst.isEnabled())
 			return;
 		
 		try
 		{
-			Class<L> type = event.getListenerType();
-			@SuppressWarnings("unchecked")
-			ArrayList<L> listeners = (ArrayList<L>)listenerMap.get(type);
-			
-			if(listeners == null || listeners.isEmpty())
+			ArrayList<L> listeners = getSlot(event.getListenerType()).listeners;
+			if(listeners.isEmpty())
 				return;
-				
-			// Creating a copy of the list to avoid concurrent modification
-			// issues.
-			ArrayList<L> listeners2 = new ArrayList<>(listeners);
-			
-			// remove() sets an element to null before removing it. When one
-			// thread calls remove() while another calls fire(), it is possible
-			// for this list to contain null elements, which need to be filtered
-			// out.
-			listeners2.removeIf(Objects::isNull);
 			
-			event.fire(listeners2);
+			EventProfiler profiler = this.profiler;
+			if(profiler != null)
+				profiler.fire(event, listeners);
+			else
+				event.fire(listeners);
 			
 		}catch(Throwable e)
 		{
@@ -84,18 +111,14 @@ public final class EventManager
 	{
 		try
 		{
-			@SuppressWarnings("unchecked")
-			ArrayList<L> listeners = (ArrayList<L>)listenerMap.get(type);
-			
-			if(listeners == null)
+			ListenerSlot<L> slot = getSlot(type);
+			synchronized(slot)
 			{
-				listeners = new ArrayList<>(Arrays.asList(listener));
-				listenerMap.put(type, listeners);
-				return;
+				ArrayList<L> listeners = new ArrayList<>(slot.listeners);
+				listeners.add(listener);
+				slot.listeners = listeners;
 			}
 			
-			listeners.add(listener);
-			
 		}catch(Throwable e)
 		{
 			e.printStackTrace();
@@ -114,11 +137,16 @@ public final class EventManager
 	{
 		try
 		{
-			@SuppressWarnings("unchecked")
-			ArrayList<L> listeners = (ArrayList<L>)listenerMap.get(type);
-			
-			if(listeners != null)
+			ListenerSlot<L> slot = getSlot(type);
+			synchronized(slot)
+			{
+				if(!slot.listeners.contains(listener))
+					return;
+				
+				ArrayList<L> listeners = new ArrayList<>(slot.listeners);
 				listeners.remove(listener);
+				slot.listeners = listeners;
+			}
 			
 		}catch(Throwable e)
 		{
@@ -133,4 +161,40 @@ public final class EventManager
 			throw new CrashException(report);
 		}
 	}
+	
+	/**
+	 * Starts or stops recording how long each listener takes to handle each
+	 * event. Any previous recordings are discarded.
+	 */
+	public void setProfilerEnabled(boolean enabled)
+	{
+		if(profiler != null)
+			remove(UpdateListener.class, profiler);
+		
+		profiler = enabled ? new EventProfiler() : null;
+		
+		if(profiler != null)
+			add(UpdateListener.class, profiler);
+	}
+	
+	/**
+	 * Returns the {@link EventProfiler}, or <code>null</code> if it's
+	 * disabled.
+	 */
+	public EventProfiler getProfiler()
+	{
+		return profiler;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <L extends Listener> ListenerSlot<L> getSlot(Class<L> type)
+	{
+		return (ListenerSlot<L>)listenerSlots.get(type);
+	}
+	
+	private static final class ListenerSlot<L extends Listener>
+	{
+		// never modified after being published, only replaced
+		private volatile ArrayList<L> listeners = new ArrayList<>();
+	}
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.event;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.wurstclient.events.UpdateListener;
+
+/**
+ * Measures how long each listener takes to handle each type of event. The
+ * timings of the last {@link #SAMPLES} ticks are kept in a ring buffer.
+ *
+ * <p>
+ * While the profiler is enabled, {@link EventManager} calls listeners one at
+ * a time through {@link #fire(Event, ArrayList)}, which makes firing events
+ * a little slower. When it's disabled, nothing is recorded.
+ */
+public final class EventProfiler implements UpdateListener
+{
+	public static final int SAMPLES = 100;
+	
+	private final List<Timing>[] samples;
+	private int nextSample;
+	private int sampleCount;
+	
+	private volatile ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, Counter>> current =
+		new ConcurrentHashMap<>();
+	
+	@SuppressWarnings("unchecked")
+	public EventProfiler()
+	{
+		samples = new List[SAMPLES];
+	}
+	
+	<L extends Listener> void fire(Event<L> event, ArrayList<L> listeners)
+	{
+		Class<?> eventType = event.getClass();
+		ArrayList<L> single = new ArrayList<>(1);
+		single.add(null);
+		
+		for(L listener : listeners)
+		{
+			if(event instanceof CancellableEvent<?> cancellable
+				&& cancellable.isCancelled())
+				break;
+			
+			single.set(0, listener);
+			long start = System.nanoTime();
+			event.fire(single);
+			record(eventType, listener.getClass(), System.nanoTime() - start);
+		}
+	}
+	
+	private void record(Class<?> eventType, Class<?> listenerClass,
+		long nanos)
+	{
+		Counter counter = current
+			.computeIfAbsent(eventType, t -> new ConcurrentHashMap<>())
+			.computeIfAbsent(listenerClass, c -> new Counter());
+		
+		counter.calls.increment();
+		counter.nanos.add(nanos);
+	}
+	
+	/**
+	 * Ends the current sample and stores it in the ring buffer, overwriting
+	 * the oldest one if the buffer is full.
+	 */
+	@Override
+	public void onUpdate()
+	{
+		ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, Counter>> sample =
+			current;
+		current = new ConcurrentHashMap<>();
+		
+		ArrayList<Timing> timings = new ArrayList<>();
+		sample.forEach((eventType, counters) -> counters
+			.forEach((listenerClass, counter) -> timings
+				.add(new Timing(eventType, listenerClass, counter.calls.sum(),
+					counter.nanos.sum()))));
+		
+		synchronized(samples)
+		{
+			samples[nextSample] = timings;
+			nextSample = (nextSample + 1) % SAMPLES;
+			sampleCount = Math.min(sampleCount + 1, SAMPLES);
+		}
+	}
+	
+	/**
+	 * Returns the total timings of each listener and event type over all
+	 * samples in the ring buffer, slowest first.
+	 */
+	public ArrayList<Timing> getTotals()
+	{
+		HashMap<List<Class<?>>, Timing> totals = new HashMap<>();
+		
+		synchronized(samples)
+		{
+			for(int i = 0; i < sampleCount; i++)
+				for(Timing timing : samples[i])
+					totals.merge(
+						List.of(timing.eventType(), timing.listenerClass()),
+						timing, Timing::plus);
+		}
+		
+		ArrayList<Timing> result = new ArrayList<>(totals.values());
+		result.sort(Comparator.comparingLong(Timing::nanos).reversed());
+		return result;
+	}
+	
+	public int getSampleCount()
+	{
+		synchronized(samples)
+		{
+			return sampleCount;
+		}
+	}
+	
+	private static final class Counter
+	{
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+	}
+	
+	public record Timing(Class<?> eventType, Class<?> listenerClass,
+		long calls, long nanos)
+	{
+		public Timing plus(Timing other)
+		{
+			return new Timing(eventType, listenerClass, calls + other.calls,
+				nanos + other.nanos);
+		}
+	}
+}
@@ -21,9 +21,13 @@ public interface GetAmbientOcclusionLightLevelListener extends Listener
 	public static class GetAmbientOcclusionLightLevelEvent
 		extends Event<GetAmbientOcclusionLightLevelListener>
 	{
-		private final BlockState state;
+		private static final ThreadLocal<GetAmbientOcclusionLightLevelEvent> REUSABLE =
+			ThreadLocal.withInitial(
+				() -> new GetAmbientOcclusionLightLevelEvent(null, 0));
+		
+		private BlockState state;
 		private float lightLevel;
-		private final float defaultLightLevel;
+		private float defaultLightLevel;
 		
 		public GetAmbientOcclusionLightLevelEvent(BlockState state,
 			float lightLevel)
@@ -33,6 +37,21 @@ public interface GetAmbientOcclusionLightLevelListener extends Listener
 			defaultLightLevel = lightLevel;
 		}
 		
+		/**
+		 * Returns this thread's reusable instance of this event, set up for
+		 * the given block. The instance is overwritten by the next call on
+		 * the same thread, so don't keep a reference to it.
+		 */
+		public static GetAmbientOcclusionLightLevelEvent reuse(
+			BlockState state, float lightLevel)
+		{
+			GetAmbientOcclusionLightLevelEvent event = REUSABLE.get();
+			event.state = state;
+			event.lightLevel = lightLevel;
+			event.defaultLightLevel = lightLevel;
+			return event;
+		}
+		
 		public BlockState getState()
 		{
 			return state;
@@ -19,6 +19,21 @@ public interface IsNormalCubeListener extends Listener
 	public static class IsNormalCubeEvent
 		extends CancellableEvent<IsNormalCubeListener>
 	{
+		private static final ThreadLocal<IsNormalCubeEvent> REUSABLE =
+			ThreadLocal.withInitial(IsNormalCubeEvent::new);
+		
+		/**
+		 * Returns this thread's reusable instance of this event, not
+		 * cancelled. The instance is overwritten by the next call on the same
+		 * thread, so don't keep a reference to it.
+		 */
+		public static IsNormalCubeEvent reuse()
+		{
+			IsNormalCubeEvent event = REUSABLE.get();
+			event.resetCancelled();
+			return event;
+		}
+		
 		@Override
 		public void fire(ArrayList<IsNormalCubeListener> listeners)
 		{
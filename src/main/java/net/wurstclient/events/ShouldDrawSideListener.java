@@ -22,16 +22,37 @@ public interface ShouldDrawSideListener extends Listener
 	public static class ShouldDrawSideEvent
 		extends Event<ShouldDrawSideListener>
 	{
-		private final BlockState state;
-		private final BlockPos pos;
+		private static final ThreadLocal<ShouldDrawSideEvent> REUSABLE =
+			ThreadLocal.withInitial(ShouldDrawSideEvent::new);
+		
+		private BlockState state;
+		private BlockPos pos;
 		private Boolean rendered; // null if unchanged
 		
+		private ShouldDrawSideEvent()
+		{}
+		
 		public ShouldDrawSideEvent(BlockState state, BlockPos pos)
 		{
 			this.state = Objects.requireNonNull(state);
 			this.pos = pos;
 		}
 		
+		/**
+		 * Returns this thread's reusable instance of this event, set up for
+		 * the given block. Avoids allocating a new event for every rendered
+		 * block face. The instance is overwritten by the next call on the same
+		 * thread, so don't keep a reference to it.
+		 */
+		public static ShouldDrawSideEvent reuse(BlockState state, BlockPos pos)
+		{
+			ShouldDrawSideEvent event = REUSABLE.get();
+			event.state = Objects.requireNonNull(state);
+			event.pos = pos;
+			event.rendered = null;
+			return event;
+		}
+		
 		public BlockState getState()
 		{
 			return state;
@@ -15,6 +15,7 @@ import java.util.stream.Stream;
 
 import com.google.gson.JsonArray;
 
+import net.wurstclient.util.json.DebouncedJsonFile;
 import net.wurstclient.util.json.JsonException;
 import net.wurstclient.util.json.JsonUtils;
 import net.wurstclient.util.json.WsonArray;
@@ -22,11 +23,13 @@ import net.wurstclient.util.json.WsonArray;
 public final class EnabledHacksFile
 {
 	private final Path path;
+	private final DebouncedJsonFile saver;
 	private boolean disableSaving;
 	
 	public EnabledHacksFile(Path path)
 	{
 		this.path = path;
+		saver = new DebouncedJsonFile(path);
 	}
 	
 	public void load(HackList hackList)
@@ -90,17 +93,7 @@ public final class EnabledHacksFile
 		if(disableSaving)
 			return;
 		
-		JsonArray json = createJson(hax);
-		
-		try
-		{
-			JsonUtils.toJson(json, path);
-			
-		}catch(IOException | JsonException e)
-		{
-			System.out.println("Couldn't save " + path.getFileName());
-			e.printStackTrace();
-		}
+		saver.save(() -> createJson(hax));
 	}
 	
 	public void saveProfile(HackList hax, Path profilePath)
@@ -7,24 +7,39 @@
  */
 package net.wurstclient.hacks;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-import net.minecraft.client.gui.hud.ChatHud;
 import net.minecraft.client.gui.hud.ChatHudLine;
-import net.minecraft.client.util.ChatMessages;
 import net.minecraft.text.MutableText;
-import net.minecraft.text.OrderedText;
-import net.minecraft.util.math.MathHelper;
 import net.wurstclient.Category;
 import net.wurstclient.SearchTags;
 import net.wurstclient.events.ChatInputListener;
 import net.wurstclient.hack.Hack;
-import net.wurstclient.util.ChatUtils;
-import net.wurstclient.util.MathUtils;
 
 @SearchTags({"NoSpam", "ChatFilter", "anti spam", "no spam", "chat filter"})
 public final class AntiSpamHack extends Hack implements ChatInputListener
 {
+	private static final int MAX_INDEXED_MESSAGES = 1024;
+	
+	// The last occurrence of each recent message, so that duplicates can be
+	// found without going through the entire chat history every time.
+	private final LinkedHashMap<String, Occurrence> occurrences =
+		new LinkedHashMap<>(16, 0.75F, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(
+				Map.Entry<String, Occurrence> eldest)
+			{
+				return size() > MAX_INDEXED_MESSAGES;
+			}
+		};
+	
+	private Occurrence pending;
+	private ChatHudLine.Visible newestLine;
+	
 	public AntiSpamHack()
 	{
 		super("AntiSpam");
@@ -41,98 +56,28 @@ public final class AntiSpamHack extends Hack implements ChatInputListener
 	protected void onDisable()
 	{
 		EVENTS.remove(ChatInputListener.class, this);
+		occurrences.clear();
+		pending = null;
+		newestLine = null;
 	}
 	
 	@Override
 	public void onReceivedMessage(ChatInputEvent event)
 	{
 		List<ChatHudLine.Visible> chatLines = event.getChatLines();
-		if(chatLines.isEmpty())
-			return;
+		indexNewLines(chatLines);
 		
-		ChatHud chat = MC.inGameHud.getChatHud();
-		int maxTextLength =
-			MathHelper.floor(chat.getWidth() / chat.getChatScale());
-		List<OrderedText> newLines = ChatMessages.breakRenderedChatMessageLines(
-			event.getComponent(), maxTextLength, MC.textRenderer);
+		String message = event.getComponent().getString();
+		Occurrence previous = occurrences.remove(message);
 		
 		int spamCounter = 1;
-		int matchingLines = 0;
+		if(previous != null && previous.removeFrom(chatLines))
+			spamCounter += previous.count;
 		
-		for(int i = chatLines.size() - 1; i >= 0; i--)
-		{
-			String oldLine = ChatUtils.getAsString(chatLines.get(i));
-			
-			if(matchingLines <= newLines.size() - 1)
-			{
-				String newLine =
-					ChatUtils.getAsString(newLines.get(matchingLines));
-				
-				if(matchingLines < newLines.size() - 1)
-				{
-					if(oldLine.equals(newLine))
-						matchingLines++;
-					else
-						matchingLines = 0;
-					
-					continue;
-				}
-				
-				if(!oldLine.startsWith(newLine))
-				{
-					matchingLines = 0;
-					continue;
-				}
-				
-				if(i > 0 && matchingLines == newLines.size() - 1)
-				{
-					String nextOldLine =
-						ChatUtils.getAsString(chatLines.get(i - 1));
-					
-					String twoLines = oldLine + nextOldLine;
-					String addedText = twoLines.substring(newLine.length());
-					
-					if(addedText.startsWith(" [x") && addedText.endsWith("]"))
-					{
-						String oldSpamCounter =
-							addedText.substring(3, addedText.length() - 1);
-						
-						if(MathUtils.isInteger(oldSpamCounter))
-						{
-							spamCounter += Integer.parseInt(oldSpamCounter);
-							matchingLines++;
-							continue;
-						}
-					}
-				}
-				
-				if(oldLine.length() == newLine.length())
-					spamCounter++;
-				else
-				{
-					String addedText = oldLine.substring(newLine.length());
-					if(!addedText.startsWith(" [x") || !addedText.endsWith("]"))
-					{
-						matchingLines = 0;
-						continue;
-					}
-					
-					String oldSpamCounter =
-						addedText.substring(3, addedText.length() - 1);
-					if(!MathUtils.isInteger(oldSpamCounter))
-					{
-						matchingLines = 0;
-						continue;
-					}
-					
-					spamCounter += Integer.parseInt(oldSpamCounter);
-				}
-			}
-			
-			for(int i2 = i + matchingLines; i2 >= i; i2--)
-				chatLines.remove(i2);
-			matchingLines = 0;
-		}
+		// the lines of this message are only known once the next message
+		// arrives, since ChatHud adds them after this event
+		pending = new Occurrence(message, spamCounter);
+		newestLine = chatLines.isEmpty() ? null : chatLines.get(0);
 		
 		if(spamCounter > 1)
 		{
@@ -148,4 +93,67 @@ public final class AntiSpamHack extends Hack implements ChatInputListener
 			event.setComponent(newText.append(" [x" + spamCounter + "]"));
 		}
 	}
+	
+	/**
+	 * Assigns the lines that were added since the last message to that
+	 * message. New lines are always added at the start of the list.
+	 */
+	private void indexNewLines(List<ChatHudLine.Visible> chatLines)
+	{
+		int newLines = 0;
+		while(newLines < chatLines.size()
+			&& chatLines.get(newLines) != newestLine)
+			newLines++;
+		
+		// the chat was cleared or rebuilt, e.g. after resizing the window
+		if(newestLine != null && newLines == chatLines.size())
+		{
+			occurrences.clear();
+			pending = null;
+			return;
+		}
+		
+		if(pending != null && newLines > 0)
+		{
+			pending.lines = new ArrayList<>(chatLines.subList(0, newLines));
+			occurrences.put(pending.message, pending);
+		}
+		
+		pending = null;
+	}
+	
+	private static final class Occurrence
+	{
+		private final String message;
+		private final int count;
+		private List<ChatHudLine.Visible> lines;
+		
+		private Occurrence(String message, int count)
+		{
+			this.message = message;
+			this.count = count;
+		}
+		
+		/**
+		 * Removes the lines of this occurrence from the chat. Returns false
+		 * if they are no longer there.
+		 */
+		private boolean removeFrom(List<ChatHudLine.Visible> chatLines)
+		{
+			int start = 0;
+			while(start < chatLines.size()
+				&& chatLines.get(start) != lines.get(0))
+				start++;
+			
+			if(start + lines.size() > chatLines.size())
+				return false;
+			
+			for(int i = 1; i < lines.size(); i++)
+				if(chatLines.get(start + i) != lines.get(i))
+					return false;
+				
+			chatLines.subList(start, start + lines.size()).clear();
+			return true;
+		}
+	}
 }
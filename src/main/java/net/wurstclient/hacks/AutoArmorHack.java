@@ -37,6 +37,7 @@ import net.wurstclient.hack.Hack;
 import net.wurstclient.settings.CheckboxSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
+import net.wurstclient.util.InventoryScheduler.Click;
 import net.wurstclient.util.InventoryUtils;
 import net.wurstclient.util.ItemUtils;
 
@@ -60,6 +61,8 @@ public final class AutoArmorHack extends Hack
 		0, 20, 1, ValueDisplay.INTEGER);
 	
 	private int timer;
+	private int noBetterArmorVersion = -1;
+	private boolean noBetterArmorEnchantments;
 	
 	public AutoArmorHack()
 	{
@@ -74,6 +77,7 @@ public final class AutoArmorHack extends Hack
 	protected void onEnable()
 	{
 		timer = 0;
+		noBetterArmorVersion = -1;
 		EVENTS.add(UpdateListener.class, this);
 		EVENTS.add(PacketOutputListener.class, this);
 	}
@@ -107,6 +111,13 @@ public final class AutoArmorHack extends Hack
 			&& player.input.getMovementInput().length() > 1e-5F)
 			return;
 		
+		// skip the search if the inventory hasn't changed since the last
+		// time it had no better armor
+		int version = WURST.getInventoryIndex().getVersion();
+		if(version == noBetterArmorVersion
+			&& useEnchantments.isChecked() == noBetterArmorEnchantments)
+			return;
+		
 		// store slots and values of best armor pieces
 		EnumMap<EquipmentSlot, ArmorData> bestArmor =
 			new EnumMap<>(EquipmentSlot.class);
@@ -158,14 +169,17 @@ public final class AutoArmorHack extends Hack
 				continue;
 			
 			// swap armor
+			ArrayList<Click> clicks = new ArrayList<>();
 			if(!oldArmor.isEmpty())
-				IMC.getInteractionManager()
-					.windowClick_QUICK_MOVE(8 - type.getEntitySlotId());
-			IMC.getInteractionManager().windowClick_QUICK_MOVE(
-				InventoryUtils.toNetworkSlot(data.invSlot()));
-			
-			break;
+				clicks.add(Click.quickMove(8 - type.getEntitySlotId()));
+			clicks.add(
+				Click.quickMove(InventoryUtils.toNetworkSlot(data.invSlot())));
+			WURST.getInventoryScheduler().submit(this, clicks);
+			return;
 		}
+		
+		noBetterArmorVersion = version;
+		noBetterArmorEnchantments = useEnchantments.isChecked();
 	}
 	
 	@Override
@@ -9,22 +9,30 @@ package net.wurstclient.hacks;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 import net.wurstclient.Category;
+import net.wurstclient.events.PacketInputListener;
 import net.wurstclient.events.RenderListener;
 import net.wurstclient.events.RightClickListener;
 import net.wurstclient.events.UpdateListener;
@@ -34,18 +42,19 @@ import net.wurstclient.settings.FileSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
 import net.wurstclient.util.*;
+import net.wurstclient.util.AutoBuildQueue.Entry;
 import net.wurstclient.util.BlockPlacer.BlockPlacingParams;
 import net.wurstclient.util.json.JsonException;
 
-public final class AutoBuildHack extends Hack
-	implements UpdateListener, RightClickListener, RenderListener
+public final class AutoBuildHack extends Hack implements UpdateListener,
+	RightClickListener, RenderListener, PacketInputListener
 {
 	private static final Box BLOCK_BOX =
 		new Box(1 / 16.0, 1 / 16.0, 1 / 16.0, 15 / 16.0, 15 / 16.0, 15 / 16.0);
 	
 	private final FileSetting templateSetting = new FileSetting("Template",
 		"Determines what to build.\n\n"
-			+ "Templates are just JSON files. Feel free to add your own or to edit / delete the default templates.\n\n"
+			+ "Templates are JSON files or compact binary .wtpl files. Feel free to add your own or to edit / delete the default templates.\n\n"
 			+ "If you mess up, simply press the 'Reset to Defaults' button or delete the folder.",
 		"autobuild", DefaultAutoBuildTemplates::createFiles);
 	
@@ -78,8 +87,18 @@ public final class AutoBuildHack extends Hack
 	
 	private Status status = Status.NO_TEMPLATE;
 	private AutoBuildTemplate template;
-	private LinkedHashMap<BlockPos, Item> remainingBlocks =
-		new LinkedHashMap<>();
+	private AutoBuildQueue remainingBlocks = new AutoBuildQueue();
+	
+	private final Set<BlockPos> blockUpdates =
+		Collections.synchronizedSet(new HashSet<>());
+	private final Set<ChunkPos> chunkUpdates =
+		Collections.synchronizedSet(new HashSet<>());
+	private ArrayList<BlockPos> delayedBlockUpdates = new ArrayList<>();
+	private ArrayList<ChunkPos> delayedChunkUpdates = new ArrayList<>();
+	
+	private List<BlockPos> blocksToDraw = List.of();
+	private List<Box> outlineBoxes = List.of();
+	private int drawnVersion = -1;
 	
 	public AutoBuildHack()
 	{
@@ -131,6 +150,7 @@ public final class AutoBuildHack extends Hack
 		EVENTS.add(UpdateListener.class, this);
 		EVENTS.add(RightClickListener.class, this);
 		EVENTS.add(RenderListener.class, this);
+		EVENTS.add(PacketInputListener.class, this);
 	}
 	
 	@Override
@@ -139,8 +159,13 @@ public final class AutoBuildHack extends Hack
 		EVENTS.remove(UpdateListener.class, this);
 		EVENTS.remove(RightClickListener.class, this);
 		EVENTS.remove(RenderListener.class, this);
+		EVENTS.remove(PacketInputListener.class, this);
 		
 		remainingBlocks.clear();
+		blockUpdates.clear();
+		chunkUpdates.clear();
+		delayedBlockUpdates = new ArrayList<>();
+		delayedChunkUpdates = new ArrayList<>();
 		
 		if(template == null)
 			status = Status.NO_TEMPLATE;
@@ -165,11 +190,29 @@ public final class AutoBuildHack extends Hack
 		
 		BlockPos startPos = hitResultPos.offset(blockHitResult.getSide());
 		Direction direction = MC.player.getHorizontalFacing();
-		remainingBlocks = template.getBlocksToPlace(startPos, direction);
+		remainingBlocks = new AutoBuildQueue(
+			template.getBlocksToPlace(startPos, direction));
+		drawnVersion = -1;
 		
 		status = Status.BUILDING;
 	}
 	
+	@Override
+	public void onReceivedPacket(PacketInputEvent event)
+	{
+		if(status != Status.BUILDING)
+			return;
+		
+		Packet<?> packet = event.getPacket();
+		if(packet instanceof BlockUpdateS2CPacket p)
+			blockUpdates.add(p.getPos());
+		else if(packet instanceof ChunkDeltaUpdateS2CPacket p)
+			p.visitUpdates(
+				(pos, state) -> blockUpdates.add(pos.toImmutable()));
+		else if(packet instanceof ChunkDataS2CPacket p)
+			chunkUpdates.add(new ChunkPos(p.getChunkX(), p.getChunkZ()));
+	}
+	
 	@Override
 	public void onUpdate()
 	{
@@ -199,13 +242,17 @@ public final class AutoBuildHack extends Hack
 		if(status != Status.BUILDING)
 			return;
 		
-		List<BlockPos> blocksToDraw = remainingBlocks.keySet().stream()
-			.filter(pos -> BlockUtils.getState(pos).isReplaceable()).limit(1024)
-			.toList();
+		// only rebuilt when blocks have been placed
+		if(drawnVersion != remainingBlocks.getVersion())
+		{
+			blocksToDraw = remainingBlocks.getFirstEntries(1024).stream()
+				.map(Entry::pos).toList();
+			outlineBoxes = blocksToDraw.stream()
+				.map(pos -> BLOCK_BOX.offset(pos)).toList();
+			drawnVersion = remainingBlocks.getVersion();
+		}
 		
 		int black = 0x80000000;
-		List<Box> outlineBoxes =
-			blocksToDraw.stream().map(pos -> BLOCK_BOX.offset(pos)).toList();
 		RenderUtils.drawOutlinedBoxes(matrixStack, outlineBoxes, black, true);
 		
 		int green = 0x2600FF00;
@@ -219,8 +266,13 @@ public final class AutoBuildHack extends Hack
 	
 	private void buildNormally()
 	{
-		remainingBlocks.keySet()
-			.removeIf(pos -> !BlockUtils.getState(pos).isReplaceable());
+		applyBlockUpdates();
+		
+		// blocks can only be placed within range, so the rest of the
+		// template doesn't need to be checked every tick
+		Vec3d eyesPos = RotationUtils.getEyesPos();
+		double searchRange = range.getValue() + 2;
+		remainingBlocks.updateNear(eyesPos, searchRange);
 		
 		if(remainingBlocks.isEmpty())
 		{
@@ -231,11 +283,15 @@ public final class AutoBuildHack extends Hack
 		if(!fastPlace.isChecked() && MC.itemUseCooldown > 0)
 			return;
 		
+		List<Entry> candidates = strictBuildOrder.isChecked()
+			? List.of(remainingBlocks.getFirst())
+			: remainingBlocks.getEntriesNear(eyesPos, searchRange);
+		
 		double rangeSq = range.getValueSq();
-		for(Map.Entry<BlockPos, Item> entry : remainingBlocks.entrySet())
+		for(Entry entry : candidates)
 		{
-			BlockPos pos = entry.getKey();
-			Item item = entry.getValue();
+			BlockPos pos = entry.pos();
+			Item item = entry.item();
 			
 			BlockPlacingParams params = BlockPlacer.getBlockPlacingParams(pos);
 			if(params == null || params.distanceSq() > rangeSq
@@ -260,6 +316,26 @@ public final class AutoBuildHack extends Hack
 		}
 	}
 	
+	private void applyBlockUpdates()
+	{
+		// Block update packets arrive before the client applies them, so
+		// each batch is held back until the next tick.
+		delayedBlockUpdates.forEach(remainingBlocks::update);
+		delayedChunkUpdates.forEach(remainingBlocks::update);
+		
+		synchronized(blockUpdates)
+		{
+			delayedBlockUpdates = new ArrayList<>(blockUpdates);
+			blockUpdates.clear();
+		}
+		
+		synchronized(chunkUpdates)
+		{
+			delayedChunkUpdates = new ArrayList<>(chunkUpdates);
+			chunkUpdates.clear();
+		}
+	}
+	
 	private void giveOrSelectItem(Item item)
 	{
 		if(InventoryUtils.selectItem(item, 36, true))
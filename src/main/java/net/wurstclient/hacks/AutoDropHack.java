@@ -7,6 +7,8 @@
  */
 package net.wurstclient.hacks;
 
+import java.util.ArrayList;
+
 import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import net.minecraft.client.gui.screen.ingame.InventoryScreen;
 import net.minecraft.item.Item;
@@ -17,6 +19,7 @@ import net.wurstclient.SearchTags;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
 import net.wurstclient.settings.ItemListSetting;
+import net.wurstclient.util.InventoryScheduler.Click;
 
 @SearchTags({"auto drop", "AutoEject", "auto-eject", "auto eject",
 	"InventoryCleaner", "inventory cleaner", "InvCleaner", "inv cleaner"})
@@ -68,6 +71,7 @@ public final class AutoDropHack extends Hack implements UpdateListener
 			&& !(MC.currentScreen instanceof InventoryScreen))
 			return;
 		
+		ArrayList<Click> clicks = new ArrayList<>();
 		for(int slot = 9; slot < 45; slot++)
 		{
 			int adjustedSlot = slot;
@@ -84,7 +88,10 @@ public final class AutoDropHack extends Hack implements UpdateListener
 			if(!items.getItemNames().contains(itemName))
 				continue;
 			
-			IMC.getInteractionManager().windowClick_THROW(slot);
+			clicks.add(Click.throwStack(slot));
 		}
+		
+		if(!clicks.isEmpty())
+			WURST.getInventoryScheduler().submit(this, clicks);
 	}
 }
@@ -28,6 +28,7 @@ import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
+import net.wurstclient.util.InventoryScheduler.Click;
 
 @SearchTags({"auto soup", "AutoStew", "auto stew"})
 public final class AutoSoupHack extends Hack implements UpdateListener
@@ -71,19 +72,12 @@ public final class AutoSoupHack extends Hack implements UpdateListener
 			if(stack == null || stack.getItem() != Items.BOWL || i == 9)
 				continue;
 			
-			// check if empty bowl slot contains a non-bowl item
-			ItemStack emptyBowlStack = MC.player.getInventory().getStack(9);
-			boolean swap = !emptyBowlStack.isEmpty()
-				&& emptyBowlStack.getItem() != Items.BOWL;
-			
-			// place bowl in empty bowl slot
-			IMC.getInteractionManager().windowClick_PICKUP(i < 9 ? 36 + i : i);
-			IMC.getInteractionManager().windowClick_PICKUP(9);
-			
-			// place non-bowl item from empty bowl slot in current slot
-			if(swap)
-				IMC.getInteractionManager()
-					.windowClick_PICKUP(i < 9 ? 36 + i : i);
+			// place bowl in empty bowl slot, then place whatever was in
+			// the empty bowl slot in the current slot
+			int slot = i < 9 ? 36 + i : i;
+			WURST.getInventoryScheduler().submit(this, List.of(
+				Click.pickup(slot), Click.pickup(9),
+				Click.pickupIfHolding(slot)));
 		}
 		
 		// search soup in hotbar
@@ -120,7 +114,8 @@ public final class AutoSoupHack extends Hack implements UpdateListener
 		
 		// move soup in inventory to hotbar
 		if(soupInInventory != -1)
-			IMC.getInteractionManager().windowClick_QUICK_MOVE(soupInInventory);
+			WURST.getInventoryScheduler().submit(this,
+				List.of(Click.quickMove(soupInInventory)));
 	}
 	
 	private int findSoup(int startSlot, int endSlot)
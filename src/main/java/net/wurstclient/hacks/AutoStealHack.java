@@ -11,14 +11,14 @@ import java.util.List;
 import java.util.stream.IntStream;
 
 import net.minecraft.client.gui.screen.ingame.HandledScreen;
-import net.minecraft.screen.slot.Slot;
-import net.minecraft.screen.slot.SlotActionType;
 import net.wurstclient.Category;
 import net.wurstclient.SearchTags;
 import net.wurstclient.hack.Hack;
 import net.wurstclient.settings.CheckboxSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
+import net.wurstclient.util.InventoryScheduler;
+import net.wurstclient.util.InventoryScheduler.Click;
 
 @SearchTags({"auto steal", "ChestStealer", "chest stealer",
 	"steal store buttons", "Steal/Store buttons"})
@@ -35,8 +35,6 @@ public final class AutoStealHack extends Hack
 	private final CheckboxSetting reverseSteal =
 		new CheckboxSetting("Reverse steal order", false);
 	
-	private Thread thread;
-	
 	public AutoStealHack()
 	{
 		super("AutoSteal");
@@ -48,53 +46,28 @@ public final class AutoStealHack extends Hack
 	
 	public void steal(HandledScreen<?> screen, int rows)
 	{
-		startClickingSlots(screen, 0, rows * 9, true);
+		clickSlots(screen, 0, rows * 9, true);
 	}
 	
 	public void store(HandledScreen<?> screen, int rows)
 	{
-		startClickingSlots(screen, rows * 9, rows * 9 + 36, false);
-	}
-	
-	private void startClickingSlots(HandledScreen<?> screen, int from, int to,
-		boolean steal)
-	{
-		if(thread != null && thread.isAlive())
-			thread.interrupt();
-		
-		thread = Thread.ofPlatform().name("AutoSteal")
-			.uncaughtExceptionHandler((t, e) -> e.printStackTrace()).daemon()
-			.start(() -> shiftClickSlots(screen, from, to, steal));
+		clickSlots(screen, rows * 9, rows * 9 + 36, false);
 	}
 	
-	private void shiftClickSlots(HandledScreen<?> screen, int from, int to,
+	private void clickSlots(HandledScreen<?> screen, int from, int to,
 		boolean steal)
 	{
-		List<Slot> slots = IntStream.range(from, to)
-			.mapToObj(i -> screen.getScreenHandler().slots.get(i)).toList();
+		// empty slots are skipped by the scheduler when their turn comes
+		List<Click> clicks =
+			IntStream.range(from, to).mapToObj(Click::quickMove).toList();
 		
 		if(reverseSteal.isChecked() && steal)
-			slots = slots.reversed();
+			clicks = clicks.reversed();
 		
-		for(Slot slot : slots)
-			try
-			{
-				if(slot.getStack().isEmpty())
-					continue;
-				
-				Thread.sleep(delay.getValueI());
-				
-				if(MC.currentScreen == null)
-					break;
-				
-				screen.onMouseClick(slot, slot.id, 0,
-					SlotActionType.QUICK_MOVE);
-				
-			}catch(InterruptedException e)
-			{
-				Thread.currentThread().interrupt();
-				break;
-			}
+		InventoryScheduler scheduler = WURST.getInventoryScheduler();
+		scheduler.cancel(this);
+		scheduler.submit(this, screen.getScreenHandler().syncId, clicks,
+			delay.getValueI());
 	}
 	
 	public boolean areButtonsVisible()
@@ -62,6 +62,8 @@ public final class AutoToolHack extends Hack
 		false);
 	
 	private int prevSelectedSlot;
+	private BestToolQuery lastQuery;
+	private int lastBestSlot;
 	
 	public AutoToolHack()
 	{
@@ -154,6 +156,24 @@ public final class AutoToolHack extends Hack
 	}
 	
 	private int getBestSlot(BlockState state, boolean useSwords, int repairMode)
+	{
+		// the result only changes when the inventory or the block does
+		int selectedSlot = MC.player.getInventory().getSelectedSlot();
+		BestToolQuery query =
+			new BestToolQuery(WURST.getInventoryIndex().getVersion(), state,
+				useSwords, repairMode, selectedSlot);
+		
+		if(!query.equals(lastQuery))
+		{
+			lastBestSlot = findBestSlot(state, useSwords, repairMode);
+			lastQuery = query;
+		}
+		
+		return lastBestSlot;
+	}
+	
+	private int findBestSlot(BlockState state, boolean useSwords,
+		int repairMode)
 	{
 		ClientPlayerEntity player = MC.player;
 		PlayerInventory inventory = player.getInventory();
@@ -304,4 +324,8 @@ public final class AutoToolHack extends Hack
 		
 		return -1;
 	}
+	
+	private record BestToolQuery(int inventoryVersion, BlockState state,
+		boolean useSwords, int repairMode, int selectedSlot)
+	{}
 }
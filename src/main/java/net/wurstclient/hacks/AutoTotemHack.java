@@ -7,6 +7,8 @@
  */
 package net.wurstclient.hacks;
 
+import java.util.List;
+
 import net.minecraft.client.gui.screen.ingame.CreativeInventoryScreen;
 import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import net.minecraft.client.gui.screen.ingame.InventoryScreen;
@@ -16,10 +18,10 @@ import net.wurstclient.Category;
 import net.wurstclient.SearchTags;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
-import net.wurstclient.mixinterface.IClientPlayerInteractionManager;
 import net.wurstclient.settings.CheckboxSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
+import net.wurstclient.util.InventoryScheduler.Click;
 import net.wurstclient.util.InventoryUtils;
 
 @SearchTags({"auto totem", "offhand", "off-hand"})
@@ -38,7 +40,6 @@ public final class AutoTotemHack extends Hack implements UpdateListener
 		0, 0, 10, 0.5, ValueDisplay.DECIMAL.withSuffix(" hearts")
 			.withLabel(1, "1 heart").withLabel(0, "ignore"));
 	
-	private int nextTickSlot;
 	private int totems;
 	private int timer;
 	private boolean wasTotemInOffhand;
@@ -67,7 +68,6 @@ public final class AutoTotemHack extends Hack implements UpdateListener
 	@Override
 	protected void onEnable()
 	{
-		nextTickSlot = -1;
 		totems = 0;
 		timer = 0;
 		wasTotemInOffhand = false;
@@ -83,8 +83,6 @@ public final class AutoTotemHack extends Hack implements UpdateListener
 	@Override
 	public void onUpdate()
 	{
-		finishMovingTotem();
-		
 		int nextTotemSlot = searchForTotems();
 		
 		if(isTotem(MC.player.getOffHandStack()))
@@ -123,33 +121,19 @@ public final class AutoTotemHack extends Hack implements UpdateListener
 	
 	private void moveToOffhand(int itemSlot)
 	{
-		boolean offhandEmpty = MC.player.getOffHandStack().isEmpty();
-		
-		IClientPlayerInteractionManager im = IMC.getInteractionManager();
-		im.windowClick_PICKUP(itemSlot);
-		im.windowClick_PICKUP(45);
-		
-		if(!offhandEmpty)
-			nextTickSlot = itemSlot;
-	}
-	
-	private void finishMovingTotem()
-	{
-		if(nextTickSlot == -1)
-			return;
-		
-		IClientPlayerInteractionManager im = IMC.getInteractionManager();
-		im.windowClick_PICKUP(nextTickSlot);
-		nextTickSlot = -1;
+		// put back whatever was in the offhand before
+		WURST.getInventoryScheduler().submit(this, List.of(
+			Click.pickup(itemSlot), Click.pickup(45),
+			Click.pickupIfHolding(itemSlot)));
 	}
 	
 	private int searchForTotems()
 	{
-		totems = InventoryUtils.count(this::isTotem, 40, true);
+		totems = InventoryUtils.count(Items.TOTEM_OF_UNDYING, 40, true);
 		if(totems <= 0)
 			return -1;
 		
-		int totemSlot = InventoryUtils.indexOf(this::isTotem, 40);
+		int totemSlot = InventoryUtils.indexOf(Items.TOTEM_OF_UNDYING, 40);
 		return InventoryUtils.toNetworkSlot(totemSlot);
 	}
 	
@@ -9,7 +9,6 @@ package net.wurstclient.hacks;
 
 import java.awt.Color;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 
 import com.mojang.blaze3d.vertex.VertexFormat.DrawMode;
@@ -25,6 +24,7 @@ import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
 import net.wurstclient.settings.BlockListSetting;
 import net.wurstclient.settings.ColorSetting;
+import net.wurstclient.util.BlockMatcher;
 import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.BlockVertexCompiler;
 import net.wurstclient.util.ChatUtils;
@@ -84,7 +84,7 @@ public final class BaseFinderHack extends Hack
 	private final ColorSetting color = new ColorSetting("Color",
 		"Man-made blocks will be highlighted in this color.", Color.RED);
 	
-	private ArrayList<String> blockNames;
+	private BlockMatcher naturalBlockMatcher;
 	
 	private final HashSet<BlockPos> matchingBlocks = new HashSet<>();
 	private ArrayList<int[]> vertices = new ArrayList<>();
@@ -127,7 +127,7 @@ public final class BaseFinderHack extends Hack
 	{
 		// reset timer
 		messageTimer = 0;
-		blockNames = new ArrayList<>(naturalBlocks.getBlockNames());
+		naturalBlockMatcher = naturalBlocks.getMatcher();
 		
 		EVENTS.add(UpdateListener.class, this);
 		EVENTS.add(RenderListener.class, this);
@@ -197,6 +197,7 @@ public final class BaseFinderHack extends Hack
 		
 		BlockPos playerPos =
 			BlockPos.ofFloored(MC.player.getX(), 0, MC.player.getZ());
+		BlockPos.Mutable pos = new BlockPos.Mutable();
 		
 		// search matching blocks
 		loop: for(int y = startY; y > endY; y--)
@@ -206,14 +207,12 @@ public final class BaseFinderHack extends Hack
 					if(matchingBlocks.size() >= 10000)
 						break loop;
 					
-					BlockPos pos = new BlockPos(playerPos.getX() + x, y,
-						playerPos.getZ() + z);
+					pos.set(playerPos.getX() + x, y, playerPos.getZ() + z);
 					
-					if(Collections.binarySearch(blockNames,
-						BlockUtils.getName(pos)) >= 0)
+					if(naturalBlockMatcher.matches(BlockUtils.getState(pos)))
 						continue;
 					
-					matchingBlocks.add(pos);
+					matchingBlocks.add(pos.toImmutable());
 				}
 			
 		if(modulo != 63)
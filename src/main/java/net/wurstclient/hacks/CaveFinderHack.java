@@ -67,7 +67,7 @@ public final class CaveFinderHack extends Hack
 	
 	private final ChunkSearcherCoordinator coordinator =
 		new ChunkSearcherCoordinator(
-			(pos, state) -> state.getBlock() == Blocks.CAVE_AIR, area);
+			state -> state.getBlock() == Blocks.CAVE_AIR, area);
 	
 	private ForkJoinPool forkJoinPool;
 	private ForkJoinTask<HashSet<BlockPos>> getMatchingBlocksTask;
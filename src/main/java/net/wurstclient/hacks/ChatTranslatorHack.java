@@ -7,6 +7,8 @@
  */
 package net.wurstclient.hacks;
 
+import java.util.function.Consumer;
+
 import net.wurstclient.Category;
 import net.wurstclient.SearchTags;
 import net.wurstclient.events.ChatInputListener;
@@ -16,6 +18,9 @@ import net.wurstclient.hacks.chattranslator.FilterOwnMessagesSetting;
 import net.wurstclient.hacks.chattranslator.GoogleTranslate;
 import net.wurstclient.hacks.chattranslator.LanguageSetting;
 import net.wurstclient.hacks.chattranslator.LanguageSetting.Language;
+import net.wurstclient.hacks.chattranslator.TranslationCache;
+import net.wurstclient.hacks.chattranslator.TranslationCacheFile;
+import net.wurstclient.hacks.chattranslator.TranslationQueue;
 import net.wurstclient.hacks.chattranslator.WhatToTranslateSetting;
 import net.wurstclient.settings.CheckboxSetting;
 import net.wurstclient.util.ChatUtils;
@@ -53,6 +58,16 @@ public final class ChatTranslatorHack extends Hack
 	private final FilterOwnMessagesSetting filterOwnMessages =
 		new FilterOwnMessagesSetting();
 	
+	private final CheckboxSetting rememberTranslations = new CheckboxSetting(
+		"Remember translations",
+		"description.wurst.setting.chattranslator.remember_translations",
+		false);
+	
+	private final TranslationCache cache = new TranslationCache(512);
+	private final TranslationQueue queue =
+		new TranslationQueue(new GoogleTranslate(), cache);
+	private TranslationCacheFile cacheFile;
+	
 	public ChatTranslatorHack()
 	{
 		super("ChatTranslator");
@@ -63,11 +78,15 @@ public final class ChatTranslatorHack extends Hack
 		addSetting(autoDetectReceived);
 		addSetting(autoDetectSent);
 		addSetting(filterOwnMessages);
+		addSetting(rememberTranslations);
 	}
 	
 	@Override
 	protected void onEnable()
 	{
+		if(rememberTranslations.isChecked())
+			loadCacheFile();
+		
 		EVENTS.add(ChatInputListener.class, this);
 		EVENTS.add(ChatOutputListener.class, this);
 	}
@@ -98,19 +117,11 @@ public final class ChatTranslatorHack extends Hack
 			&& filterOwnMessages.isOwnMessage(message))
 			return;
 		
-		Thread.ofVirtual().name("ChatTranslator")
-			.uncaughtExceptionHandler((t, e) -> e.printStackTrace())
-			.start(() -> showTranslated(message, fromLang, toLang));
-	}
-	
-	private void showTranslated(String message, Language fromLang,
-		Language toLang)
-	{
-		String translated = GoogleTranslate.translate(message,
-			fromLang.getValue(), toLang.getValue());
-		
-		if(translated != null)
-			MC.inGameHud.getChatHud().addMessage(toLang.prefixText(translated));
+		translate(message, fromLang, toLang, translated -> {
+			if(translated != null)
+				MC.inGameHud.getChatHud()
+					.addMessage(toLang.prefixText(translated));
+		});
 	}
 	
 	@Override
@@ -129,20 +140,37 @@ public final class ChatTranslatorHack extends Hack
 		
 		event.cancel();
 		
-		Thread.ofVirtual().name("ChatTranslator")
-			.uncaughtExceptionHandler((t, e) -> e.printStackTrace())
-			.start(() -> sendTranslated(message, fromLang, toLang));
+		translate(message, fromLang, toLang,
+			translated -> MC.getNetworkHandler().sendChatMessage(
+				translated != null ? translated : message));
 	}
 	
-	private void sendTranslated(String message, Language fromLang,
-		Language toLang)
+	/**
+	 * Translates the message in the background and then passes the result
+	 * (or null if there is none) to the callback on the client thread.
+	 */
+	private void translate(String message, Language fromLang,
+		Language toLang, Consumer<String> callback)
 	{
-		String translated = GoogleTranslate.translate(message,
-			fromLang.getValue(), toLang.getValue());
-		
-		if(translated == null)
-			translated = message;
+		queue.translate(message, fromLang.getValue(), toLang.getValue())
+			.thenAccept(translated -> MC.execute(() -> {
+				if(rememberTranslations.isChecked())
+				{
+					loadCacheFile();
+					cacheFile.save(cache);
+				}
+				
+				callback.accept(translated);
+			}));
+	}
+	
+	private void loadCacheFile()
+	{
+		if(cacheFile != null)
+			return;
 		
-		MC.getNetworkHandler().sendChatMessage(translated);
+		cacheFile = new TranslationCacheFile(
+			WURST.getWurstFolder().resolve("translations.json"));
+		cacheFile.load(cache);
 	}
 }
@@ -11,11 +11,9 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
-import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.decoration.EndCrystalEntity;
@@ -40,7 +38,7 @@ import net.wurstclient.settings.SwingHandSetting.SwingHand;
 import net.wurstclient.settings.filterlists.CrystalAuraFilterList;
 import net.wurstclient.settings.filterlists.EntityFilterList;
 import net.wurstclient.util.BlockUtils;
-import net.wurstclient.util.FakePlayerEntity;
+import net.wurstclient.util.EntityUtils;
 import net.wurstclient.util.InventoryUtils;
 import net.wurstclient.util.RotationUtils;
 
@@ -227,39 +225,25 @@ public final class CrystalAuraHack extends Hack implements UpdateListener
 	
 	private ArrayList<Entity> getNearbyCrystals()
 	{
-		ClientPlayerEntity player = MC.player;
-		double rangeSq = Math.pow(range.getValue(), 2);
-		
 		Comparator<Entity> furthestFromPlayer = Comparator
 			.<Entity> comparingDouble(e -> MC.player.squaredDistanceTo(e))
 			.reversed();
 		
-		return StreamSupport.stream(MC.world.getEntities().spliterator(), true)
+		return WURST.getEntitySnapshot().getNearby(range.getValue()).stream()
 			.filter(EndCrystalEntity.class::isInstance)
-			.filter(e -> !e.isRemoved())
-			.filter(e -> player.squaredDistanceTo(e) <= rangeSq)
 			.sorted(furthestFromPlayer)
 			.collect(Collectors.toCollection(ArrayList::new));
 	}
 	
 	private ArrayList<Entity> getNearbyTargets()
 	{
-		double rangeSq = Math.pow(range.getValue(), 2);
-		
 		Comparator<Entity> furthestFromPlayer = Comparator
 			.<Entity> comparingDouble(e -> MC.player.squaredDistanceTo(e))
 			.reversed();
 		
 		Stream<Entity> stream =
-			StreamSupport.stream(MC.world.getEntities().spliterator(), false)
-				.filter(e -> !e.isRemoved())
-				.filter(e -> e instanceof LivingEntity
-					&& ((LivingEntity)e).getHealth() > 0)
-				.filter(e -> e != MC.player)
-				.filter(e -> !(e instanceof FakePlayerEntity))
-				.filter(
-					e -> !WURST.getFriends().contains(e.getName().getString()))
-				.filter(e -> MC.player.squaredDistanceTo(e) <= rangeSq);
+			EntityUtils.getAttackableEntities(range.getValue())
+				.filter(LivingEntity.class::isInstance);
 		
 		stream = entityFilters.applyTo(stream);
 		
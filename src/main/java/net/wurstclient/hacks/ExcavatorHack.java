@@ -9,8 +9,6 @@ package net.wurstclient.hacks;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -34,6 +32,7 @@ import net.wurstclient.events.GUIRenderListener;
 import net.wurstclient.events.RenderListener;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
+import net.wurstclient.hacks.excavator.ExcavatorArea;
 import net.wurstclient.settings.EnumSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
@@ -56,7 +55,7 @@ public final class ExcavatorHack extends Hack
 	
 	private Step step;
 	private BlockPos posLookingAt;
-	private Area area;
+	private ExcavatorArea area;
 	private BlockPos currentBlock;
 	private ExcavatorPathFinder pathFinder;
 	private PathProcessor processor;
@@ -74,12 +73,9 @@ public final class ExcavatorHack extends Hack
 	{
 		String name = getName();
 		
-		if(step == Step.EXCAVATE && area != null)
+		if(!step.selectPos && area != null)
 		{
-			int totalBlocks = area.blocksList.size();
-			double brokenBlocks = totalBlocks - area.remainingBlocks;
-			double progress = brokenBlocks / totalBlocks;
-			int percentage = (int)(progress * 100);
+			int percentage = (int)(area.getProgress() * 100);
 			name += " " + percentage + "%";
 		}
 		
@@ -157,29 +153,25 @@ public final class ExcavatorHack extends Hack
 		if(area != null)
 		{
 			// recently scanned blocks
-			if(step == Step.SCAN_AREA && area.progress < 1)
+			if(step == Step.SCAN_AREA && area.isScanning())
 			{
 				ArrayList<Box> boxes = new ArrayList<>();
-				for(int i = Math.max(0, area.blocksList.size()
-					- area.scanSpeed); i < area.blocksList.size(); i++)
-					boxes.add(new Box(area.blocksList.get(i)).expand(0.005));
+				for(BlockPos pos : area.getRecentlyScanned())
+					boxes.add(new Box(pos).expand(0.005));
 				
 				RenderUtils.drawOutlinedBoxes(matrixStack, boxes, black, true);
 				RenderUtils.drawSolidBoxes(matrixStack, boxes, green1, true);
 			}
 			
 			// area box
-			Box areaBox =
-				new Box(area.minX, area.minY, area.minZ, area.minX + area.sizeX,
-					area.minY + area.sizeY, area.minZ + area.sizeZ)
-						.contract(1 / 16.0);
+			Box areaBox = area.getBox().contract(1 / 16.0);
 			RenderUtils.drawOutlinedBox(matrixStack, areaBox, black, true);
 			
 			// area scanner
-			if(area.progress < 1)
+			if(area.isScanning())
 			{
-				double scannerX =
-					MathHelper.lerp(area.progress, areaBox.minX, areaBox.maxX);
+				double scannerX = MathHelper.lerp(area.getScanProgress(),
+					areaBox.minX, areaBox.maxX);
 				Box scanner = areaBox.withMinX(scannerX).withMaxX(scannerX);
 				
 				RenderUtils.drawOutlinedBox(matrixStack, scanner, black, true);
@@ -285,33 +277,17 @@ public final class ExcavatorHack extends Hack
 		// initialize area
 		if(area == null)
 		{
-			area = new Area(Step.START_POS.pos, Step.END_POS.pos);
+			area = new ExcavatorArea(Step.START_POS.pos, Step.END_POS.pos);
 			Step.START_POS.pos = null;
 			Step.END_POS.pos = null;
 		}
 		
-		// scan area
-		for(int i = 0; i < area.scanSpeed && area.iterator.hasNext(); i++)
-		{
-			area.scannedBlocks++;
-			BlockPos pos = area.iterator.next();
-			
-			if(BlockUtils.canBeClicked(pos))
-			{
-				area.blocksList.add(pos);
-				area.blocksSet.add(pos);
-			}
-		}
-		
-		// update progress
-		area.progress = (float)area.scannedBlocks / (float)area.totalBlocks;
+		// scan the current layer
+		area.scan();
 		
 		// continue with next step
-		if(!area.iterator.hasNext())
-		{
-			area.remainingBlocks = area.blocksList.size();
+		if(!area.isScanning())
 			step = Step.values()[step.ordinal() + 1];
-		}
 	}
 	
 	private void excavate()
@@ -371,23 +347,43 @@ public final class ExcavatorHack extends Hack
 		
 		overlay.updateProgress();
 		
-		// get remaining blocks
+		// forget blocks that have been broken
 		Predicate<BlockPos> pBreakable = MC.player.getAbilities().creativeMode
 			? BlockUtils::canBeClicked : pos -> BlockUtils.canBeClicked(pos)
 				&& !BlockUtils.isUnbreakable(pos);
-		area.remainingBlocks =
-			(int)area.blocksList.parallelStream().filter(pBreakable).count();
+		BlockPos eyesBlock = BlockPos.ofFloored(eyesVec);
+		int blockRange = range.getValueCeil();
+		area.removeBrokenTargets(
+			eyesBlock.add(-blockRange, -blockRange, -blockRange),
+			eyesBlock.add(blockRange, blockRange, blockRange), pBreakable);
 		
-		if(area.remainingBlocks == 0)
+		// stop walking once the current layer is done
+		if(area.getRemainingBlocks() == 0)
 		{
-			setEnabled(false);
-			return;
+			pathFinder = null;
+			processor = null;
 		}
 		
 		if(pathFinder == null)
 		{
-			BlockPos closestBlock = area.blocksList.parallelStream()
-				.filter(pBreakable).min(cNextTargetBlock).get();
+			BlockPos closestBlock =
+				area.findTarget(cNextTargetBlock, pBreakable);
+			
+			// continue with the next layer, if there is one
+			if(closestBlock == null)
+			{
+				PathProcessor.releaseControls();
+				MC.interactionManager.cancelBlockBreaking();
+				overlay.resetProgress();
+				currentBlock = null;
+				
+				if(area.nextLayer())
+					step = Step.SCAN_AREA;
+				else
+					setEnabled(false);
+				
+				return;
+			}
 			
 			pathFinder = new ExcavatorPathFinder(closestBlock);
 		}
@@ -436,7 +432,7 @@ public final class ExcavatorHack extends Hack
 		
 		return BlockUtils.getAllInBoxStream(eyesBlock, blockRange)
 			.filter(pos -> pos.getSquaredDistance(eyesVec) <= rangeSq)
-			.filter(area.blocksSet::contains).filter(BlockUtils::canBeClicked)
+			.filter(area::isTarget).filter(BlockUtils::canBeClicked)
 			.filter(pos -> !BlockUtils.isUnbreakable(pos))
 			.sorted(Comparator
 				.comparingDouble(pos -> pos.getSquaredDistance(eyesVec)))
@@ -488,44 +484,6 @@ public final class ExcavatorHack extends Hack
 		}
 	}
 	
-	private static class Area
-	{
-		private final int minX, minY, minZ;
-		private final int sizeX, sizeY, sizeZ;
-		
-		private final int totalBlocks, scanSpeed;
-		private final Iterator<BlockPos> iterator;
-		
-		private int scannedBlocks, remainingBlocks;
-		private float progress;
-		
-		private final ArrayList<BlockPos> blocksList = new ArrayList<>();
-		private final HashSet<BlockPos> blocksSet = new HashSet<>();
-		
-		private Area(BlockPos start, BlockPos end)
-		{
-			int startX = start.getX();
-			int startY = start.getY();
-			int startZ = start.getZ();
-			
-			int endX = end.getX();
-			int endY = end.getY();
-			int endZ = end.getZ();
-			
-			minX = Math.min(startX, endX);
-			minY = Math.min(startY, endY);
-			minZ = Math.min(startZ, endZ);
-			
-			sizeX = Math.abs(startX - endX);
-			sizeY = Math.abs(startY - endY);
-			sizeZ = Math.abs(startZ - endZ);
-			
-			totalBlocks = (sizeX + 1) * (sizeY + 1) * (sizeZ + 1);
-			scanSpeed = MathHelper.clamp(totalBlocks / 30, 1, 16384);
-			iterator = BlockUtils.getAllInBox(start, end).iterator();
-		}
-	}
-	
 	private static class ExcavatorPathFinder extends PathFinder
 	{
 		public ExcavatorPathFinder(BlockPos goal)
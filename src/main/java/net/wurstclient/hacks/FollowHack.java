@@ -117,6 +117,8 @@ public final class FollowHack extends Hack
 		EVENTS.remove(UpdateListener.class, this);
 		EVENTS.remove(RenderListener.class, this);
 		
+		if(pathFinder != null)
+			pathFinder.cancel();
 		pathFinder = null;
 		processor = null;
 		ticksProcessing = 0;
@@ -165,6 +167,7 @@ public final class FollowHack extends Hack
 				return;
 			}
 			
+			pathFinder.cancel();
 			pathFinder = new EntityPathFinder();
 			processor = null;
 			ticksProcessing = 0;
@@ -188,7 +191,10 @@ public final class FollowHack extends Hack
 				PathProcessor.lockControls();
 				WURST.getRotationFaker()
 					.faceVectorClient(entity.getBoundingBox().getCenter());
-				pathFinder.think();
+				pathFinder.thinkAsync();
+				if(pathFinder.isThinking())
+					return;
+				
 				pathFinder.formatPath();
 				processor = pathFinder.getProcessor();
 			}
@@ -252,9 +258,15 @@ public final class FollowHack extends Hack
 	
 	private class EntityPathFinder extends PathFinder
 	{
+		// copied because checkDone() runs on a background thread
+		private final Vec3d entityPos;
+		private final double distanceSq;
+		
 		public EntityPathFinder()
 		{
 			super(BlockPos.ofFloored(entity.getPos()));
+			entityPos = entity.getPos();
+			distanceSq = Math.pow(distance.getValue(), 2);
 			setThinkTime(1);
 		}
 		
@@ -262,8 +274,7 @@ public final class FollowHack extends Hack
 		protected boolean checkDone()
 		{
 			Vec3d center = Vec3d.ofCenter(current);
-			double distanceSq = Math.pow(distance.getValue(), 2);
-			return done = entity.squaredDistanceTo(center) <= distanceSq;
+			return done = entityPos.squaredDistanceTo(center) <= distanceSq;
 		}
 		
 		@Override
@@ -43,7 +43,7 @@ public final class InstaBuildHack extends Hack
 {
 	private final FileSetting templateSetting = new FileSetting("Template",
 		"Determines what to build.\n\n"
-			+ "Templates are just JSON files. Feel free to add your own or to edit / delete the default templates.\n\n"
+			+ "Templates are JSON files or compact binary .wtpl files. Feel free to add your own or to edit / delete the default templates.\n\n"
 			+ "If you mess up, simply press the 'Reset to Defaults' button or delete the folder.",
 		"autobuild", path -> {});
 	
@@ -151,14 +151,8 @@ public final class KillauraHack extends Hack
 		if(pauseOnContainers.shouldPause())
 			return;
 		
-		Stream<Entity> stream = EntityUtils.getAttackableEntities();
-		double rangeSq = range.getValueSq();
-		stream = stream.filter(e -> MC.player.squaredDistanceTo(e) <= rangeSq);
-		
-		if(fov.getValue() < 360.0)
-			stream = stream.filter(e -> RotationUtils.getAngleToLookVec(
-				e.getBoundingBox().getCenter()) <= fov.getValue() / 2.0);
-		
+		Stream<Entity> stream = EntityUtils
+			.getAttackableEntities(range.getValue(), fov.getValue());
 		stream = entityFilters.applyTo(stream);
 		
 		target = stream.min(priority.getSelected().comparator).orElse(null);
@@ -20,7 +20,6 @@ import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.SpawnRestriction;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.LightType;
 import net.wurstclient.Category;
 import net.wurstclient.SearchTags;
@@ -126,9 +125,9 @@ public final class MobSpawnEspHack extends Hack
 		RenderLayer.MultiPhase layer =
 			WurstRenderLayers.getLines(depthTest.isChecked());
 		
-		for(Entry<ChunkPos, EasyVertexBuffer> entry : coordinator.getBuffers())
+		for(Entry<RegionPos, EasyVertexBuffer> entry : coordinator.getBuffers())
 		{
-			RegionPos region = RegionPos.of(entry.getKey());
+			RegionPos region = entry.getKey();
 			
 			matrixStack.push();
 			RenderUtils.applyRegionalRenderOffset(matrixStack, region);
@@ -97,14 +97,8 @@ public final class MultiAuraHack extends Hack implements UpdateListener
 			return;
 		
 		// get entities
-		Stream<Entity> stream = EntityUtils.getAttackableEntities();
-		double rangeSq = Math.pow(range.getValue(), 2);
-		stream = stream.filter(e -> MC.player.squaredDistanceTo(e) <= rangeSq);
-		
-		if(fov.getValue() < 360.0)
-			stream = stream.filter(e -> RotationUtils.getAngleToLookVec(
-				e.getBoundingBox().getCenter()) <= fov.getValue() / 2.0);
-		
+		Stream<Entity> stream = EntityUtils
+			.getAttackableEntities(range.getValue(), fov.getValue());
 		stream = entityFilters.applyTo(stream);
 		
 		ArrayList<Entity> entities =
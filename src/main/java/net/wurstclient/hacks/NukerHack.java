@@ -8,19 +8,19 @@
 package net.wurstclient.hacks;
 
 import java.util.ArrayList;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.wurstclient.Category;
 import net.wurstclient.events.LeftClickListener;
+import net.wurstclient.events.PacketInputListener;
 import net.wurstclient.events.RenderListener;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
 import net.wurstclient.hacks.nukers.CommonNukerSettings;
+import net.wurstclient.hacks.nukers.NukerTargetFinder;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
 import net.wurstclient.settings.SwingHandSetting;
@@ -28,9 +28,7 @@ import net.wurstclient.settings.SwingHandSetting.SwingHand;
 import net.wurstclient.util.BlockBreaker;
 import net.wurstclient.util.BlockBreaker.BlockBreakingParams;
 import net.wurstclient.util.BlockBreakingCache;
-import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.OverlayRenderer;
-import net.wurstclient.util.RotationUtils;
 
 public final class NukerHack extends Hack
 	implements UpdateListener, RenderListener
@@ -45,6 +43,7 @@ public final class NukerHack extends Hack
 		SwingHandSetting.genericMiningDescription(this), SwingHand.SERVER);
 	
 	private final BlockBreakingCache cache = new BlockBreakingCache();
+	private final NukerTargetFinder targetFinder = new NukerTargetFinder();
 	private final OverlayRenderer overlay = new OverlayRenderer();
 	private BlockPos currentBlock;
 	
@@ -76,6 +75,7 @@ public final class NukerHack extends Hack
 		EVENTS.add(UpdateListener.class, this);
 		EVENTS.add(LeftClickListener.class, commonSettings);
 		EVENTS.add(RenderListener.class, this);
+		EVENTS.add(PacketInputListener.class, targetFinder);
 	}
 	
 	@Override
@@ -84,6 +84,7 @@ public final class NukerHack extends Hack
 		EVENTS.remove(UpdateListener.class, this);
 		EVENTS.remove(LeftClickListener.class, commonSettings);
 		EVENTS.remove(RenderListener.class, this);
+		EVENTS.remove(PacketInputListener.class, targetFinder);
 		
 		if(currentBlock != null)
 		{
@@ -93,6 +94,7 @@ public final class NukerHack extends Hack
 		}
 		
 		cache.reset();
+		targetFinder.reset();
 		overlay.resetProgress();
 		commonSettings.reset();
 	}
@@ -105,20 +107,12 @@ public final class NukerHack extends Hack
 		if(MC.options.attackKey.isPressed() || commonSettings.isIdModeWithAir())
 			return;
 		
-		Vec3d eyesVec = RotationUtils.getEyesPos();
-		BlockPos eyesBlock = BlockPos.ofFloored(eyesVec);
 		double rangeSq = range.getValueSq();
-		int blockRange = range.getValueCeil();
+		boolean sphere = commonSettings.isSphereShape();
 		
-		Stream<BlockBreakingParams> stream = BlockUtils
-			.getAllInBoxStream(eyesBlock, blockRange)
-			.filter(commonSettings::shouldBreakBlock)
-			.map(BlockBreaker::getBlockBreakingParams).filter(Objects::nonNull);
-		
-		if(commonSettings.isSphereShape())
-			stream = stream.filter(params -> params.distanceSq() <= rangeSq);
-		
-		stream = stream.sorted(BlockBreaker.comparingParams());
+		Stream<BlockBreakingParams> stream = targetFinder.getTargets(
+			range.getValueCeil(), commonSettings::shouldBreakBlock,
+			params -> !sphere || params.distanceSq() <= rangeSq);
 		
 		// Break all blocks in creative mode
 		if(MC.player.getAbilities().creativeMode)
@@ -7,8 +7,6 @@
  */
 package net.wurstclient.hacks;
 
-import java.util.Comparator;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import net.minecraft.block.BlockState;
@@ -19,25 +17,23 @@ import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.util.math.Vec3d;
 import net.wurstclient.Category;
 import net.wurstclient.SearchTags;
 import net.wurstclient.events.HandleBlockBreakingListener;
 import net.wurstclient.events.LeftClickListener;
+import net.wurstclient.events.PacketInputListener;
 import net.wurstclient.events.RenderListener;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
 import net.wurstclient.hacks.nukers.CommonNukerSettings;
+import net.wurstclient.hacks.nukers.NukerTargetFinder;
 import net.wurstclient.mixinterface.IKeyBinding;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
 import net.wurstclient.settings.SwingHandSetting;
 import net.wurstclient.settings.SwingHandSetting.SwingHand;
-import net.wurstclient.util.BlockBreaker;
 import net.wurstclient.util.BlockBreaker.BlockBreakingParams;
-import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.OverlayRenderer;
-import net.wurstclient.util.RotationUtils;
 
 @SearchTags({"LegitNuker", "nuker legit", "legit nuker"})
 public final class NukerLegitHack extends Hack
@@ -54,6 +50,7 @@ public final class NukerLegitHack extends Hack
 			SwingHandSetting.genericMiningDescription(this), SwingHand.CLIENT);
 	
 	private final OverlayRenderer overlay = new OverlayRenderer();
+	private final NukerTargetFinder targetFinder = new NukerTargetFinder();
 	private BlockPos currentBlock;
 	
 	public NukerLegitHack()
@@ -85,6 +82,7 @@ public final class NukerLegitHack extends Hack
 		EVENTS.add(LeftClickListener.class, commonSettings);
 		EVENTS.add(HandleBlockBreakingListener.class, this);
 		EVENTS.add(RenderListener.class, this);
+		EVENTS.add(PacketInputListener.class, targetFinder);
 	}
 	
 	@Override
@@ -94,12 +92,14 @@ public final class NukerLegitHack extends Hack
 		EVENTS.remove(LeftClickListener.class, commonSettings);
 		EVENTS.remove(HandleBlockBreakingListener.class, this);
 		EVENTS.remove(RenderListener.class, this);
+		EVENTS.remove(PacketInputListener.class, targetFinder);
 		
 		// resets
 		IKeyBinding.get(MC.options.attackKey).resetPressedState();
 		MC.interactionManager.cancelBlockBreaking();
 		overlay.resetProgress();
 		currentBlock = null;
+		targetFinder.reset();
 		commonSettings.reset();
 	}
 	
@@ -124,20 +124,13 @@ public final class NukerLegitHack extends Hack
 			return;
 		}
 		
-		Vec3d eyesVec = RotationUtils.getEyesPos();
-		BlockPos eyesBlock = BlockPos.ofFloored(eyesVec);
 		double maxRange = MC.player.getBlockInteractionRange() + 1;
 		double rangeSq = commonSettings.isSphereShape() ? range.getValueSq()
 			: maxRange * maxRange;
-		int blockRange = range.getValueCeil();
-		
-		Stream<BlockBreakingParams> stream = BlockUtils
-			.getAllInBoxStream(eyesBlock, blockRange)
-			.filter(commonSettings::shouldBreakBlock)
-			.map(BlockBreaker::getBlockBreakingParams).filter(Objects::nonNull)
-			.filter(BlockBreakingParams::lineOfSight)
-			.filter(params -> params.distanceSq() <= rangeSq).sorted(
-				Comparator.comparingDouble(BlockBreakingParams::distanceSq));
+		
+		Stream<BlockBreakingParams> stream = targetFinder.getTargets(
+			range.getValueCeil(), commonSettings::shouldBreakBlock,
+			params -> params.lineOfSight() && params.distanceSq() <= rangeSq);
 		
 		// Break the first valid block
 		currentBlock = stream.filter(this::breakBlock)
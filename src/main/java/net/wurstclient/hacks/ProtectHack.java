@@ -160,6 +160,8 @@ public final class ProtectHack extends Hack
 		EVENTS.remove(UpdateListener.class, this);
 		EVENTS.remove(RenderListener.class, this);
 		
+		if(pathFinder != null)
+			pathFinder.cancel();
 		pathFinder = null;
 		processor = null;
 		ticksProcessing = 0;
@@ -195,9 +197,8 @@ public final class ProtectHack extends Hack
 		}
 		
 		// set enemy
-		Stream<Entity> stream = EntityUtils.getAttackableEntities()
-			.filter(e -> MC.player.squaredDistanceTo(e) <= 36)
-			.filter(e -> e != friend);
+		Stream<Entity> stream =
+			EntityUtils.getAttackableEntities(6).filter(e -> e != friend);
 		
 		stream = entityFilters.applyTo(stream);
 		
@@ -230,7 +231,10 @@ public final class ProtectHack extends Hack
 				PathProcessor.lockControls();
 				WURST.getRotationFaker()
 					.faceVectorClient(target.getBoundingBox().getCenter());
-				pathFinder.think();
+				pathFinder.thinkAsync();
+				if(pathFinder.isThinking())
+					return;
+				
 				pathFinder.formatPath();
 				processor = pathFinder.getProcessor();
 			}
@@ -309,13 +313,14 @@ public final class ProtectHack extends Hack
 	
 	private class EntityPathFinder extends PathFinder
 	{
-		private final Entity entity;
+		// copied because checkDone() runs on a background thread
+		private final Vec3d entityPos;
 		private double distanceSq;
 		
 		public EntityPathFinder(Entity entity, double distance)
 		{
 			super(BlockPos.ofFloored(entity.getPos()));
-			this.entity = entity;
+			entityPos = entity.getPos();
 			distanceSq = distance * distance;
 			setThinkTime(1);
 		}
@@ -323,8 +328,8 @@ public final class ProtectHack extends Hack
 		@Override
 		protected boolean checkDone()
 		{
-			return done =
-				entity.squaredDistanceTo(Vec3d.ofCenter(current)) <= distanceSq;
+			return done = entityPos
+				.squaredDistanceTo(Vec3d.ofCenter(current)) <= distanceSq;
 		}
 		
 		@Override
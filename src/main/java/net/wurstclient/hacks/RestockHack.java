@@ -21,10 +21,11 @@ import net.wurstclient.Category;
 import net.wurstclient.SearchTags;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
-import net.wurstclient.mixinterface.IClientPlayerInteractionManager;
 import net.wurstclient.settings.ItemListSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
+import net.wurstclient.util.InventoryScheduler;
+import net.wurstclient.util.InventoryScheduler.Click;
 import net.wurstclient.util.InventoryUtils;
 
 @SearchTags({"AutoRestock", "auto-restock", "auto restock"})
@@ -86,7 +87,7 @@ public final class RestockHack extends Hack implements UpdateListener
 			return;
 		
 		PlayerInventory inv = MC.player.getInventory();
-		IClientPlayerInteractionManager im = IMC.getInteractionManager();
+		InventoryScheduler scheduler = WURST.getInventoryScheduler();
 		
 		int hotbarSlot = restockSlot.getValueI();
 		if(hotbarSlot == -1)
@@ -110,10 +111,11 @@ public final class RestockHack extends Hack implements UpdateListener
 			{
 				int pickupIndex = InventoryUtils.toNetworkSlot(itemIndex);
 				
-				im.windowClick_PICKUP(pickupIndex);
-				im.windowClick_PICKUP(InventoryUtils.toNetworkSlot(hotbarSlot));
-				if(!MC.player.playerScreenHandler.getCursorStack().isEmpty())
-					im.windowClick_PICKUP(pickupIndex);
+				// stop if the scheduler is still busy with the last stack
+				if(!scheduler.submit(this, List.of(Click.pickup(pickupIndex),
+					Click.pickup(InventoryUtils.toNetworkSlot(hotbarSlot)),
+					Click.pickupIfHolding(pickupIndex))))
+					break;
 				
 				if(hotbarStack.getCount() >= hotbarStack.getMaxCount())
 					break;
@@ -136,8 +138,8 @@ public final class RestockHack extends Hack implements UpdateListener
 				ItemStack stack = inv.getStack(i);
 				if(stack.isEmpty() || !stack.isDamageable())
 				{
-					IMC.getInteractionManager().windowClick_SWAP(i,
-						InventoryUtils.toNetworkSlot(hotbarSlot));
+					scheduler.submit(this, List.of(Click.swap(i,
+						InventoryUtils.toNetworkSlot(hotbarSlot))));
 					break;
 				}
 			}
@@ -36,6 +36,7 @@ public final class TemplateToolHack extends Hack
 		new LinkedHashMap<>();
 	private final LinkedHashSet<BlockPos> sortedBlocks = new LinkedHashSet<>();
 	private boolean blockTypesEnabled;
+	private boolean compactFormat;
 	private File file;
 	
 	public TemplateToolHack()
@@ -73,6 +74,7 @@ public final class TemplateToolHack extends Hack
 		nonEmptyBlocks.clear();
 		sortedBlocks.clear();
 		blockTypesEnabled = false;
+		compactFormat = false;
 		file = null;
 	}
 	
@@ -177,6 +179,16 @@ public final class TemplateToolHack extends Hack
 		this.blockTypesEnabled = blockTypesEnabled;
 	}
 	
+	public boolean isCompactFormat()
+	{
+		return compactFormat;
+	}
+	
+	public void setCompactFormat(boolean compactFormat)
+	{
+		this.compactFormat = compactFormat;
+	}
+	
 	public File getFile()
 	{
 		return file;
@@ -109,10 +109,8 @@ public final class TpAuraHack extends Hack implements UpdateListener
 		ClientPlayerEntity player = MC.player;
 		
 		// set entity
-		Stream<Entity> stream = EntityUtils.getAttackableEntities();
-		double rangeSq = Math.pow(range.getValue(), 2);
-		stream = stream.filter(e -> MC.player.squaredDistanceTo(e) <= rangeSq);
-		
+		Stream<Entity> stream =
+			EntityUtils.getAttackableEntities(range.getValue());
 		stream = entityFilters.applyTo(stream);
 		
 		Entity entity =
@@ -11,7 +11,6 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import net.minecraft.block.Block;
@@ -22,13 +21,14 @@ import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
-import net.minecraft.util.math.Vec3d;
 import net.wurstclient.Category;
 import net.wurstclient.events.LeftClickListener;
+import net.wurstclient.events.PacketInputListener;
 import net.wurstclient.events.RenderListener;
 import net.wurstclient.events.UpdateListener;
 import net.wurstclient.hack.Hack;
 import net.wurstclient.hacks.nukers.NukerMultiIdListSetting;
+import net.wurstclient.hacks.nukers.NukerTargetFinder;
 import net.wurstclient.settings.CheckboxSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
@@ -40,7 +40,6 @@ import net.wurstclient.util.BlockBreakingCache;
 import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.OverlayRenderer;
 import net.wurstclient.util.RenderUtils;
-import net.wurstclient.util.RotationUtils;
 
 public final class VeinMinerHack extends Hack
 	implements UpdateListener, LeftClickListener, RenderListener
@@ -61,6 +60,7 @@ public final class VeinMinerHack extends Hack
 		SwingHandSetting.genericMiningDescription(this), SwingHand.SERVER);
 	
 	private final BlockBreakingCache cache = new BlockBreakingCache();
+	private final NukerTargetFinder targetFinder = new NukerTargetFinder();
 	private final OverlayRenderer overlay = new OverlayRenderer();
 	private final HashSet<BlockPos> currentVein = new HashSet<>();
 	private BlockPos currentBlock;
@@ -99,6 +99,7 @@ public final class VeinMinerHack extends Hack
 		EVENTS.add(UpdateListener.class, this);
 		EVENTS.add(LeftClickListener.class, this);
 		EVENTS.add(RenderListener.class, this);
+		EVENTS.add(PacketInputListener.class, targetFinder);
 	}
 	
 	@Override
@@ -107,6 +108,7 @@ public final class VeinMinerHack extends Hack
 		EVENTS.remove(UpdateListener.class, this);
 		EVENTS.remove(LeftClickListener.class, this);
 		EVENTS.remove(RenderListener.class, this);
+		EVENTS.remove(PacketInputListener.class, targetFinder);
 		
 		currentVein.clear();
 		if(currentBlock != null)
@@ -117,6 +119,7 @@ public final class VeinMinerHack extends Hack
 		}
 		
 		cache.reset();
+		targetFinder.reset();
 		overlay.resetProgress();
 	}
 	
@@ -129,21 +132,13 @@ public final class VeinMinerHack extends Hack
 		if(MC.options.attackKey.isPressed())
 			return;
 		
-		Vec3d eyesVec = RotationUtils.getEyesPos();
-		BlockPos eyesBlock = BlockPos.ofFloored(eyesVec);
 		double rangeSq = range.getValueSq();
-		int blockRange = range.getValueCeil();
+		boolean requireLOS = checkLOS.isChecked();
 		
-		Stream<BlockBreakingParams> stream = BlockUtils
-			.getAllInBoxStream(eyesBlock, blockRange)
-			.filter(this::shouldBreakBlock)
-			.map(BlockBreaker::getBlockBreakingParams).filter(Objects::nonNull)
-			.filter(params -> params.distanceSq() <= rangeSq);
-		
-		if(checkLOS.isChecked())
-			stream = stream.filter(BlockBreakingParams::lineOfSight);
-		
-		stream = stream.sorted(BlockBreaker.comparingParams());
+		Stream<BlockBreakingParams> stream = targetFinder.getTargets(
+			range.getValueCeil(), this::shouldBreakBlock,
+			params -> params.distanceSq() <= rangeSq
+				&& (!requireLOS || params.lineOfSight()));
 		
 		// Break all blocks in creative mode
 		if(MC.player.getAbilities().creativeMode)
@@ -7,8 +7,6 @@
  */
 package net.wurstclient.hacks;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -33,6 +31,7 @@ import net.wurstclient.settings.BlockListSetting;
 import net.wurstclient.settings.CheckboxSetting;
 import net.wurstclient.settings.SliderSetting;
 import net.wurstclient.settings.SliderSetting.ValueDisplay;
+import net.wurstclient.util.BlockMatcher;
 import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.ChatUtils;
 
@@ -93,7 +92,7 @@ public final class XRayHack extends Hack implements UpdateListener,
 	private final String renderName =
 		Math.random() < 0.01 ? "X-Wurst" : getName();
 	
-	private ArrayList<String> oreNamesCache;
+	private BlockMatcher oreMatcher = BlockMatcher.NONE;
 	private final ThreadLocal<BlockPos.Mutable> mutablePosForExposedCheck =
 		ThreadLocal.withInitial(BlockPos.Mutable::new);
 	
@@ -116,8 +115,8 @@ public final class XRayHack extends Hack implements UpdateListener,
 	@Override
 	protected void onEnable()
 	{
-		// cache block names in case the setting changes while X-Ray is enabled
-		oreNamesCache = new ArrayList<>(ores.getBlockNames());
+		// cache the matcher in case the setting changes while X-Ray is enabled
+		oreMatcher = ores.getMatcher();
 		
 		// add event listeners
 		EVENTS.add(UpdateListener.class, this);
@@ -195,9 +194,7 @@ public final class XRayHack extends Hack implements UpdateListener,
 	
 	public boolean isVisible(Block block, BlockPos pos)
 	{
-		String name = BlockUtils.getName(block);
-		int index = Collections.binarySearch(oreNamesCache, name);
-		boolean visible = index >= 0;
+		boolean visible = oreMatcher.matches(block);
 		
 		if(visible && onlyExposed.isChecked() && pos != null)
 			return isExposed(pos);
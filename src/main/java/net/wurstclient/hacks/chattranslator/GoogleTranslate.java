@@ -7,22 +7,36 @@
  */
 package net.wurstclient.hacks.chattranslator;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
-import java.net.MalformedURLException;
 import java.net.URI;
-import java.net.URL;
-import java.net.URLConnection;
 import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public enum GoogleTranslate
+/**
+ * Translates text using the mobile version of Google Translate. All requests
+ * share one {@link HttpClient}, so that connections can be reused.
+ */
+public final class GoogleTranslate implements TranslationQueue.Translator
 {
-	;
+	public static final URI DEFAULT_ENDPOINT =
+		URI.create("https://translate.google.com/m");
+	
+	private static final HttpClient HTTP_CLIENT =
+		HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5))
+			.followRedirects(HttpClient.Redirect.NORMAL).build();
+	
+	private static final String USER_AGENT =
+		"Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11";
+	
+	private static final Pattern RESULT_PATTERN = Pattern.compile(
+		"class=\"result-container\">([^<]*)<\\/div>", Pattern.MULTILINE);
 	
 	private static final HashMap<Character, String> simplifyMap;
 	static
@@ -56,81 +70,78 @@ public enum GoogleTranslate
 		simplifyMap.put('ç', "c");
 	}
 	
-	public static String translate(String text, String langFrom, String langTo)
+	private final URI endpoint;
+	
+	public GoogleTranslate()
+	{
+		this(DEFAULT_ENDPOINT);
+	}
+	
+	/**
+	 * Sends requests to the given endpoint instead of Google Translate. Used
+	 * to test against a local server.
+	 */
+	public GoogleTranslate(URI endpoint)
+	{
+		this.endpoint = endpoint;
+	}
+	
+	/**
+	 * Returns the translated text, or null if Google Translate couldn't
+	 * translate it or just returned the original text.
+	 *
+	 * @throws IOException
+	 *             if the request failed
+	 */
+	@Override
+	public String translate(String text, String langFrom, String langTo)
+		throws IOException
 	{
 		String html = getHTML(text, langFrom, langTo);
 		String translated = parseHTML(html);
 		
 		// Return null if Google Translate just returned the original text,
 		// ignoring capitalization changes, whitespace, and broken characters
-		if(simplify(text).equals(simplify(translated)))
+		if(translated == null || simplify(text).equals(simplify(translated)))
 			return null;
 		
 		return translated;
 	}
 	
-	private static String getHTML(String text, String langFrom, String langTo)
+	private String getHTML(String text, String langFrom, String langTo)
+		throws IOException
 	{
-		URL url = createURL(text, langFrom, langTo);
+		String encodedText =
+			URLEncoder.encode(text.trim(), StandardCharsets.UTF_8);
+		URI uri = URI.create(endpoint + String.format(
+			"?hl=en&sl=%s&tl=%s&ie=UTF-8&prev=_m&q=%s", langFrom, langTo,
+			encodedText));
+		
+		HttpRequest request = HttpRequest.newBuilder(uri)
+			.header("User-Agent", USER_AGENT).timeout(Duration.ofSeconds(10))
+			.GET().build();
 		
 		try
 		{
-			URLConnection connection = setupConnection(url);
-			
-			try(BufferedReader br = new BufferedReader(
-				new InputStreamReader(connection.getInputStream(), "UTF-8")))
-			{
-				StringBuilder html = new StringBuilder();
-				
-				String line;
-				while((line = br.readLine()) != null)
-					html.append(line + "\n");
-				
-				return html.toString();
-			}
-			
-		}catch(IOException e)
-		{
-			return null;
-		}
-	}
-	
-	private static URL createURL(String text, String langFrom, String langTo)
-	{
-		try
-		{
-			String encodedText = URLEncoder.encode(text.trim(), "UTF-8");
+			HttpResponse<String> response = HTTP_CLIENT.send(request,
+				HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
 			
-			String urlString = String.format(
-				"https://translate.google.com/m?hl=en&sl=%s&tl=%s&ie=UTF-8&prev=_m&q=%s",
-				langFrom, langTo, encodedText);
+			if(response.statusCode() != 200)
+				throw new IOException("HTTP " + response.statusCode());
 			
-			return URI.create(urlString).toURL();
+			return response.body();
 			
-		}catch(MalformedURLException | UnsupportedEncodingException e)
+		}catch(InterruptedException e)
 		{
-			throw new RuntimeException(e);
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
 		}
 	}
 	
-	private static URLConnection setupConnection(URL url) throws IOException
-	{
-		URLConnection connection = url.openConnection();
-		
-		connection.setConnectTimeout(5000);
-		connection.setRequestProperty("User-Agent",
-			"Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11");
-		
-		return connection;
-	}
-	
 	@SuppressWarnings("deprecation")
 	private static String parseHTML(String html)
 	{
-		String regex = "class=\"result-container\">([^<]*)<\\/div>";
-		Pattern pattern = Pattern.compile(regex, Pattern.MULTILINE);
-		
-		Matcher matcher = pattern.matcher(html);
+		Matcher matcher = RESULT_PATTERN.matcher(html);
 		if(!matcher.find())
 			return null;
 		
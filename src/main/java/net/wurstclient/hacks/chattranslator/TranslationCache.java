@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.hacks.chattranslator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the most recently used translations, so that repeated messages
+ * like server broadcasts and join messages are only translated once. The
+ * least recently used entry is dropped when the cache is full.
+ *
+ * <p>
+ * Messages that didn't need translating are cached too, so that they aren't
+ * sent to Google Translate again either.
+ */
+public final class TranslationCache
+{
+	private static final String NO_TRANSLATION = "";
+	
+	private final LinkedHashMap<Key, String> entries;
+	
+	public TranslationCache(int maxSize)
+	{
+		entries = new LinkedHashMap<>(16, 0.75F, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, String> eldest)
+			{
+				return size() > maxSize;
+			}
+		};
+	}
+	
+	public synchronized boolean contains(Key key)
+	{
+		return entries.containsKey(key);
+	}
+	
+	/**
+	 * Returns the cached translation, or null if there is none or if the
+	 * text didn't need translating.
+	 */
+	public synchronized String get(Key key)
+	{
+		String translation = entries.get(key);
+		return NO_TRANSLATION.equals(translation) ? null : translation;
+	}
+	
+	/**
+	 * @param translation
+	 *            The translated text, or null if the text didn't need
+	 *            translating.
+	 */
+	public synchronized void put(Key key, String translation)
+	{
+		entries.put(key, translation == null ? NO_TRANSLATION : translation);
+	}
+	
+	/**
+	 * Returns a copy of all entries, least recently used first. Texts that
+	 * didn't need translating have an empty translation.
+	 */
+	public synchronized ArrayList<Map.Entry<Key, String>> getEntries()
+	{
+		return new ArrayList<>(entries.entrySet().stream()
+			.map(e -> Map.entry(e.getKey(), e.getValue())).toList());
+	}
+	
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+	
+	public synchronized void clear()
+	{
+		entries.clear();
+	}
+	
+	public record Key(String langFrom, String langTo, String text)
+	{}
+}
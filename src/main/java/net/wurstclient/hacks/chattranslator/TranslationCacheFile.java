@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.hacks.chattranslator;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import net.wurstclient.hacks.chattranslator.TranslationCache.Key;
+import net.wurstclient.util.json.DebouncedJsonFile;
+import net.wurstclient.util.json.JsonException;
+import net.wurstclient.util.json.JsonUtils;
+import net.wurstclient.util.json.WsonArray;
+import net.wurstclient.util.json.WsonObject;
+
+/**
+ * Keeps a {@link TranslationCache} on disk, so that it survives restarts.
+ */
+public final class TranslationCacheFile
+{
+	private final Path path;
+	private final DebouncedJsonFile saver;
+	
+	public TranslationCacheFile(Path path)
+	{
+		this.path = path;
+		saver = new DebouncedJsonFile(path);
+	}
+	
+	public void load(TranslationCache cache)
+	{
+		try
+		{
+			WsonArray wson = JsonUtils.parseFileToArray(path);
+			for(WsonObject entry : wson.getAllObjects())
+			{
+				Key key = new Key(entry.getString("from"),
+					entry.getString("to"), entry.getString("text"));
+				cache.put(key, entry.getString("translation"));
+			}
+			
+		}catch(NoSuchFileException e)
+		{
+			// The file doesn't exist yet. No problem, we'll create it later.
+			
+		}catch(IOException | JsonException e)
+		{
+			System.out.println("Couldn't load " + path.getFileName());
+			e.printStackTrace();
+		}
+	}
+	
+	public void save(TranslationCache cache)
+	{
+		saver.save(() -> createJson(cache));
+	}
+	
+	private JsonArray createJson(TranslationCache cache)
+	{
+		JsonArray json = new JsonArray();
+		for(Map.Entry<Key, String> entry : cache.getEntries())
+		{
+			Key key = entry.getKey();
+			JsonObject jsonEntry = new JsonObject();
+			jsonEntry.addProperty("from", key.langFrom());
+			jsonEntry.addProperty("to", key.langTo());
+			jsonEntry.addProperty("text", key.text());
+			jsonEntry.addProperty("translation", entry.getValue());
+			json.add(jsonEntry);
+		}
+		
+		return json;
+	}
+}
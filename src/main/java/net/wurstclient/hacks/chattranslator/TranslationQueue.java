@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.hacks.chattranslator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import net.wurstclient.hacks.chattranslator.TranslationCache.Key;
+
+/**
+ * Translates texts in the background, with one queue per language pair.
+ *
+ * <ul>
+ * <li>Cached texts are answered right away, without a request.</li>
+ * <li>Requesting a text that is already queued or being translated returns
+ * the same future instead of sending a second request.</li>
+ * <li>Each language pair is worked off by at most
+ * {@link #WORKERS_PER_PAIR} threads, and at most {@link #MAX_REQUESTS}
+ * requests are sent at the same time in total.</li>
+ * <li>If a language pair falls more than {@link #MAX_QUEUED} texts behind,
+ * new texts are skipped, since their translations would arrive too late to
+ * be useful anyway.</li>
+ * </ul>
+ */
+public final class TranslationQueue
+{
+	public static final int MAX_REQUESTS = 4;
+	public static final int WORKERS_PER_PAIR = 2;
+	public static final int MAX_QUEUED = 32;
+	
+	private final Translator translator;
+	private final TranslationCache cache;
+	private final Semaphore requests = new Semaphore(MAX_REQUESTS);
+	
+	private final HashMap<Key, CompletableFuture<String>> inFlight =
+		new HashMap<>();
+	private final HashMap<LanguagePair, PairQueue> queues = new HashMap<>();
+	
+	public TranslationQueue(Translator translator, TranslationCache cache)
+	{
+		this.translator = translator;
+		this.cache = cache;
+	}
+	
+	/**
+	 * Returns a future that completes with the translated text, or with null
+	 * if the text didn't need translating, couldn't be translated, or was
+	 * skipped because the queue is full. The future may complete on any
+	 * thread, including the calling one.
+	 */
+	public synchronized CompletableFuture<String> translate(String text,
+		String langFrom, String langTo)
+	{
+		Key key = new Key(langFrom, langTo, text);
+		if(cache.contains(key))
+			return CompletableFuture.completedFuture(cache.get(key));
+		
+		CompletableFuture<String> future = inFlight.get(key);
+		if(future != null)
+			return future;
+		
+		LanguagePair pair = new LanguagePair(langFrom, langTo);
+		PairQueue queue = queues.computeIfAbsent(pair, p -> new PairQueue());
+		if(queue.pending.size() >= MAX_QUEUED)
+			return CompletableFuture.completedFuture(null);
+		
+		future = new CompletableFuture<>();
+		inFlight.put(key, future);
+		queue.pending.add(key);
+		
+		if(queue.workers < WORKERS_PER_PAIR)
+		{
+			queue.workers++;
+			Thread.ofVirtual().name("ChatTranslator")
+				.uncaughtExceptionHandler((t, e) -> e.printStackTrace())
+				.start(() -> work(pair, queue));
+		}
+		
+		return future;
+	}
+	
+	private void work(LanguagePair pair, PairQueue queue)
+	{
+		while(true)
+		{
+			Key key;
+			synchronized(this)
+			{
+				key = queue.pending.poll();
+				if(key == null)
+				{
+					queue.workers--;
+					if(queue.workers == 0)
+						queues.remove(pair);
+					
+					return;
+				}
+			}
+			
+			String translated = null;
+			boolean failed = true;
+			requests.acquireUninterruptibly();
+			try
+			{
+				translated = translator.translate(key.text(), key.langFrom(),
+					key.langTo());
+				failed = false;
+				
+			}catch(IOException e)
+			{
+				// not cached, so that the next occurrence tries again
+				
+			}catch(RuntimeException e)
+			{
+				// e.g. an unexpected response, also not cached
+				e.printStackTrace();
+				
+			}finally
+			{
+				requests.release();
+				complete(key, translated, failed);
+			}
+		}
+	}
+	
+	private void complete(Key key, String translated, boolean failed)
+	{
+		CompletableFuture<String> future;
+		synchronized(this)
+		{
+			if(!failed)
+				cache.put(key, translated);
+			
+			future = inFlight.remove(key);
+		}
+		
+		future.complete(translated);
+	}
+	
+	@FunctionalInterface
+	public interface Translator
+	{
+		/**
+		 * Returns the translated text, or null if it didn't need
+		 * translating.
+		 *
+		 * @throws IOException
+		 *             if the translation service couldn't be reached
+		 */
+		public String translate(String text, String langFrom, String langTo)
+			throws IOException;
+	}
+	
+	private record LanguagePair(String langFrom, String langTo)
+	{}
+	
+	private static final class PairQueue
+	{
+		private final ArrayDeque<Key> pending = new ArrayDeque<>();
+		private int workers;
+	}
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.hacks.excavator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import net.wurstclient.WurstClient;
+import net.wurstclient.util.BlockUtils;
+
+/**
+ * The area that Excavator is digging out, processed one layer of chunk
+ * sections at a time, from the top down.
+ *
+ * <p>
+ * Each layer is scanned lazily, section by section, and sections that only
+ * contain air are skipped without looking at their blocks. The blocks that
+ * still need to be broken are stored as one {@link BitSet} per section, and
+ * only for the current layer, so memory use doesn't depend on how tall the
+ * area is and is tiny compared to one object per block.
+ */
+public final class ExcavatorArea
+{
+	private final int minX, minY, minZ;
+	private final int maxX, maxY, maxZ;
+	
+	private final int minSectionX, minSectionZ;
+	private final int sectionsX, sectionsZ;
+	private final int topLayer, bottomLayer;
+	private final int scanSpeed;
+	
+	private int layer;
+	private int nextSection;
+	private final HashMap<Long, BitSet> targets = new HashMap<>();
+	private int layerTargets;
+	private int remainingBlocks;
+	private final ArrayList<BlockPos> recentlyScanned = new ArrayList<>();
+	
+	public ExcavatorArea(BlockPos start, BlockPos end)
+	{
+		minX = Math.min(start.getX(), end.getX());
+		minY = Math.min(start.getY(), end.getY());
+		minZ = Math.min(start.getZ(), end.getZ());
+		maxX = Math.max(start.getX(), end.getX());
+		maxY = Math.max(start.getY(), end.getY());
+		maxZ = Math.max(start.getZ(), end.getZ());
+		
+		minSectionX = minX >> 4;
+		minSectionZ = minZ >> 4;
+		sectionsX = (maxX >> 4) - minSectionX + 1;
+		sectionsZ = (maxZ >> 4) - minSectionZ + 1;
+		topLayer = maxY >> 4;
+		bottomLayer = minY >> 4;
+		
+		int layerHeight = Math.min(maxY - minY + 1, 16);
+		int blocksPerLayer =
+			(maxX - minX + 1) * layerHeight * (maxZ - minZ + 1);
+		scanSpeed = MathHelper.clamp(blocksPerLayer / 30, 1, 16384);
+		
+		layer = topLayer;
+	}
+	
+	/**
+	 * Scans the next few sections of the current layer for blocks that need
+	 * to be broken.
+	 */
+	public void scan()
+	{
+		recentlyScanned.clear();
+		ClientWorld world = WurstClient.MC.world;
+		
+		int scannedBlocks = 0;
+		while(scannedBlocks < scanSpeed && isScanning())
+		{
+			int sectionX = minSectionX + nextSection / sectionsZ;
+			int sectionZ = minSectionZ + nextSection % sectionsZ;
+			nextSection++;
+			
+			scannedBlocks += scanSection(world, sectionX, sectionZ);
+		}
+	}
+	
+	private int scanSection(ClientWorld world, int sectionX, int sectionZ)
+	{
+		// sections in unloaded chunks and sections with only air are skipped
+		if(!world.isChunkLoaded(sectionX, sectionZ))
+			return 1;
+		
+		WorldChunk chunk = world.getChunk(sectionX, sectionZ);
+		int sectionIndex = chunk.sectionCoordToIndex(layer);
+		ChunkSection[] sections = chunk.getSectionArray();
+		if(sectionIndex < 0 || sectionIndex >= sections.length
+			|| sections[sectionIndex].isEmpty())
+			return 1;
+		
+		int x1 = Math.max(minX, sectionX << 4);
+		int x2 = Math.min(maxX, (sectionX << 4) + 15);
+		int y1 = Math.max(minY, layer << 4);
+		int y2 = Math.min(maxY, (layer << 4) + 15);
+		int z1 = Math.max(minZ, sectionZ << 4);
+		int z2 = Math.min(maxZ, (sectionZ << 4) + 15);
+		
+		BitSet bits = null;
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		for(int x = x1; x <= x2; x++)
+			for(int y = y1; y <= y2; y++)
+				for(int z = z1; z <= z2; z++)
+				{
+					if(!BlockUtils.canBeClicked(pos.set(x, y, z)))
+						continue;
+					
+					if(bits == null)
+						bits = new BitSet(4096);
+					
+					bits.set(getIndex(x, y, z));
+					layerTargets++;
+					remainingBlocks++;
+					recentlyScanned.add(pos.toImmutable());
+				}
+		
+		if(bits != null)
+			targets.put(ChunkSectionPos.asLong(sectionX, layer, sectionZ),
+				bits);
+		
+		return (x2 - x1 + 1) * (y2 - y1 + 1) * (z2 - z1 + 1);
+	}
+	
+	public boolean isScanning()
+	{
+		return nextSection < sectionsX * sectionsZ;
+	}
+	
+	/**
+	 * Moves on to the next layer down, which then needs to be scanned.
+	 * Returns false if this was the bottom layer.
+	 */
+	public boolean nextLayer()
+	{
+		if(layer <= bottomLayer)
+			return false;
+		
+		layer--;
+		nextSection = 0;
+		targets.clear();
+		layerTargets = 0;
+		remainingBlocks = 0;
+		recentlyScanned.clear();
+		return true;
+	}
+	
+	public boolean isTarget(BlockPos pos)
+	{
+		BitSet bits = targets.get(ChunkSectionPos.toLong(pos));
+		return bits != null
+			&& bits.get(getIndex(pos.getX(), pos.getY(), pos.getZ()));
+	}
+	
+	/**
+	 * Removes the targets within the given box that are no longer breakable.
+	 * Cheap enough to call every tick for the blocks around the player.
+	 */
+	public void removeBrokenTargets(BlockPos min, BlockPos max,
+		Predicate<BlockPos> breakable)
+	{
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		for(int x = min.getX(); x <= max.getX(); x++)
+			for(int y = min.getY(); y <= max.getY(); y++)
+				for(int z = min.getZ(); z <= max.getZ(); z++)
+					if(isTarget(pos.set(x, y, z)) && !breakable.test(pos))
+						removeTarget(pos);
+	}
+	
+	/**
+	 * Returns the first target according to the given comparator, after
+	 * removing all targets in the current layer that are no longer
+	 * breakable. Returns null if no targets are left in this layer.
+	 */
+	public BlockPos findTarget(Comparator<BlockPos> comparator,
+		Predicate<BlockPos> breakable)
+	{
+		BlockPos best = null;
+		
+		Iterator<Map.Entry<Long, BitSet>> iterator =
+			targets.entrySet().iterator();
+		while(iterator.hasNext())
+		{
+			Map.Entry<Long, BitSet> entry = iterator.next();
+			long section = entry.getKey();
+			int baseX = ChunkSectionPos.unpackX(section) << 4;
+			int baseY = ChunkSectionPos.unpackY(section) << 4;
+			int baseZ = ChunkSectionPos.unpackZ(section) << 4;
+			BitSet bits = entry.getValue();
+			
+			for(int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+			{
+				BlockPos pos = new BlockPos(baseX + (i & 15), baseY + (i >> 8),
+					baseZ + (i >> 4 & 15));
+				
+				if(!breakable.test(pos))
+				{
+					bits.clear(i);
+					remainingBlocks--;
+					continue;
+				}
+				
+				if(best == null || comparator.compare(pos, best) < 0)
+					best = pos;
+			}
+			
+			if(bits.isEmpty())
+				iterator.remove();
+		}
+		
+		return best;
+	}
+	
+	private void removeTarget(BlockPos pos)
+	{
+		long section = ChunkSectionPos.toLong(pos);
+		BitSet bits = targets.get(section);
+		bits.clear(getIndex(pos.getX(), pos.getY(), pos.getZ()));
+		remainingBlocks--;
+		
+		if(bits.isEmpty())
+			targets.remove(section);
+	}
+	
+	private static int getIndex(int x, int y, int z)
+	{
+		return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+	}
+	
+	public int getRemainingBlocks()
+	{
+		return remainingBlocks;
+	}
+	
+	/**
+	 * Returns how much of the area has been excavated, from 0 to 1. Each
+	 * layer counts the same, since the layers below haven't been scanned
+	 * yet.
+	 */
+	public double getProgress()
+	{
+		int layers = topLayer - bottomLayer + 1;
+		double layerProgress = isScanning() || layerTargets == 0 ? 0
+			: (layerTargets - remainingBlocks) / (double)layerTargets;
+		
+		return (topLayer - layer + layerProgress) / layers;
+	}
+	
+	/**
+	 * Returns how much of the current layer has been scanned, from 0 to 1.
+	 */
+	public float getScanProgress()
+	{
+		return nextSection / (float)(sectionsX * sectionsZ);
+	}
+	
+	public List<BlockPos> getRecentlyScanned()
+	{
+		return recentlyScanned;
+	}
+	
+	public Box getBox()
+	{
+		return new Box(minX, minY, minZ, maxX, maxY, maxZ);
+	}
+}
@@ -90,7 +90,7 @@ public final class CommonNukerSettings implements LeftClickListener
 			return true;
 			
 			case ID:
-			return BlockUtils.getName(pos).equals(id.getBlockName());
+			return id.getMatcher().matches(BlockUtils.getState(pos));
 			
 			case MULTI_ID:
 			return multiIdList.contains(BlockUtils.getBlock(pos));
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.hacks.nukers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.UnloadChunkS2CPacket;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.wurstclient.events.PacketInputListener;
+import net.wurstclient.util.BlockBreaker;
+import net.wurstclient.util.BlockBreaker.BlockBreakingParams;
+import net.wurstclient.util.BlockUtils;
+import net.wurstclient.util.RotationUtils;
+
+/**
+ * Finds the blocks that the nuker hacks should break, in the same order as
+ * sorting them with {@link BlockBreaker#comparingParams()}, but without
+ * raytracing every block in range first.
+ *
+ * <p>
+ * Blocks are checked from nearest to furthest and a block is returned as
+ * soon as no block further away could possibly be closer to the player's
+ * eyes, so taking only the first block usually just raytraces a handful of
+ * blocks. The {@link BlockBreakingParams} of each block are kept across ticks
+ * until the player's eyes move, a block update packet arrives, or one of the
+ * cached blocks changes.
+ *
+ * <p>
+ * Must be registered as a {@link PacketInputListener} while in use.
+ */
+public final class NukerTargetFinder implements PacketInputListener
+{
+	// How much closer than its center a block's closest side can be,
+	// including blocks whose outline shape isn't centered in the block.
+	private static final double MAX_SIDE_OFFSET = 2;
+	
+	private final HashMap<BlockPos, CachedParams> cache = new HashMap<>();
+	private Vec3d cachedEyes;
+	private int cachedRange = -1;
+	private int cachedWorldVersion;
+	private volatile int worldVersion;
+	
+	private final ArrayList<Candidate> candidates = new ArrayList<>();
+	
+	/**
+	 * Returns the blocks within {@code blockRange} of the player's eyes that
+	 * match both filters, sorted by line of sight first and then by
+	 * distance. The stream is lazy, so {@code findFirst()} stops looking as
+	 * soon as the first block is certain.
+	 */
+	public Stream<BlockBreakingParams> getTargets(int blockRange,
+		Predicate<BlockPos> posFilter,
+		Predicate<BlockBreakingParams> paramsFilter)
+	{
+		Vec3d eyes = RotationUtils.getEyesPos();
+		updateCache(eyes, blockRange);
+		
+		Iterator<BlockBreakingParams> iterator =
+			new TargetIterator(posFilter, paramsFilter);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+			iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+	
+	private void updateCache(Vec3d eyes, int blockRange)
+	{
+		int version = worldVersion;
+		if(eyes.equals(cachedEyes) && blockRange == cachedRange
+			&& version == cachedWorldVersion)
+			return;
+		
+		cache.clear();
+		cachedWorldVersion = version;
+		
+		if(eyes.equals(cachedEyes) && blockRange == cachedRange)
+			return;
+		
+		cachedEyes = eyes;
+		cachedRange = blockRange;
+		
+		candidates.clear();
+		BlockPos eyesBlock = BlockPos.ofFloored(eyes);
+		for(BlockPos pos : BlockUtils.getAllInBox(eyesBlock, blockRange))
+			candidates.add(new Candidate(pos,
+				Math.sqrt(eyes.squaredDistanceTo(Vec3d.ofCenter(pos)))));
+		
+		candidates.sort(Comparator.comparingDouble(Candidate::distance));
+	}
+	
+	private BlockBreakingParams getParams(BlockPos pos)
+	{
+		BlockState state = BlockUtils.getState(pos);
+		CachedParams cached = cache.get(pos);
+		if(cached != null)
+		{
+			if(cached.state() == state)
+				return cached.params();
+				
+			// this block changed, which can also change the line of sight
+			// to other blocks
+			cache.clear();
+		}
+		
+		BlockBreakingParams params =
+			BlockBreaker.getBlockBreakingParams(cachedEyes, pos);
+		cache.put(pos, new CachedParams(state, params));
+		return params;
+	}
+	
+	@Override
+	public void onReceivedPacket(PacketInputEvent event)
+	{
+		Packet<?> packet = event.getPacket();
+		if(packet instanceof BlockUpdateS2CPacket
+			|| packet instanceof ChunkDeltaUpdateS2CPacket
+			|| packet instanceof ChunkDataS2CPacket
+			|| packet instanceof UnloadChunkS2CPacket)
+			worldVersion++;
+	}
+	
+	public void reset()
+	{
+		cache.clear();
+		candidates.clear();
+		cachedEyes = null;
+		cachedRange = -1;
+	}
+	
+	private final class TargetIterator implements Iterator<BlockBreakingParams>
+	{
+		private final Predicate<BlockPos> posFilter;
+		private final Predicate<BlockBreakingParams> paramsFilter;
+		
+		private final PriorityQueue<BlockBreakingParams> withLOS =
+			new PriorityQueue<>(
+				Comparator.comparingDouble(BlockBreakingParams::distanceSq));
+		private final PriorityQueue<BlockBreakingParams> withoutLOS =
+			new PriorityQueue<>(
+				Comparator.comparingDouble(BlockBreakingParams::distanceSq));
+		private int nextCandidate;
+		private BlockBreakingParams next;
+		
+		private TargetIterator(Predicate<BlockPos> posFilter,
+			Predicate<BlockBreakingParams> paramsFilter)
+		{
+			this.posFilter = posFilter;
+			this.paramsFilter = paramsFilter;
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			if(next == null)
+				next = findNext();
+			
+			return next != null;
+		}
+		
+		@Override
+		public BlockBreakingParams next()
+		{
+			if(!hasNext())
+				throw new NoSuchElementException();
+			
+			BlockBreakingParams result = next;
+			next = null;
+			return result;
+		}
+		
+		private BlockBreakingParams findNext()
+		{
+			while(nextCandidate < candidates.size())
+			{
+				// blocks with line of sight always come first, so the
+				// closest one is certain once the remaining candidates are
+				// all too far away to beat it
+				BlockBreakingParams closest = withLOS.peek();
+				Candidate candidate = candidates.get(nextCandidate);
+				if(closest != null && candidate.distance()
+					- MAX_SIDE_OFFSET > Math.sqrt(closest.distanceSq()))
+					return withLOS.poll();
+				
+				nextCandidate++;
+				if(!posFilter.test(candidate.pos()))
+					continue;
+				
+				BlockBreakingParams params = getParams(candidate.pos());
+				if(params == null || !paramsFilter.test(params))
+					continue;
+				
+				if(params.lineOfSight())
+					withLOS.add(params);
+				else
+					withoutLOS.add(params);
+			}
+			
+			if(!withLOS.isEmpty())
+				return withLOS.poll();
+			
+			return withoutLOS.poll();
+		}
+	}
+	
+	private record Candidate(BlockPos pos, double distance)
+	{}
+	
+	private record CachedParams(BlockState state, BlockBreakingParams params)
+	{}
+}
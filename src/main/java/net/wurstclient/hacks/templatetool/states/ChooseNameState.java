@@ -24,6 +24,7 @@ import net.minecraft.util.Colors;
 import net.wurstclient.WurstClient;
 import net.wurstclient.hacks.TemplateToolHack;
 import net.wurstclient.hacks.templatetool.TemplateToolState;
+import net.wurstclient.util.AutoBuildTemplate;
 
 public final class ChooseNameState extends TemplateToolState
 {
@@ -56,6 +57,7 @@ public final class ChooseNameState extends TemplateToolState
 		
 		private TextFieldWidget nameField;
 		private CheckboxWidget includeTypesBox;
+		private CheckboxWidget compactFormatBox;
 		private ButtonWidget doneButton;
 		private ButtonWidget cancelButton;
 		
@@ -86,19 +88,25 @@ public final class ChooseNameState extends TemplateToolState
 					.pos(middleX - 99, middleY + 32).checked(true).build();
 			addDrawableChild(includeTypesBox);
 			
+			compactFormatBox =
+				CheckboxWidget.builder(Text.literal("Compact file format"), tr)
+					.pos(middleX - 99, middleY + 52).checked(false).build();
+			addDrawableChild(compactFormatBox);
+			
 			doneButton = ButtonWidget.builder(Text.literal("Done"), b -> done())
-				.dimensions(middleX - 75, middleY + 56, 150, 20).build();
+				.dimensions(middleX - 75, middleY + 76, 150, 20).build();
 			addDrawableChild(doneButton);
 			
 			cancelButton =
 				ButtonWidget.builder(Text.literal("Cancel"), b -> cancel())
-					.dimensions(middleX - 50, middleY + 80, 100, 15).build();
+					.dimensions(middleX - 50, middleY + 100, 100, 15).build();
 			addDrawableChild(cancelButton);
 		}
 		
 		private void done()
 		{
 			hack.setBlockTypesEnabled(includeTypesBox.isChecked());
+			hack.setCompactFormat(compactFormatBox.isChecked());
 			hack.setState(new SavingFileState());
 		}
 		
@@ -114,7 +122,9 @@ public final class ChooseNameState extends TemplateToolState
 				return;
 			
 			Path folder = WURST.getHax().autoBuildHack.getFolder();
-			Path file = folder.resolve(nameField.getText() + ".json");
+			String extension = compactFormatBox.isChecked()
+				? AutoBuildTemplate.BINARY_EXTENSION : ".json";
+			Path file = folder.resolve(nameField.getText() + extension);
 			hack.setFile(file.toFile());
 		}
 		
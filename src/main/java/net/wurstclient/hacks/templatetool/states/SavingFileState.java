@@ -10,6 +10,7 @@ package net.wurstclient.hacks.templatetool.states;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -22,6 +23,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.wurstclient.hacks.TemplateToolHack;
 import net.wurstclient.hacks.templatetool.TemplateToolState;
+import net.wurstclient.util.AutoBuildTemplate;
 import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.ChatUtils;
 import net.wurstclient.util.json.JsonUtils;
@@ -37,13 +39,13 @@ public final class SavingFileState extends TemplateToolState
 	@Override
 	public void onEnter(TemplateToolHack hack)
 	{
-		JsonObject json = hack.areBlockTypesEnabled() ? createV2Json(hack)
-			: createV1Json(hack);
-		
 		// Save the file
-		try(PrintWriter save = new PrintWriter(new FileWriter(hack.getFile())))
+		try
 		{
-			save.print(JsonUtils.GSON.toJson(json));
+			if(hack.isCompactFormat())
+				saveBinary(hack);
+			else
+				saveJson(hack);
 			
 		}catch(IOException e)
 		{
@@ -65,6 +67,45 @@ public final class SavingFileState extends TemplateToolState
 		hack.setEnabled(false);
 	}
 	
+	private void saveJson(TemplateToolHack hack) throws IOException
+	{
+		JsonObject json = hack.areBlockTypesEnabled() ? createV2Json(hack)
+			: createV1Json(hack);
+		
+		try(PrintWriter save = new PrintWriter(new FileWriter(hack.getFile())))
+		{
+			save.print(JsonUtils.GSON.toJson(json));
+		}
+	}
+	
+	private void saveBinary(TemplateToolHack hack) throws IOException
+	{
+		Direction front = MC.player.getHorizontalFacing();
+		BlockPos origin = hack.getOriginPos();
+		
+		ArrayList<BlockPos> positions = new ArrayList<>();
+		ArrayList<String> blockNames =
+			hack.areBlockTypesEnabled() ? new ArrayList<>() : null;
+		
+		for(BlockPos pos : hack.getSortedBlocks())
+		{
+			positions.add(toTemplatePos(pos, origin, front));
+			
+			if(blockNames == null)
+				continue;
+			
+			BlockState state = hack.getNonEmptyBlocks().get(pos);
+			if(state == null)
+				throw new IllegalStateException("Block at " + pos
+					+ " exists in sortedBlocks but not in nonEmptyBlocks.");
+			
+			blockNames.add(BlockUtils.getName(state.getBlock()));
+		}
+		
+		AutoBuildTemplate.saveBinary(hack.getFile().toPath(), positions,
+			blockNames);
+	}
+	
 	private JsonObject createV2Json(TemplateToolHack hack)
 	{
 		JsonObject json = new JsonObject();
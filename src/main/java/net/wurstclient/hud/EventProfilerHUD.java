@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.hud;
+
+import java.util.ArrayList;
+
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.util.Colors;
+import net.wurstclient.WurstClient;
+import net.wurstclient.event.EventProfiler;
+import net.wurstclient.event.EventProfiler.Timing;
+import net.wurstclient.other_features.HackListOtf;
+import net.wurstclient.other_features.HackListOtf.Position;
+
+/**
+ * Shows the slowest event listeners while the {@link EventProfiler} is
+ * running. Drawn in the bottom corner on the same side as the hack list.
+ */
+public final class EventProfilerHUD
+{
+	private static final int MAX_LINES = 10;
+	
+	private final HackListOtf otf = WurstClient.INSTANCE.getOtfs().hackListOtf;
+	
+	public void render(DrawContext context)
+	{
+		EventProfiler profiler =
+			WurstClient.INSTANCE.getEventManager().getProfiler();
+		if(profiler == null)
+			return;
+		
+		int samples = profiler.getSampleCount();
+		ArrayList<String> lines = new ArrayList<>();
+		lines.add("Event profiler (" + samples + " ticks, ms/tick)");
+		
+		if(samples > 0)
+		{
+			ArrayList<Timing> totals = profiler.getTotals();
+			for(int i = 0; i < Math.min(MAX_LINES, totals.size()); i++)
+			{
+				Timing timing = totals.get(i);
+				double msPerTick = timing.nanos() / 1e6 / samples;
+				lines.add(String.format("%.3f %s > %s", msPerTick,
+					timing.eventType().getSimpleName(),
+					timing.listenerClass().getSimpleName()));
+			}
+		}
+		
+		TextRenderer tr = WurstClient.MC.textRenderer;
+		int posY = context.getScaledWindowHeight() - 2 - lines.size() * 9;
+		
+		for(String line : lines)
+		{
+			int posX;
+			if(otf.getPosition() == Position.LEFT)
+				posX = 2;
+			else
+				posX = context.getScaledWindowWidth() - tr.getWidth(line) - 2;
+			
+			context.drawText(tr, line, posX + 1, posY + 1, Colors.BLACK,
+				false);
+			context.state.goUpLayer();
+			context.drawText(tr, line, posX, posY, Colors.WHITE, false);
+			context.state.goDownLayer();
+			
+			posY += 9;
+		}
+	}
+}
@@ -17,6 +17,7 @@ public final class IngameHUD implements GUIRenderListener
 {
 	private final WurstLogo wurstLogo = new WurstLogo();
 	private final HackListHUD hackList = new HackListHUD();
+	private final EventProfilerHUD eventProfiler = new EventProfilerHUD();
 	private TabGui tabGui;
 	
 	@Override
@@ -34,6 +35,7 @@ public final class IngameHUD implements GUIRenderListener
 		
 		wurstLogo.render(context);
 		hackList.render(context, partialTicks);
+		eventProfiler.render(context);
 		tabGui.render(context, partialTicks);
 		
 		// pinned windows
@@ -18,6 +18,7 @@ import java.util.Set;
 import com.google.gson.JsonObject;
 
 import net.minecraft.client.util.InputUtil;
+import net.wurstclient.util.json.DebouncedJsonFile;
 import net.wurstclient.util.json.JsonException;
 import net.wurstclient.util.json.JsonUtils;
 import net.wurstclient.util.json.WsonObject;
@@ -25,10 +26,12 @@ import net.wurstclient.util.json.WsonObject;
 public final class KeybindsFile
 {
 	private final Path path;
+	private final DebouncedJsonFile saver;
 	
 	public KeybindsFile(Path path)
 	{
 		this.path = path;
+		saver = new DebouncedJsonFile(path);
 	}
 	
 	public void load(KeybindList list)
@@ -98,17 +101,7 @@ public final class KeybindsFile
 	
 	public void save(KeybindList list)
 	{
-		JsonObject json = createJson(list);
-		
-		try
-		{
-			JsonUtils.toJson(json, path);
-			
-		}catch(IOException | JsonException e)
-		{
-			System.out.println("Couldn't save " + path.getFileName());
-			e.printStackTrace();
-		}
+		saver.save(() -> createJson(list));
 	}
 	
 	public void saveProfile(KeybindList list, Path profilePath)
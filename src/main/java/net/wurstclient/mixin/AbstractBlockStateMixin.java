@@ -29,7 +29,9 @@ import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.BlockView;
 import net.wurstclient.WurstClient;
 import net.wurstclient.event.EventManager;
+import net.wurstclient.events.GetAmbientOcclusionLightLevelListener;
 import net.wurstclient.events.GetAmbientOcclusionLightLevelListener.GetAmbientOcclusionLightLevelEvent;
+import net.wurstclient.events.IsNormalCubeListener;
 import net.wurstclient.events.IsNormalCubeListener.IsNormalCubeEvent;
 import net.wurstclient.hack.HackList;
 import net.wurstclient.hacks.HandNoClipHack;
@@ -50,7 +52,10 @@ public abstract class AbstractBlockStateMixin extends State<Block, BlockState>
 	private void onIsFullCube(BlockView world, BlockPos pos,
 		CallbackInfoReturnable<Boolean> cir)
 	{
-		IsNormalCubeEvent event = new IsNormalCubeEvent();
+		if(!EventManager.hasListeners(IsNormalCubeListener.class))
+			return;
+		
+		IsNormalCubeEvent event = IsNormalCubeEvent.reuse();
 		EventManager.fire(event);
 		
 		cir.setReturnValue(cir.getReturnValue() && !event.isCancelled());
@@ -62,8 +67,12 @@ public abstract class AbstractBlockStateMixin extends State<Block, BlockState>
 	private void onGetAmbientOcclusionLightLevel(BlockView blockView,
 		BlockPos blockPos, CallbackInfoReturnable<Float> cir)
 	{
+		if(!EventManager.hasListeners(
+			GetAmbientOcclusionLightLevelListener.class))
+			return;
+		
 		GetAmbientOcclusionLightLevelEvent event =
-			new GetAmbientOcclusionLightLevelEvent((BlockState)(Object)this,
+			GetAmbientOcclusionLightLevelEvent.reuse((BlockState)(Object)this,
 				cir.getReturnValueF());
 		
 		EventManager.fire(event);
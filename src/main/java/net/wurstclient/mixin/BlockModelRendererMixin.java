@@ -23,6 +23,7 @@ import net.minecraft.util.math.Direction;
 import net.minecraft.world.BlockRenderView;
 import net.wurstclient.WurstClient;
 import net.wurstclient.event.EventManager;
+import net.wurstclient.events.ShouldDrawSideListener;
 import net.wurstclient.events.ShouldDrawSideListener.ShouldDrawSideEvent;
 import net.wurstclient.hacks.XRayHack;
 
@@ -45,15 +46,18 @@ public abstract class BlockModelRendererMixin implements ItemConvertible
 		BlockRenderView world, BlockState stateButFromTheOtherMethod,
 		boolean cull, Direction sideButFromTheOtherMethod, BlockPos pos)
 	{
-		ShouldDrawSideEvent event = new ShouldDrawSideEvent(state, pos);
-		EventManager.fire(event);
-		
 		XRayHack xray = WurstClient.INSTANCE.getHax().xRayHack;
 		if(!xray.isOpacityMode() || xray.isVisible(state.getBlock(), pos))
 			currentOpacity.set(1F);
 		else
 			currentOpacity.set(xray.getOpacityFloat());
 		
+		if(!EventManager.hasListeners(ShouldDrawSideListener.class))
+			return original.call(state, otherState, side);
+		
+		ShouldDrawSideEvent event = ShouldDrawSideEvent.reuse(state, pos);
+		EventManager.fire(event);
+		
 		if(event.isRendered() != null)
 			return event.isRendered();
 		
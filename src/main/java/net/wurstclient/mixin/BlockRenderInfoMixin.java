@@ -18,6 +18,7 @@ import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.wurstclient.event.EventManager;
+import net.wurstclient.events.ShouldDrawSideListener;
 import net.wurstclient.events.ShouldDrawSideListener.ShouldDrawSideEvent;
 
 @Mixin(value = BlockRenderInfo.class, remap = false)
@@ -36,8 +37,11 @@ public abstract class BlockRenderInfoMixin
 	private void onShouldDrawSide(Direction face,
 		CallbackInfoReturnable<Boolean> cir)
 	{
+		if(!EventManager.hasListeners(ShouldDrawSideListener.class))
+			return;
+		
 		ShouldDrawSideEvent event =
-			new ShouldDrawSideEvent(blockState, blockPos);
+			ShouldDrawSideEvent.reuse(blockState, blockPos);
 		EventManager.fire(event);
 		
 		if(event.isRendered() != null)
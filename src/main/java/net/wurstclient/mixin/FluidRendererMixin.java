@@ -25,6 +25,7 @@ import net.minecraft.util.math.Direction;
 import net.minecraft.world.BlockRenderView;
 import net.wurstclient.WurstClient;
 import net.wurstclient.event.EventManager;
+import net.wurstclient.events.ShouldDrawSideListener;
 import net.wurstclient.events.ShouldDrawSideListener.ShouldDrawSideEvent;
 import net.wurstclient.hacks.XRayHack;
 
@@ -46,15 +47,19 @@ public class FluidRendererMixin
 		BlockRenderView world, BlockPos pos, VertexConsumer vertexConsumer,
 		BlockState blockState, FluidState fluidState)
 	{
-		ShouldDrawSideEvent event = new ShouldDrawSideEvent(blockState, null);
-		EventManager.fire(event);
-		
 		XRayHack xray = WurstClient.INSTANCE.getHax().xRayHack;
 		if(!xray.isOpacityMode() || xray.isVisible(blockState.getBlock(), pos))
 			currentOpacity.set(1F);
 		else
 			currentOpacity.set(xray.getOpacityFloat());
 		
+		if(!EventManager.hasListeners(ShouldDrawSideListener.class))
+			return original.call(side, height, neighborState);
+		
+		ShouldDrawSideEvent event =
+			ShouldDrawSideEvent.reuse(blockState, null);
+		EventManager.fire(event);
+		
 		if(event.isRendered() != null)
 			return !event.isRendered();
 		
@@ -19,6 +19,7 @@ import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.wurstclient.event.EventManager;
+import net.wurstclient.events.ShouldDrawSideListener;
 import net.wurstclient.events.ShouldDrawSideListener.ShouldDrawSideEvent;
 
 /**
@@ -47,7 +48,10 @@ public class SodiumAbstractBlockRenderContextMixin
 	private void onIsFaceCulled(@Nullable Direction face,
 		CallbackInfoReturnable<Boolean> cir)
 	{
-		ShouldDrawSideEvent event = new ShouldDrawSideEvent(state, pos);
+		if(!EventManager.hasListeners(ShouldDrawSideListener.class))
+			return;
+		
+		ShouldDrawSideEvent event = ShouldDrawSideEvent.reuse(state, pos);
 		EventManager.fire(event);
 		
 		if(event.isRendered() != null)
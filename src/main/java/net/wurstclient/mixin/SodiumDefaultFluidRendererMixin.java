@@ -23,6 +23,7 @@ import net.minecraft.util.math.Direction;
 import net.minecraft.world.BlockRenderView;
 import net.wurstclient.WurstClient;
 import net.wurstclient.event.EventManager;
+import net.wurstclient.events.ShouldDrawSideListener;
 import net.wurstclient.events.ShouldDrawSideListener.ShouldDrawSideEvent;
 import net.wurstclient.hacks.XRayHack;
 
@@ -47,7 +48,10 @@ public class SodiumDefaultFluidRendererMixin
 		Direction dir, BlockState state, FluidState fluid,
 		CallbackInfoReturnable<Boolean> cir)
 	{
-		ShouldDrawSideEvent event = new ShouldDrawSideEvent(state, pos);
+		if(!EventManager.hasListeners(ShouldDrawSideListener.class))
+			return;
+		
+		ShouldDrawSideEvent event = ShouldDrawSideEvent.reuse(state, pos);
 		EventManager.fire(event);
 		
 		if(event.isRendered() != null)
@@ -15,6 +15,7 @@ import java.util.Map.Entry;
 
 import com.google.gson.JsonObject;
 
+import net.wurstclient.util.json.DebouncedJsonFile;
 import net.wurstclient.util.json.JsonException;
 import net.wurstclient.util.json.JsonUtils;
 import net.wurstclient.util.json.WsonObject;
@@ -22,11 +23,13 @@ import net.wurstclient.util.json.WsonObject;
 public final class PreferencesFile
 {
 	private final Path path;
+	private final DebouncedJsonFile saver;
 	private final HashMap<String, Long> preferences;
 	
 	public PreferencesFile(Path path, HashMap<String, Long> preferences)
 	{
 		this.path = path;
+		saver = new DebouncedJsonFile(path);
 		this.preferences = preferences;
 	}
 	
@@ -54,17 +57,7 @@ public final class PreferencesFile
 	
 	public void save()
 	{
-		JsonObject json = createJson();
-		
-		try
-		{
-			JsonUtils.toJson(json, path);
-			
-		}catch(IOException | JsonException e)
-		{
-			System.out.println("Couldn't save " + path.getFileName());
-			e.printStackTrace();
-		}
+		saver.save(this::createJson);
 	}
 	
 	private JsonObject createJson()
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.serverfinder;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Turns the text typed into the Server Finder into a list of addresses to
+ * ping. Accepts the following formats:
+ *
+ * <ul>
+ * <li>{@code host} - the 1792 IPs around the host, like before</li>
+ * <li>{@code 1.2.3.0/24} - all IPs in a CIDR range (/16 or smaller)</li>
+ * <li>either of the above, followed by {@code :25565,25566-25570} to scan
+ * other ports than 25565</li>
+ * </ul>
+ */
+public enum ScanTargets
+{
+	;
+	
+	public static final int DEFAULT_PORT = 25565;
+	public static final int MAX_TARGETS = 1 << 16;
+	
+	private static final int[] NEARBY_SUBNETS = {0, 1, -1, 2, -2, 3, -3};
+	
+	/**
+	 * @throws UnknownHostException
+	 *             if the host can't be resolved
+	 * @throws IllegalArgumentException
+	 *             if the input is invalid or would result in more than
+	 *             {@link #MAX_TARGETS} addresses
+	 */
+	public static List<InetSocketAddress> parse(String input)
+		throws UnknownHostException
+	{
+		String[] parts = input.trim().split(":", 2);
+		List<Integer> ports = parts.length > 1 ? parsePorts(parts[1])
+			: List.of(DEFAULT_PORT);
+		
+		List<InetAddress> ips = parts[0].contains("/") ? parseCidr(parts[0])
+			: getNearbyIps(parts[0].trim());
+		
+		if((long)ips.size() * ports.size() > MAX_TARGETS)
+			throw new IllegalArgumentException("Too many addresses");
+		
+		ArrayList<InetSocketAddress> targets =
+			new ArrayList<>(ips.size() * ports.size());
+		for(InetAddress ip : ips)
+			for(int port : ports)
+				targets.add(new InetSocketAddress(ip, port));
+			
+		return targets;
+	}
+	
+	/**
+	 * Returns the IPs with the same first two bytes, a third byte within 3 of
+	 * the host's, and any fourth byte. Closer subnets come first.
+	 */
+	public static List<InetAddress> getNearbyIps(String host)
+		throws UnknownHostException
+	{
+		byte[] bytes = toIpv4Bytes(InetAddress.getByName(host));
+		
+		ArrayList<InetAddress> ips = new ArrayList<>();
+		for(int change : NEARBY_SUBNETS)
+			for(int i = 0; i <= 255; i++)
+			{
+				byte[] bytes2 = bytes.clone();
+				bytes2[2] = (byte)(bytes[2] + change);
+				bytes2[3] = (byte)i;
+				ips.add(InetAddress.getByAddress(bytes2));
+			}
+		
+		return ips;
+	}
+	
+	public static List<InetAddress> parseCidr(String cidr)
+		throws UnknownHostException
+	{
+		String[] parts = cidr.trim().split("/", 2);
+		int prefix = parsePositiveInt(parts[1].trim());
+		if(prefix < 16 || prefix > 32)
+			throw new IllegalArgumentException(
+				"CIDR prefix must be between 16 and 32");
+		
+		byte[] bytes = toIpv4Bytes(InetAddress.getByName(parts[0].trim()));
+		int base = (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16
+			| (bytes[2] & 0xFF) << 8 | bytes[3] & 0xFF;
+		int count = 1 << 32 - prefix;
+		base &= -count;
+		
+		ArrayList<InetAddress> ips = new ArrayList<>(count);
+		for(int i = 0; i < count; i++)
+		{
+			int ip = base + i;
+			ips.add(InetAddress.getByAddress(new byte[]{(byte)(ip >>> 24),
+				(byte)(ip >>> 16), (byte)(ip >>> 8), (byte)ip}));
+		}
+		
+		return ips;
+	}
+	
+	public static List<Integer> parsePorts(String ports)
+	{
+		LinkedHashSet<Integer> result = new LinkedHashSet<>();
+		for(String part : ports.split(","))
+		{
+			String[] range = part.trim().split("-", 2);
+			int first = parsePort(range[0]);
+			int last = range.length > 1 ? parsePort(range[1]) : first;
+			if(last < first)
+				throw new IllegalArgumentException("Invalid port range");
+			
+			for(int port = first; port <= last; port++)
+				result.add(port);
+		}
+		
+		return new ArrayList<>(result);
+	}
+	
+	private static int parsePort(String port)
+	{
+		int value = parsePositiveInt(port.trim());
+		if(value < 1 || value > 65535)
+			throw new IllegalArgumentException("Invalid port: " + port);
+		
+		return value;
+	}
+	
+	private static int parsePositiveInt(String s)
+	{
+		if(s.isEmpty() || !s.chars().allMatch(Character::isDigit)
+			|| s.length() > 9)
+			throw new IllegalArgumentException("Invalid number: " + s);
+		
+		return Integer.parseInt(s);
+	}
+	
+	private static byte[] toIpv4Bytes(InetAddress address)
+	{
+		if(!(address instanceof Inet4Address))
+			throw new IllegalArgumentException("Only IPv4 is supported");
+		
+		return address.getAddress();
+	}
+}
@@ -7,9 +7,9 @@
  */
 package net.wurstclient.serverfinder;
 
-import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
-import java.util.ArrayList;
+import java.util.List;
 
 import org.lwjgl.glfw.GLFW;
 
@@ -27,18 +27,22 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Colors;
 import net.minecraft.util.Util;
 import net.wurstclient.mixinterface.IMultiplayerScreen;
+import net.wurstclient.serverfinder.ServerScanner.Result;
 import net.wurstclient.util.MathUtils;
 
 public class ServerFinderScreen extends Screen
 {
+	private static final int TIMEOUT_MS = 5000;
+	
 	private final MultiplayerScreen prevScreen;
 	
 	private TextFieldWidget ipBox;
-	private TextFieldWidget maxThreadsBox;
+	private TextFieldWidget maxPingsBox;
 	private ButtonWidget searchButton;
 	
 	private ServerFinderState state;
-	private int maxThreads;
+	private ServerScanner scanner;
+	private volatile int total;
 	private int checked;
 	private int working;
 	
@@ -76,11 +80,11 @@ public class ServerFinderScreen extends Screen
 		addSelectableChild(ipBox);
 		setFocused(ipBox);
 		
-		maxThreadsBox = new TextFieldWidget(textRenderer, width / 2 - 32,
+		maxPingsBox = new TextFieldWidget(textRenderer, width / 2 - 32,
 			height / 4 + 58, 26, 12, Text.empty());
-		maxThreadsBox.setMaxLength(3);
-		maxThreadsBox.setText("128");
-		addSelectableChild(maxThreadsBox);
+		maxPingsBox.setMaxLength(3);
+		maxPingsBox.setText("128");
+		addSelectableChild(maxPingsBox);
 		
 		state = ServerFinderState.NOT_RUNNING;
 	}
@@ -89,101 +93,88 @@ public class ServerFinderScreen extends Screen
 	{
 		if(state.isRunning())
 		{
-			state = ServerFinderState.CANCELLED;
+			cancel();
 			ipBox.active = true;
-			maxThreadsBox.active = true;
+			maxPingsBox.active = true;
 			searchButton.setMessage(Text.literal("Search"));
 			return;
 		}
 		
 		state = ServerFinderState.RESOLVING;
-		maxThreads = Integer.parseInt(maxThreadsBox.getText());
+		int maxPings = Integer.parseInt(maxPingsBox.getText());
+		ServerScanner scanner = new ServerScanner(maxPings, TIMEOUT_MS);
+		this.scanner = scanner;
 		ipBox.active = false;
-		maxThreadsBox.active = false;
+		maxPingsBox.active = false;
 		searchButton.setMessage(Text.literal("Cancel"));
+		total = 0;
 		checked = 0;
 		working = 0;
 		
-		new Thread(this::findServers, "Server Finder").start();
+		String input = ipBox.getText();
+		Thread.ofVirtual().name("Server Finder")
+			.start(() -> findServers(scanner, input));
 	}
 	
-	private void findServers()
+	private void findServers(ServerScanner scanner, String input)
 	{
 		try
 		{
-			InetAddress addr =
-				InetAddress.getByName(ipBox.getText().split(":")[0].trim());
-			
-			int[] ipParts = new int[4];
-			for(int i = 0; i < 4; i++)
-				ipParts[i] = addr.getAddress()[i] & 0xff;
+			List<InetSocketAddress> addresses = ScanTargets.parse(input);
+			total = addresses.size();
+			setState(scanner, ServerFinderState.SEARCHING);
 			
-			state = ServerFinderState.SEARCHING;
-			ArrayList<WurstServerPinger> pingers = new ArrayList<>();
-			int[] changes = {0, 1, -1, 2, -2, 3, -3};
-			for(int change : changes)
-				for(int i2 = 0; i2 <= 255; i2++)
-				{
-					if(state == ServerFinderState.CANCELLED)
-						return;
-					
-					int[] ipParts2 = ipParts.clone();
-					ipParts2[2] = ipParts[2] + change & 0xff;
-					ipParts2[3] = i2;
-					String ip = ipParts2[0] + "." + ipParts2[1] + "."
-						+ ipParts2[2] + "." + ipParts2[3];
-					
-					WurstServerPinger pinger = new WurstServerPinger();
-					pinger.ping(ip);
-					pingers.add(pinger);
-					while(pingers.size() >= maxThreads)
-					{
-						if(state == ServerFinderState.CANCELLED)
-							return;
-						
-						updatePingers(pingers);
-					}
-				}
-			while(pingers.size() > 0)
-			{
-				if(state == ServerFinderState.CANCELLED)
-					return;
-				
-				updatePingers(pingers);
-			}
-			state = ServerFinderState.DONE;
+			if(scanner.scan(addresses,
+				result -> client.execute(() -> onResult(scanner, result))))
+				setState(scanner, ServerFinderState.DONE);
 			
 		}catch(UnknownHostException e)
 		{
-			state = ServerFinderState.UNKNOWN_HOST;
+			setState(scanner, ServerFinderState.UNKNOWN_HOST);
+			
+		}catch(IllegalArgumentException e)
+		{
+			setState(scanner, ServerFinderState.INVALID_INPUT);
 			
 		}catch(Exception e)
 		{
 			e.printStackTrace();
-			state = ServerFinderState.ERROR;
+			setState(scanner, ServerFinderState.ERROR);
 		}
 	}
 	
-	private void updatePingers(ArrayList<WurstServerPinger> pingers)
+	/**
+	 * Changes the state on the client thread, unless the given scan has been
+	 * cancelled or replaced by a newer one in the meantime.
+	 */
+	private void setState(ServerScanner scanner, ServerFinderState newState)
 	{
-		for(int i = 0; i < pingers.size(); i++)
-		{
-			WurstServerPinger pinger = pingers.get(i);
-			if(pinger.isStillPinging())
-				continue;
-			
-			checked++;
-			if(pinger.isWorking())
-			{
-				working++;
-				String name = "Grief me #" + working;
-				String ip = pinger.getServerIP();
-				addServerToList(name, ip);
-			}
-			
-			pingers.remove(i);
-			i--;
-		}
+		client.execute(() -> {
+			if(this.scanner == scanner && state.isRunning())
+				state = newState;
+		});
+	}
+	
+	private void onResult(ServerScanner scanner, Result result)
+	{
+		// ignore late results from a cancelled scan
+		if(this.scanner != scanner || !state.isRunning())
+			return;
+		
+		checked++;
+		if(!result.isWorking())
+			return;
+		
+		working++;
+		addServerToList("Grief me #" + working, result.getServerAddress());
+	}
+	
+	private void cancel()
+	{
+		state = ServerFinderState.CANCELLED;
+		
+		if(scanner != null)
+			scanner.cancel();
 	}
 	
 	// Basically what MultiplayerScreen.addEntry() does,
@@ -206,7 +197,8 @@ public class ServerFinderScreen extends Screen
 	@Override
 	public void tick()
 	{
-		searchButton.active = MathUtils.isInteger(maxThreadsBox.getText())
+		searchButton.active = MathUtils.isInteger(maxPingsBox.getText())
+			&& Integer.parseInt(maxPingsBox.getText()) > 0
 			&& !ipBox.getText().isEmpty();
 	}
 	
@@ -251,16 +243,16 @@ public class ServerFinderScreen extends Screen
 			width / 2 - 100, height / 4 + 24, Colors.LIGHT_GRAY);
 		ipBox.render(context, mouseX, mouseY, partialTicks);
 		
-		context.drawTextWithShadow(textRenderer, "Max. threads:",
+		context.drawTextWithShadow(textRenderer, "Max. pings:",
 			width / 2 - 100, height / 4 + 60, Colors.LIGHT_GRAY);
-		maxThreadsBox.render(context, mouseX, mouseY, partialTicks);
+		maxPingsBox.render(context, mouseX, mouseY, partialTicks);
 		
 		context.drawCenteredTextWithShadow(textRenderer, state.toString(),
 			width / 2, height / 4 + 73, Colors.LIGHT_GRAY);
 		
 		context.drawTextWithShadow(textRenderer,
-			"Checked: " + checked + " / 1792", width / 2 - 100, height / 4 + 84,
-			Colors.LIGHT_GRAY);
+			"Checked: " + checked + " / " + total, width / 2 - 100,
+			height / 4 + 84, Colors.LIGHT_GRAY);
 		context.drawTextWithShadow(textRenderer, "Working: " + working,
 			width / 2 - 100, height / 4 + 94, Colors.LIGHT_GRAY);
 		
@@ -271,7 +263,7 @@ public class ServerFinderScreen extends Screen
 	@Override
 	public void close()
 	{
-		state = ServerFinderState.CANCELLED;
+		cancel();
 		client.setScreen(prevScreen);
 	}
 	
@@ -281,6 +273,7 @@ public class ServerFinderScreen extends Screen
 		SEARCHING("\u00a72Searching..."),
 		RESOLVING("\u00a72Resolving..."),
 		UNKNOWN_HOST("\u00a74Unknown Host!"),
+		INVALID_INPUT("\u00a74Invalid address or port!"),
 		CANCELLED("\u00a74Cancelled!"),
 		DONE("\u00a72Done!"),
 		ERROR("\u00a74An error occurred!");
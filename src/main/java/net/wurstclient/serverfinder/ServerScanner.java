@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.serverfinder;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Pings a list of addresses with Minecraft status requests, using one
+ * virtual thread per ping and a semaphore that limits how many pings can be
+ * in flight at once. Each result is passed to a callback as soon as it's
+ * known.
+ *
+ * <p>
+ * A server only counts as working if it actually answers the status request,
+ * not just if it accepts the connection.
+ */
+public final class ServerScanner
+{
+	private static final int MAX_STATUS_LENGTH = 1 << 18;
+	
+	private final int maxPings;
+	private final int timeoutMs;
+	
+	private volatile boolean cancelled;
+	private volatile ExecutorService executor;
+	private volatile Thread scanThread;
+	
+	/**
+	 * @param maxPings
+	 *            How many pings can be in flight at the same time.
+	 * @param timeoutMs
+	 *            How long a single ping can take before the server is
+	 *            considered not working.
+	 */
+	public ServerScanner(int maxPings, int timeoutMs)
+	{
+		if(maxPings < 1)
+			throw new IllegalArgumentException("maxPings must be positive");
+		
+		this.maxPings = maxPings;
+		this.timeoutMs = timeoutMs;
+	}
+	
+	/**
+	 * Pings all of the given addresses and blocks until every ping has
+	 * finished or the scan is cancelled. Results are passed to
+	 * {@code onResult} on the pinging threads, in the order that they
+	 * finish.
+	 *
+	 * @return true if the scan finished, false if it was cancelled
+	 */
+	public boolean scan(List<InetSocketAddress> addresses,
+		Consumer<Result> onResult)
+	{
+		scanThread = Thread.currentThread();
+		Semaphore window = new Semaphore(maxPings);
+		
+		try(ExecutorService executor =
+			Executors.newVirtualThreadPerTaskExecutor())
+		{
+			this.executor = executor;
+			
+			for(InetSocketAddress address : addresses)
+			{
+				if(cancelled)
+					break;
+				
+				window.acquire();
+				executor.execute(() -> {
+					try
+					{
+						Result result = ping(address);
+						if(!cancelled)
+							onResult.accept(result);
+						
+					}finally
+					{
+						window.release();
+					}
+				});
+			}
+			
+		}catch(InterruptedException e)
+		{
+			// cancelled while waiting for a free slot
+		}
+		
+		return !cancelled;
+	}
+	
+	/**
+	 * Stops the scan. Pings that are still in flight are interrupted and
+	 * their results are discarded. Can be called from any thread.
+	 */
+	public void cancel()
+	{
+		cancelled = true;
+		
+		Thread thread = scanThread;
+		if(thread != null)
+			thread.interrupt();
+		
+		ExecutorService executor = this.executor;
+		if(executor != null)
+			executor.shutdownNow();
+	}
+	
+	private Result ping(InetSocketAddress address)
+	{
+		long deadline = System.currentTimeMillis() + timeoutMs;
+		
+		try(Socket socket = new Socket())
+		{
+			socket.connect(address, timeoutMs);
+			socket.setSoTimeout(getRemainingTime(deadline));
+			
+			DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(socket.getOutputStream()));
+			
+			// handshake, protocol version -1 means "just checking"
+			ByteArrayOutputStream handshake = new ByteArrayOutputStream();
+			DataOutputStream handshakeOut = new DataOutputStream(handshake);
+			writeVarInt(handshakeOut, 0x00);
+			writeVarInt(handshakeOut, -1);
+			writeString(handshakeOut, address.getHostString());
+			handshakeOut.writeShort(address.getPort());
+			writeVarInt(handshakeOut, 1);
+			writeVarInt(out, handshake.size());
+			handshake.writeTo(out);
+			
+			// status request
+			writeVarInt(out, 1);
+			writeVarInt(out, 0x00);
+			out.flush();
+			
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+			int packetLength = readVarInt(in);
+			socket.setSoTimeout(getRemainingTime(deadline));
+			if(readVarInt(in) != 0x00)
+				return new Result(address, null);
+			
+			int statusLength = readVarInt(in);
+			if(statusLength < 0 || statusLength > packetLength
+				|| statusLength > MAX_STATUS_LENGTH)
+				return new Result(address, null);
+			
+			byte[] status = new byte[statusLength];
+			in.readFully(status);
+			return new Result(address,
+				new String(status, StandardCharsets.UTF_8));
+			
+		}catch(IOException e)
+		{
+			return new Result(address, null);
+		}
+	}
+	
+	private static int getRemainingTime(long deadline) throws IOException
+	{
+		long remaining = deadline - System.currentTimeMillis();
+		if(remaining <= 0)
+			throw new IOException("Ping timed out");
+		
+		return (int)remaining;
+	}
+	
+	private static void writeVarInt(DataOutputStream out, int value)
+		throws IOException
+	{
+		while((value & ~0x7F) != 0)
+		{
+			out.writeByte(value & 0x7F | 0x80);
+			value >>>= 7;
+		}
+		
+		out.writeByte(value);
+	}
+	
+	private static void writeString(DataOutputStream out, String string)
+		throws IOException
+	{
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+	
+	private static int readVarInt(DataInputStream in) throws IOException
+	{
+		int value = 0;
+		for(int shift = 0; shift < 35; shift += 7)
+		{
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if((b & 0x80) == 0)
+				return value;
+		}
+		
+		throw new IOException("VarInt too long");
+	}
+	
+	/**
+	 * The result of pinging one address. {@code status} is the JSON status
+	 * sent by the server, or null if it didn't answer.
+	 */
+	public record Result(InetSocketAddress address, String status)
+	{
+		public boolean isWorking()
+		{
+			return status != null;
+		}
+		
+		/**
+		 * Returns the address in the format used by the server list.
+		 */
+		public String getServerAddress()
+		{
+			return address.getAddress().getHostAddress() + ":"
+				+ address.getPort();
+		}
+	}
+}
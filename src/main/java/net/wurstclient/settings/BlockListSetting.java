@@ -26,6 +26,7 @@ import net.wurstclient.WurstClient;
 import net.wurstclient.clickgui.Component;
 import net.wurstclient.clickgui.components.BlockListEditButton;
 import net.wurstclient.keybinds.PossibleKeybind;
+import net.wurstclient.util.BlockMatcher;
 import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.json.JsonException;
 import net.wurstclient.util.json.JsonUtils;
@@ -35,6 +36,7 @@ public class BlockListSetting extends Setting
 {
 	private final ArrayList<String> blockNames = new ArrayList<>();
 	private final String[] defaultNames;
+	private volatile BlockMatcher matcher = BlockMatcher.NONE;
 	
 	public BlockListSetting(String name, WText description, String... blocks)
 	{
@@ -44,6 +46,7 @@ public class BlockListSetting extends Setting
 			.filter(Objects::nonNull).map(BlockUtils::getName).distinct()
 			.sorted().forEachOrdered(s -> blockNames.add(s));
 		defaultNames = blockNames.toArray(new String[0]);
+		updateMatcher();
 	}
 	
 	public BlockListSetting(String name, String descriptionKey,
@@ -57,6 +60,21 @@ public class BlockListSetting extends Setting
 		return Collections.unmodifiableList(blockNames);
 	}
 	
+	/**
+	 * Returns a {@link BlockMatcher} for the blocks that are currently in
+	 * this list. The matcher doesn't change when the list does, so hot paths
+	 * can keep it for as long as they want to ignore changes.
+	 */
+	public BlockMatcher getMatcher()
+	{
+		return matcher;
+	}
+	
+	private void updateMatcher()
+	{
+		matcher = BlockMatcher.of(blockNames);
+	}
+	
 	public int indexOf(String name)
 	{
 		if(name == null)
@@ -77,7 +95,7 @@ public class BlockListSetting extends Setting
 	
 	public boolean contains(Block block)
 	{
-		return indexOf(block) >= 0;
+		return matcher.matches(block);
 	}
 	
 	public int size()
@@ -93,6 +111,7 @@ public class BlockListSetting extends Setting
 		
 		blockNames.add(name);
 		Collections.sort(blockNames);
+		updateMatcher();
 		WurstClient.INSTANCE.saveSettings();
 	}
 	
@@ -102,6 +121,7 @@ public class BlockListSetting extends Setting
 			return;
 		
 		blockNames.remove(index);
+		updateMatcher();
 		WurstClient.INSTANCE.saveSettings();
 	}
 	
@@ -109,6 +129,7 @@ public class BlockListSetting extends Setting
 	{
 		blockNames.clear();
 		blockNames.addAll(Arrays.asList(defaultNames));
+		updateMatcher();
 		WurstClient.INSTANCE.saveSettings();
 	}
 	
@@ -129,6 +150,7 @@ public class BlockListSetting extends Setting
 			if(JsonUtils.getAsString(json, "nope").equals("default"))
 			{
 				blockNames.addAll(Arrays.asList(defaultNames));
+				updateMatcher();
 				return;
 			}
 			
@@ -154,6 +176,7 @@ public class BlockListSetting extends Setting
 				blockNames.add(name);
 			}
 			blockNames.sort(null);
+			updateMatcher();
 			
 		}catch(JsonException e)
 		{
@@ -22,6 +22,7 @@ import net.wurstclient.WurstClient;
 import net.wurstclient.clickgui.Component;
 import net.wurstclient.clickgui.components.BlockComponent;
 import net.wurstclient.keybinds.PossibleKeybind;
+import net.wurstclient.util.BlockMatcher;
 import net.wurstclient.util.BlockUtils;
 import net.wurstclient.util.json.JsonException;
 import net.wurstclient.util.json.JsonUtils;
@@ -32,6 +33,7 @@ public final class BlockSetting extends Setting
 	private String blockName = "";
 	private final String defaultName;
 	private final boolean allowAir;
+	private volatile BlockMatcher matcher;
 	
 	public BlockSetting(String name, WText description, String blockName,
 		boolean allowAir)
@@ -44,6 +46,7 @@ public final class BlockSetting extends Setting
 		
 		defaultName = this.blockName;
 		this.allowAir = allowAir;
+		matcher = BlockMatcher.of(block);
 	}
 	
 	public BlockSetting(String name, String descriptionKey, String blockName,
@@ -70,6 +73,16 @@ public final class BlockSetting extends Setting
 		return blockName;
 	}
 	
+	/**
+	 * Returns a {@link BlockMatcher} that only matches this setting's block.
+	 * Faster than comparing {@link #getBlock()} or {@link #getBlockName()},
+	 * which look up the block by name every time.
+	 */
+	public BlockMatcher getMatcher()
+	{
+		return matcher;
+	}
+	
 	public String getShortBlockName()
 	{
 		return blockName.replace("minecraft:", "");
@@ -89,6 +102,7 @@ public final class BlockSetting extends Setting
 			return;
 		
 		blockName = newName;
+		matcher = BlockMatcher.of(block);
 		WurstClient.INSTANCE.saveSettings();
 	}
 	
@@ -103,6 +117,7 @@ public final class BlockSetting extends Setting
 	public void resetToDefault()
 	{
 		blockName = defaultName;
+		matcher = BlockMatcher.of(getBlock());
 		WurstClient.INSTANCE.saveSettings();
 	}
 	
@@ -130,6 +145,7 @@ public final class BlockSetting extends Setting
 					+ "\" as this setting does not allow air blocks");
 			
 			blockName = name;
+			matcher = BlockMatcher.of(getBlock());
 			
 		}catch(JsonException e)
 		{
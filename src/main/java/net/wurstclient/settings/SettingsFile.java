@@ -27,6 +27,7 @@ import net.wurstclient.hack.Hack;
 import net.wurstclient.hack.HackList;
 import net.wurstclient.other_feature.OtfList;
 import net.wurstclient.other_feature.OtherFeature;
+import net.wurstclient.util.json.DebouncedJsonFile;
 import net.wurstclient.util.json.JsonException;
 import net.wurstclient.util.json.JsonUtils;
 import net.wurstclient.util.json.WsonObject;
@@ -34,12 +35,14 @@ import net.wurstclient.util.json.WsonObject;
 public final class SettingsFile
 {
 	private final Path path;
+	private final DebouncedJsonFile saver;
 	private final Map<String, Feature> featuresWithSettings;
 	private boolean disableSaving;
 	
 	public SettingsFile(Path path, HackList hax, CmdList cmds, OtfList otfs)
 	{
 		this.path = path;
+		saver = new DebouncedJsonFile(path);
 		featuresWithSettings = createFeatureMap(hax, cmds, otfs);
 	}
 	
@@ -135,17 +138,7 @@ public final class SettingsFile
 		if(disableSaving)
 			return;
 		
-		JsonObject json = createJson();
-		
-		try
-		{
-			JsonUtils.toJson(json, path);
-			
-		}catch(IOException | JsonException e)
-		{
-			System.out.println("Couldn't save " + path.getFileName());
-			e.printStackTrace();
-		}
+		saver.save(this::createJson);
 	}
 	
 	public void saveProfile(Path profilePath) throws IOException, JsonException
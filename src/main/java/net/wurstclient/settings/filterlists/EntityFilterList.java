@@ -7,6 +7,7 @@
  */
 package net.wurstclient.settings.filterlists;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -15,12 +16,40 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
 import net.wurstclient.settings.Setting;
 import net.wurstclient.settings.filters.*;
 
+/**
+ * A list of {@link EntityFilter}s that is compiled into a verdict table with
+ * one entry per {@link EntityType}. Filters that only depend on the type are
+ * checked once for the first entity of each type, so most entities are
+ * accepted or rejected with a single array lookup. Only the filters that need
+ * to look at the individual entity (names, babies, sleeping, etc.) run for
+ * every entity.
+ *
+ * <p>
+ * The table is rebuilt whenever a filter is turned on or off, or changes
+ * between a per-type and a per-entity check. Each rebuild is published as a
+ * new {@link CompiledFilters} object, so that {@link #applyTo(Stream)} also
+ * works on parallel streams.
+ */
 public class EntityFilterList
 {
+	private static final byte OFF = 0;
+	private static final byte TYPE = 1;
+	private static final byte INSTANCE = 2;
+	
+	private static final byte ACCEPT = 0;
+	private static final byte REJECT = 1;
+	private static final byte CHECK = 2;
+	
 	private final List<EntityFilter> entityFilters;
+	private final byte[] filterStates;
+	
+	private volatile CompiledFilters compiled =
+		new CompiledFilters(new EntityFilter[0], new EntityFilter[0]);
 	
 	public EntityFilterList(EntityFilter... filters)
 	{
@@ -30,6 +59,7 @@ public class EntityFilterList
 	public EntityFilterList(List<EntityFilter> filters)
 	{
 		entityFilters = Collections.unmodifiableList(filters);
+		filterStates = new byte[filters.size()];
 	}
 	
 	public final void forEach(Consumer<? super Setting> action)
@@ -39,26 +69,115 @@ public class EntityFilterList
 	
 	public final <T extends Entity> Stream<T> applyTo(Stream<T> stream)
 	{
-		for(EntityFilter filter : entityFilters)
+		CompiledFilters compiled = compileIfChanged();
+		if(compiled.typeFilters.length == 0
+			&& compiled.instanceFilters.length == 0)
+			return stream;
+		
+		return stream.filter(compiled::test);
+	}
+	
+	public final boolean testOne(Entity entity)
+	{
+		return compileIfChanged().test(entity);
+	}
+	
+	/**
+	 * Must be called on the client thread, before the filters are used.
+	 */
+	private CompiledFilters compileIfChanged()
+	{
+		boolean changed = false;
+		for(int i = 0; i < filterStates.length; i++)
 		{
-			if(!filter.isFilterEnabled())
-				continue;
+			EntityFilter filter = entityFilters.get(i);
+			byte state = !filter.isFilterEnabled() ? OFF
+				: filter.isTypeFilter() ? TYPE : INSTANCE;
 			
-			stream = stream.filter(filter);
+			if(filterStates[i] != state)
+			{
+				filterStates[i] = state;
+				changed = true;
+			}
 		}
 		
-		return stream;
+		if(!changed)
+			return compiled;
+		
+		ArrayList<EntityFilter> typeFilters = new ArrayList<>();
+		ArrayList<EntityFilter> instanceFilters = new ArrayList<>();
+		for(int i = 0; i < filterStates.length; i++)
+			if(filterStates[i] == TYPE)
+				typeFilters.add(entityFilters.get(i));
+			else if(filterStates[i] == INSTANCE)
+				instanceFilters.add(entityFilters.get(i));
+			
+		return compiled =
+			new CompiledFilters(typeFilters.toArray(EntityFilter[]::new),
+				instanceFilters.toArray(EntityFilter[]::new));
 	}
 	
-	public final boolean testOne(Entity entity)
+	private static final class CompiledFilters
 	{
-		for(EntityFilter filter : entityFilters)
-			if(filter.isFilterEnabled() && !filter.test(entity))
-				return false;
+		private final EntityFilter[] typeFilters;
+		private final EntityFilter[] instanceFilters;
+		
+		// Filled in as entities are tested. Each slot is either null or an
+		// immutable TypeVerdict, so threads that race on the same slot can
+		// only compute and store the same verdict twice.
+		private final TypeVerdict[] verdicts;
+		
+		private CompiledFilters(EntityFilter[] typeFilters,
+			EntityFilter[] instanceFilters)
+		{
+			this.typeFilters = typeFilters;
+			this.instanceFilters = instanceFilters;
+			verdicts = new TypeVerdict[Registries.ENTITY_TYPE.size()];
+		}
+		
+		private boolean test(Entity entity)
+		{
+			byte verdict = getVerdict(entity);
+			if(verdict != CHECK)
+				return verdict == ACCEPT;
+			
+			for(EntityFilter filter : instanceFilters)
+				if(!filter.test(entity))
+					return false;
+				
+			return true;
+		}
+		
+		private byte getVerdict(Entity entity)
+		{
+			EntityType<?> type = entity.getType();
+			int id = Registries.ENTITY_TYPE.getRawId(type);
+			if(id < 0 || id >= verdicts.length)
+				return computeVerdict(entity);
+			
+			// also catches raw IDs that were remapped by registry sync
+			TypeVerdict cached = verdicts[id];
+			if(cached != null && cached.type() == type)
+				return cached.verdict();
 			
-		return true;
+			byte verdict = computeVerdict(entity);
+			verdicts[id] = new TypeVerdict(type, verdict);
+			return verdict;
+		}
+		
+		private byte computeVerdict(Entity entity)
+		{
+			for(EntityFilter filter : typeFilters)
+				if(!filter.test(entity))
+					return REJECT;
+				
+			return instanceFilters.length == 0 ? ACCEPT : CHECK;
+		}
 	}
 	
+	private record TypeVerdict(EntityType<?> type, byte verdict)
+	{}
+	
 	public static EntityFilterList genericCombat()
 	{
 		return new EntityFilterList(FilterPlayersSetting.genericCombat(false),
@@ -95,6 +214,16 @@ public class EntityFilterList
 	{
 		public boolean isFilterEnabled();
 		
+		/**
+		 * Returns true if this filter gives the same result for all entities
+		 * of the same {@link EntityType}, so that it only needs to be checked
+		 * once per type.
+		 */
+		public default boolean isTypeFilter()
+		{
+			return false;
+		}
+		
 		public Setting getSetting();
 	}
 }
@@ -55,6 +55,13 @@ public abstract class AttackDetectingEntityFilter implements EntityFilter
 		return mode.get() != Mode.OFF;
 	}
 	
+	@Override
+	public final boolean isTypeFilter()
+	{
+		// only the "if calm" test needs to look at the individual entity
+		return mode.get() != Mode.IF_CALM;
+	}
+	
 	@Override
 	public final Setting getSetting()
 	{
@@ -10,7 +10,7 @@ package net.wurstclient.settings.filters;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.passive.AllayEntity;
 
-public final class FilterAllaysSetting extends EntityFilterCheckbox
+public final class FilterAllaysSetting extends TypeFilterCheckbox
 {
 	public FilterAllaysSetting(String description, boolean checked)
 	{
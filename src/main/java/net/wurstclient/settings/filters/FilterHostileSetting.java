@@ -12,7 +12,7 @@ import net.minecraft.entity.mob.Angerable;
 import net.minecraft.entity.mob.Monster;
 import net.minecraft.entity.mob.PiglinEntity;
 
-public final class FilterHostileSetting extends EntityFilterCheckbox
+public final class FilterHostileSetting extends TypeFilterCheckbox
 {
 	private static final String EXCEPTIONS_TEXT = "\n\nThis filter does not"
 		+ " affect endermen, non-brute piglins, and zombified piglins.";
@@ -13,7 +13,7 @@ import net.minecraft.entity.passive.AxolotlEntity;
 import net.minecraft.entity.passive.PufferfishEntity;
 import net.minecraft.entity.passive.WaterAnimalEntity;
 
-public final class FilterPassiveWaterSetting extends EntityFilterCheckbox
+public final class FilterPassiveWaterSetting extends TypeFilterCheckbox
 {
 	private static final String EXCEPTIONS_TEXT =
 		"\n\nThis filter does not affect guardians, drowned, and pufferfish.";
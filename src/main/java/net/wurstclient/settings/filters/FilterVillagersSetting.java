@@ -10,7 +10,7 @@ package net.wurstclient.settings.filters;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.passive.MerchantEntity;
 
-public final class FilterVillagersSetting extends EntityFilterCheckbox
+public final class FilterVillagersSetting extends TypeFilterCheckbox
 {
 	public FilterVillagersSetting(String description, boolean checked)
 	{
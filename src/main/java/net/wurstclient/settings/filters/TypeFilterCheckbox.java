@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.settings.filters;
+
+/**
+ * An {@link EntityFilterCheckbox} whose test only depends on the entity's
+ * type, so that it only needs to run once per type.
+ */
+public abstract class TypeFilterCheckbox extends EntityFilterCheckbox
+{
+	public TypeFilterCheckbox(String name, String description,
+		boolean checked)
+	{
+		super(name, description, checked);
+	}
+	
+	@Override
+	public final boolean isTypeFilter()
+	{
+		return true;
+	}
+}
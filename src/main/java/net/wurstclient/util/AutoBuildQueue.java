@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import net.minecraft.item.Item;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * The blocks that AutoBuild still has to place, in template order. The blocks
+ * are also bucketed by chunk, so that only the chunks near the player need to
+ * be looked at each tick, no matter how big the template is.
+ *
+ * <p>
+ * Blocks are removed once they are no longer replaceable, i.e. once they
+ * have been placed (by AutoBuild or otherwise).
+ */
+public final class AutoBuildQueue
+{
+	private final LinkedHashMap<BlockPos, Entry> entries =
+		new LinkedHashMap<>();
+	private final HashMap<Long, HashMap<BlockPos, Entry>> buckets =
+		new HashMap<>();
+	private int version;
+	
+	public AutoBuildQueue()
+	{}
+	
+	public AutoBuildQueue(LinkedHashMap<BlockPos, Item> blocks)
+	{
+		int index = 0;
+		for(Map.Entry<BlockPos, Item> block : blocks.entrySet())
+		{
+			BlockPos pos = block.getKey();
+			Entry entry = new Entry(pos, block.getValue(), index++);
+			if(isPlaced(pos))
+				continue;
+			
+			entries.put(pos, entry);
+			buckets.computeIfAbsent(ChunkPos.toLong(pos),
+				chunk -> new HashMap<>()).put(pos, entry);
+		}
+	}
+	
+	/**
+	 * Removes the block at the given position if it has been placed.
+	 */
+	public void update(BlockPos pos)
+	{
+		if(entries.containsKey(pos) && isPlaced(pos))
+			remove(pos);
+	}
+	
+	/**
+	 * Removes all blocks in the given chunk that have been placed.
+	 */
+	public void update(ChunkPos chunkPos)
+	{
+		HashMap<BlockPos, Entry> bucket = buckets.get(chunkPos.toLong());
+		if(bucket == null)
+			return;
+		
+		for(BlockPos pos : new ArrayList<>(bucket.keySet()))
+			if(isPlaced(pos))
+				remove(pos);
+	}
+	
+	/**
+	 * Removes all blocks in the chunks near the given position that have been
+	 * placed.
+	 */
+	public void updateNear(Vec3d center, double range)
+	{
+		forEachChunkNear(center, range, this::update);
+	}
+	
+	/**
+	 * Returns the blocks whose centers are within the given range of the given
+	 * position, in template order.
+	 */
+	public ArrayList<Entry> getEntriesNear(Vec3d center, double range)
+	{
+		ArrayList<Entry> nearbyEntries = new ArrayList<>();
+		double rangeSq = range * range;
+		
+		forEachChunkNear(center, range, chunkPos -> {
+			HashMap<BlockPos, Entry> bucket = buckets.get(chunkPos.toLong());
+			if(bucket == null)
+				return;
+			
+			for(Entry entry : bucket.values())
+				if(entry.pos().getSquaredDistance(center) <= rangeSq)
+					nearbyEntries.add(entry);
+		});
+		
+		nearbyEntries.sort(Comparator.comparingInt(Entry::index));
+		return nearbyEntries;
+	}
+	
+	/**
+	 * Returns up to <code>limit</code> blocks in template order.
+	 */
+	public ArrayList<Entry> getFirstEntries(int limit)
+	{
+		ArrayList<Entry> firstEntries = new ArrayList<>();
+		Iterator<Entry> iterator = entries.values().iterator();
+		while(iterator.hasNext() && firstEntries.size() < limit)
+			firstEntries.add(iterator.next());
+		
+		return firstEntries;
+	}
+	
+	public Entry getFirst()
+	{
+		return entries.isEmpty() ? null : entries.values().iterator().next();
+	}
+	
+	public int size()
+	{
+		return entries.size();
+	}
+	
+	public boolean isEmpty()
+	{
+		return entries.isEmpty();
+	}
+	
+	/**
+	 * Returns a number that changes whenever blocks are removed, so that
+	 * anything derived from this queue knows when to rebuild.
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+	
+	public void clear()
+	{
+		entries.clear();
+		buckets.clear();
+		version++;
+	}
+	
+	private void remove(BlockPos pos)
+	{
+		entries.remove(pos);
+		
+		long chunk = ChunkPos.toLong(pos);
+		HashMap<BlockPos, Entry> bucket = buckets.get(chunk);
+		if(bucket != null)
+		{
+			bucket.remove(pos);
+			if(bucket.isEmpty())
+				buckets.remove(chunk);
+		}
+		
+		version++;
+	}
+	
+	private void forEachChunkNear(Vec3d center, double range,
+		Consumer<ChunkPos> action)
+	{
+		int minX = MathHelper.floor(center.x - range) >> 4;
+		int maxX = MathHelper.floor(center.x + range) >> 4;
+		int minZ = MathHelper.floor(center.z - range) >> 4;
+		int maxZ = MathHelper.floor(center.z + range) >> 4;
+		
+		for(int x = minX; x <= maxX; x++)
+			for(int z = minZ; z <= maxZ; z++)
+				action.accept(new ChunkPos(x, z));
+	}
+	
+	private boolean isPlaced(BlockPos pos)
+	{
+		return !BlockUtils.getState(pos).isReplaceable();
+	}
+	
+	public record Entry(BlockPos pos, Item item, int index)
+	{}
+}
@@ -7,10 +7,19 @@
  */
 package net.wurstclient.util;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.List;
 
 import net.minecraft.item.Item;
 import net.minecraft.util.math.BlockPos;
@@ -21,57 +30,135 @@ import net.wurstclient.util.json.JsonUtils;
 import net.wurstclient.util.json.WsonArray;
 import net.wurstclient.util.json.WsonObject;
 
+/**
+ * A template for AutoBuild and InstaBuild. Templates can be JSON files
+ * (versions 1 and 2) or compact binary files (version 3), which are much
+ * faster to load for large templates.
+ *
+ * <p>
+ * Binary templates are laid out as follows:
+ * <ol>
+ * <li>the magic bytes <code>WTPL</code> and the format version as a varint,
+ * <li>the palette: its size as a varint, followed by the block names as
+ * modified UTF-8 strings (an empty name means any block),
+ * <li>the number of blocks as a varint, followed by each block's palette
+ * index as a varint and its position relative to the previous block as three
+ * zigzag-encoded varints (left, up, front).
+ * </ol>
+ */
 public final class AutoBuildTemplate
 {
+	public static final String BINARY_EXTENSION = ".wtpl";
+	private static final byte[] BINARY_MAGIC = {'W', 'T', 'P', 'L'};
+	private static final int BINARY_VERSION = 3;
+	private static final int MAX_BLOCKS = 1 << 24;
+	
 	private final Path path;
 	private final String name;
-	private final LinkedHashSet<BlockData> blocks;
+	private final String[] palette;
+	private final int[] paletteIndices;
+	private final int[] positions;
 	
-	private AutoBuildTemplate(Path path, LinkedHashSet<BlockData> blocks)
+	private AutoBuildTemplate(Path path, String[] palette,
+		int[] paletteIndices, int[] positions)
 	{
 		this.path = path;
 		String fileName = path.getFileName().toString();
 		name = fileName.substring(0, fileName.lastIndexOf("."));
-		this.blocks = blocks;
+		this.palette = palette;
+		this.paletteIndices = paletteIndices;
+		this.positions = positions;
 	}
 	
 	public static AutoBuildTemplate load(Path path)
 		throws IOException, JsonException
 	{
+		try(InputStream in =
+			new BufferedInputStream(Files.newInputStream(path)))
+		{
+			if(Arrays.equals(in.readNBytes(BINARY_MAGIC.length), BINARY_MAGIC))
+				return loadBinary(path, new DataInputStream(in));
+		}
+		
 		WsonObject json = JsonUtils.parseFileToObject(path);
 		int version = json.getInt("version", 1);
 		
 		WsonArray jsonBlocks = json.getArray("blocks");
-		LinkedHashSet<BlockData> loadedBlocks = new LinkedHashSet<>();
 		if(jsonBlocks.isEmpty())
 			throw new JsonException("Template has no blocks!");
 		
-		switch(version)
+		return switch(version)
 		{
-			case 1 -> loadV1(jsonBlocks, loadedBlocks);
-			case 2 -> loadV2(jsonBlocks, loadedBlocks);
+			case 1 -> loadV1(path, jsonBlocks);
+			case 2 -> loadV2(path, jsonBlocks);
 			default -> throw new JsonException(
 				"Unknown template version: " + version);
+		};
+	}
+	
+	private static AutoBuildTemplate loadBinary(Path path, DataInputStream in)
+		throws IOException
+	{
+		int version = readVarInt(in);
+		if(version != BINARY_VERSION)
+			throw new IOException("Unknown template version: " + version);
+		
+		int paletteSize = readVarInt(in);
+		if(paletteSize < 1 || paletteSize > MAX_BLOCKS)
+			throw new IOException("Invalid palette size: " + paletteSize);
+		
+		String[] palette = new String[paletteSize];
+		for(int i = 0; i < paletteSize; i++)
+			palette[i] = in.readUTF();
+		
+		int size = readVarInt(in);
+		if(size < 1)
+			throw new IOException("Template has no blocks!");
+		if(size > MAX_BLOCKS)
+			throw new IOException("Template is too big: " + size + " blocks");
+			
+		// blocks are decoded straight into the arrays as they are read,
+		// without building any intermediate objects
+		int[] paletteIndices = new int[size];
+		int[] positions = new int[size * 3];
+		int x = 0;
+		int y = 0;
+		int z = 0;
+		for(int i = 0; i < size; i++)
+		{
+			int paletteIndex = readVarInt(in);
+			if(paletteIndex < 0 || paletteIndex >= paletteSize)
+				throw new IOException("Block " + i
+					+ " has invalid palette index " + paletteIndex);
+			
+			paletteIndices[i] = paletteIndex;
+			positions[i * 3] = x += readZigZag(in);
+			positions[i * 3 + 1] = y += readZigZag(in);
+			positions[i * 3 + 2] = z += readZigZag(in);
 		}
 		
-		return new AutoBuildTemplate(path, loadedBlocks);
+		return new AutoBuildTemplate(path, palette, paletteIndices, positions);
 	}
 	
-	private static void loadV2(WsonArray jsonBlocks,
-		LinkedHashSet<BlockData> loadedBlocks) throws JsonException
+	private static AutoBuildTemplate loadV2(Path path, WsonArray jsonBlocks)
+		throws JsonException
 	{
+		LinkedHashMap<String, Integer> palette = new LinkedHashMap<>();
+		int[] paletteIndices = new int[jsonBlocks.size()];
+		int[] positions = new int[jsonBlocks.size() * 3];
+		
 		for(int i = 0; i < jsonBlocks.size(); i++)
 		{
 			WsonObject jsonBlock = jsonBlocks.getObject(i);
 			try
 			{
 				WsonArray jsonPos = jsonBlock.getArray("pos");
-				int[] pos = new int[3];
-				pos[0] = jsonPos.getInt(0);
-				pos[1] = jsonPos.getInt(1);
-				pos[2] = jsonPos.getInt(2);
+				positions[i * 3] = jsonPos.getInt(0);
+				positions[i * 3 + 1] = jsonPos.getInt(1);
+				positions[i * 3 + 2] = jsonPos.getInt(2);
 				String name = jsonBlock.getString("block", "");
-				loadedBlocks.add(new BlockData(pos, name));
+				paletteIndices[i] =
+					palette.computeIfAbsent(name, n -> palette.size());
 				
 			}catch(JsonException e)
 			{
@@ -79,21 +166,25 @@ public final class AutoBuildTemplate
 					e);
 			}
 		}
+		
+		String[] paletteArray = palette.keySet().toArray(String[]::new);
+		return new AutoBuildTemplate(path, paletteArray, paletteIndices,
+			positions);
 	}
 	
-	private static void loadV1(WsonArray jsonBlocks,
-		LinkedHashSet<BlockData> loadedBlocks) throws JsonException
+	private static AutoBuildTemplate loadV1(Path path, WsonArray jsonBlocks)
+		throws JsonException
 	{
+		int[] positions = new int[jsonBlocks.size() * 3];
+		
 		for(int i = 0; i < jsonBlocks.size(); i++)
 		{
 			WsonArray jsonBlock = jsonBlocks.getArray(i);
 			try
 			{
-				int[] pos = new int[3];
-				pos[0] = jsonBlock.getInt(0);
-				pos[1] = jsonBlock.getInt(1);
-				pos[2] = jsonBlock.getInt(2);
-				loadedBlocks.add(new BlockData(pos, ""));
+				positions[i * 3] = jsonBlock.getInt(0);
+				positions[i * 3 + 1] = jsonBlock.getInt(1);
+				positions[i * 3 + 2] = jsonBlock.getInt(2);
 				
 			}catch(JsonException e)
 			{
@@ -101,6 +192,93 @@ public final class AutoBuildTemplate
 					e);
 			}
 		}
+		
+		return new AutoBuildTemplate(path, new String[]{""},
+			new int[jsonBlocks.size()], positions);
+	}
+	
+	/**
+	 * Saves a template in the binary format.
+	 *
+	 * @param positions
+	 *            The positions of the blocks relative to the template's
+	 *            origin, as (left, up, front).
+	 * @param blockNames
+	 *            The name of each block, or <code>null</code> if the template
+	 *            shouldn't specify block types.
+	 */
+	public static void saveBinary(Path path, List<BlockPos> positions,
+		List<String> blockNames) throws IOException
+	{
+		LinkedHashMap<String, Integer> palette = new LinkedHashMap<>();
+		int[] paletteIndices = new int[positions.size()];
+		for(int i = 0; i < positions.size(); i++)
+		{
+			String name = blockNames == null ? "" : blockNames.get(i);
+			paletteIndices[i] =
+				palette.computeIfAbsent(name, n -> palette.size());
+		}
+		
+		try(DataOutputStream out = new DataOutputStream(
+			new BufferedOutputStream(Files.newOutputStream(path))))
+		{
+			out.write(BINARY_MAGIC);
+			writeVarInt(out, BINARY_VERSION);
+			
+			writeVarInt(out, palette.size());
+			for(String name : palette.keySet())
+				out.writeUTF(name);
+			
+			writeVarInt(out, positions.size());
+			BlockPos prevPos = BlockPos.ORIGIN;
+			for(int i = 0; i < positions.size(); i++)
+			{
+				BlockPos pos = positions.get(i);
+				writeVarInt(out, paletteIndices[i]);
+				writeZigZag(out, pos.getX() - prevPos.getX());
+				writeZigZag(out, pos.getY() - prevPos.getY());
+				writeZigZag(out, pos.getZ() - prevPos.getZ());
+				prevPos = pos;
+			}
+		}
+	}
+	
+	private static int readVarInt(DataInput in) throws IOException
+	{
+		int value = 0;
+		for(int shift = 0; shift < 35; shift += 7)
+		{
+			byte b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			if((b & 0x80) == 0)
+				return value;
+		}
+		
+		throw new IOException("VarInt is too long");
+	}
+	
+	private static void writeVarInt(DataOutput out, int value)
+		throws IOException
+	{
+		while((value & ~0x7F) != 0)
+		{
+			out.writeByte(value & 0x7F | 0x80);
+			value >>>= 7;
+		}
+		
+		out.writeByte(value);
+	}
+	
+	private static int readZigZag(DataInput in) throws IOException
+	{
+		int value = readVarInt(in);
+		return value >>> 1 ^ -(value & 1);
+	}
+	
+	private static void writeZigZag(DataOutput out, int value)
+		throws IOException
+	{
+		writeVarInt(out, value << 1 ^ value >> 31);
 	}
 	
 	public LinkedHashMap<BlockPos, Item> getBlocksToPlace(BlockPos origin,
@@ -110,11 +288,15 @@ public final class AutoBuildTemplate
 		Direction left = front.rotateYCounterclockwise();
 		LinkedHashMap<BlockPos, Item> blocksToPlace = new LinkedHashMap<>();
 		
-		for(BlockData block : blocks)
+		Item[] items = new Item[palette.length];
+		for(int i = 0; i < palette.length; i++)
+			items[i] = BlockUtils.getBlockFromName(palette[i]).asItem();
+		
+		for(int i = 0; i < paletteIndices.length; i++)
 		{
-			BlockPos pos = block.toBlockPos(origin, front, left);
-			Item item = block.toItem();
-			blocksToPlace.put(pos, item);
+			BlockPos pos = origin.offset(left, positions[i * 3])
+				.up(positions[i * 3 + 1]).offset(front, positions[i * 3 + 2]);
+			blocksToPlace.put(pos, items[paletteIndices[i]]);
 		}
 		
 		return blocksToPlace;
@@ -122,7 +304,7 @@ public final class AutoBuildTemplate
 	
 	public int size()
 	{
-		return blocks.size();
+		return paletteIndices.length;
 	}
 	
 	public boolean isSelected(FileSetting setting)
@@ -134,18 +316,4 @@ public final class AutoBuildTemplate
 	{
 		return name;
 	}
-	
-	private record BlockData(int[] pos, String name)
-	{
-		public BlockPos toBlockPos(BlockPos origin, Direction front,
-			Direction left)
-		{
-			return origin.offset(left, pos[0]).up(pos[1]).offset(front, pos[2]);
-		}
-		
-		public Item toItem()
-		{
-			return BlockUtils.getBlockFromName(name).asItem();
-		}
-	}
 }
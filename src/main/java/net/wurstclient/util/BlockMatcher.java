@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+
+/**
+ * An immutable set of blocks, stored as a {@link BitSet} over their raw
+ * registry IDs. Checking a block only takes an ID lookup and a bit test,
+ * without building any {@link net.minecraft.util.Identifier} strings, which
+ * makes it cheap enough for the render and chunk builder threads.
+ */
+public final class BlockMatcher
+{
+	public static final BlockMatcher NONE = new BlockMatcher(new BitSet());
+	
+	private final BitSet rawIds;
+	
+	private BlockMatcher(BitSet rawIds)
+	{
+		this.rawIds = rawIds;
+	}
+	
+	/**
+	 * Creates a matcher for the given block names. Names of blocks that don't
+	 * exist are ignored.
+	 */
+	public static BlockMatcher of(Collection<String> blockNames)
+	{
+		BitSet rawIds = new BitSet(Registries.BLOCK.size());
+		for(String name : blockNames)
+		{
+			Block block = BlockUtils.getBlockFromNameOrID(name);
+			if(block != null)
+				rawIds.set(Registries.BLOCK.getRawId(block));
+		}
+		
+		return new BlockMatcher(rawIds);
+	}
+	
+	public static BlockMatcher of(Block block)
+	{
+		BitSet rawIds = new BitSet(Registries.BLOCK.size());
+		rawIds.set(Registries.BLOCK.getRawId(block));
+		return new BlockMatcher(rawIds);
+	}
+	
+	public boolean matches(Block block)
+	{
+		return rawIds.get(Registries.BLOCK.getRawId(block));
+	}
+	
+	public boolean matches(BlockState state)
+	{
+		return matches(state.getBlock());
+	}
+	
+	public boolean isEmpty()
+	{
+		return rawIds.isEmpty();
+	}
+}
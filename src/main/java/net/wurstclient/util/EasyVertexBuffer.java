@@ -60,6 +60,18 @@ public final class EasyVertexBuffer implements AutoCloseable
 		}
 	}
 	
+	/**
+	 * Uploads a buffer that was built elsewhere, e.g. on a background thread.
+	 * The {@link BuiltBuffer} can be null and isn't closed by this method.
+	 */
+	public static EasyVertexBuffer upload(BuiltBuffer buffer, DrawMode drawMode)
+	{
+		if(buffer == null)
+			return new EasyVertexBuffer(drawMode);
+		
+		return new EasyVertexBuffer(buffer, drawMode);
+	}
+	
 	private EasyVertexBuffer(BuiltBuffer buffer, DrawMode drawMode)
 	{
 		DrawParameters drawParams = buffer.getDrawParameters();
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.decoration.EndCrystalEntity;
+import net.minecraft.entity.projectile.ShulkerBulletEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.wurstclient.WurstClient;
+
+/**
+ * A snapshot of all loaded entities that is taken at most once per tick and
+ * shared by all hacks that look for targets. Whether an entity can be
+ * attacked, which includes checking the friends list, is decided once while
+ * taking the snapshot. The entities are sorted into a grid of 16x16 block
+ * columns, so that range queries only need to look at the nearby columns.
+ *
+ * <p>
+ * Must only be used on the client thread.
+ */
+public final class EntitySnapshot
+{
+	private static final int CELL_SHIFT = 4;
+	
+	// entities can move a little after the snapshot is taken
+	private static final double MARGIN = 4;
+	
+	private int tick;
+	private int snapshotTick = -1;
+	private ClientWorld snapshotWorld;
+	
+	private final ArrayList<Entity> attackable = new ArrayList<>();
+	private final IdentityHashMap<Entity, Boolean> isAttackable =
+		new IdentityHashMap<>();
+	private final HashMap<Long, ArrayList<Entity>> cells = new HashMap<>();
+	
+	public EntitySnapshot()
+	{
+		ClientTickEvents.START_CLIENT_TICK.register(client -> tick++);
+	}
+	
+	private void update()
+	{
+		ClientWorld world = WurstClient.MC.world;
+		if(snapshotTick == tick && snapshotWorld == world)
+			return;
+		
+		snapshotTick = tick;
+		snapshotWorld = world;
+		attackable.clear();
+		isAttackable.clear();
+		cells.clear();
+		
+		if(world == null)
+			return;
+		
+		for(Entity e : world.getEntities())
+		{
+			if(e.isRemoved())
+				continue;
+			
+			boolean canAttack = checkAttackable(e);
+			isAttackable.put(e, canAttack);
+			if(canAttack)
+				attackable.add(e);
+			
+			long cell = ChunkPos.toLong(toCell(e.getX()), toCell(e.getZ()));
+			cells.computeIfAbsent(cell, c -> new ArrayList<>()).add(e);
+		}
+	}
+	
+	private static boolean checkAttackable(Entity e)
+	{
+		return (e instanceof LivingEntity living && living.getHealth() > 0
+			|| e instanceof EndCrystalEntity
+			|| e instanceof ShulkerBulletEntity)
+			&& e != WurstClient.MC.player && !(e instanceof FakePlayerEntity)
+			&& !WurstClient.INSTANCE.getFriends().isFriend(e);
+	}
+	
+	/**
+	 * Returns all entities that can be attacked, i.e. living entities, end
+	 * crystals and shulker bullets that are not the player, a FreeCam fake
+	 * player or a friend.
+	 */
+	public ArrayList<Entity> getAttackable()
+	{
+		update();
+		
+		ArrayList<Entity> result = new ArrayList<>(attackable.size());
+		for(Entity e : attackable)
+			if(!e.isRemoved())
+				result.add(e);
+			
+		return result;
+	}
+	
+	/**
+	 * Returns the attackable entities within the given range of the player.
+	 */
+	public ArrayList<Entity> getAttackable(double range)
+	{
+		return getNearby(range, true);
+	}
+	
+	/**
+	 * Returns all entities within the given range of the player, including
+	 * ones that can't be attacked.
+	 */
+	public ArrayList<Entity> getNearby(double range)
+	{
+		return getNearby(range, false);
+	}
+	
+	private ArrayList<Entity> getNearby(double range, boolean attackableOnly)
+	{
+		update();
+		
+		ArrayList<Entity> result = new ArrayList<>();
+		ClientPlayerEntity player = WurstClient.MC.player;
+		if(player == null)
+			return result;
+		
+		double rangeSq = range * range;
+		int minX = toCell(player.getX() - range - MARGIN);
+		int maxX = toCell(player.getX() + range + MARGIN);
+		int minZ = toCell(player.getZ() - range - MARGIN);
+		int maxZ = toCell(player.getZ() + range + MARGIN);
+		
+		for(int x = minX; x <= maxX; x++)
+			for(int z = minZ; z <= maxZ; z++)
+			{
+				ArrayList<Entity> cell = cells.get(ChunkPos.toLong(x, z));
+				if(cell == null)
+					continue;
+				
+				for(Entity e : cell)
+				{
+					if(e.isRemoved() || attackableOnly && !isAttackable.get(e))
+						continue;
+					
+					if(player.squaredDistanceTo(e) <= rangeSq)
+						result.add(e);
+				}
+			}
+		
+		return result;
+	}
+	
+	private static int toCell(double coord)
+	{
+		return MathHelper.floor(coord) >> CELL_SHIFT;
+	}
+	
+	/**
+	 * Returns whether the given entity can be attacked, using the result
+	 * from the snapshot if it's in there.
+	 */
+	public boolean isAttackable(Entity e)
+	{
+		update();
+		
+		if(e == null || e.isRemoved())
+			return false;
+		
+		Boolean canAttack = isAttackable.get(e);
+		return canAttack != null ? canAttack : checkAttackable(e);
+	}
+}
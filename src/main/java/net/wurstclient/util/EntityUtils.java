@@ -13,10 +13,7 @@ import java.util.stream.StreamSupport;
 
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.decoration.EndCrystalEntity;
 import net.minecraft.entity.passive.AnimalEntity;
-import net.minecraft.entity.projectile.ShulkerBulletEntity;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
@@ -29,19 +26,41 @@ public enum EntityUtils
 	protected static final WurstClient WURST = WurstClient.INSTANCE;
 	protected static final MinecraftClient MC = WurstClient.MC;
 	
+	/**
+	 * Returns all attackable entities from this tick's
+	 * {@link EntitySnapshot}.
+	 */
 	public static Stream<Entity> getAttackableEntities()
 	{
-		return StreamSupport.stream(MC.world.getEntities().spliterator(), true)
-			.filter(IS_ATTACKABLE);
+		return WURST.getEntitySnapshot().getAttackable().stream();
+	}
+	
+	/**
+	 * Returns the attackable entities within the given range of the player,
+	 * only looking at the nearby cells of this tick's {@link EntitySnapshot}.
+	 */
+	public static Stream<Entity> getAttackableEntities(double range)
+	{
+		return WURST.getEntitySnapshot().getAttackable(range).stream();
+	}
+	
+	/**
+	 * Like {@link #getAttackableEntities(double)}, but also only returns
+	 * entities within the given field of view (in degrees).
+	 */
+	public static Stream<Entity> getAttackableEntities(double range,
+		double fov)
+	{
+		Stream<Entity> stream = getAttackableEntities(range);
+		if(fov < 360.0)
+			stream = stream.filter(e -> RotationUtils.getAngleToLookVec(
+				e.getBoundingBox().getCenter()) <= fov / 2.0);
+		
+		return stream;
 	}
 	
-	public static final Predicate<Entity> IS_ATTACKABLE = e -> e != null
-		&& !e.isRemoved()
-		&& (e instanceof LivingEntity && ((LivingEntity)e).getHealth() > 0
-			|| e instanceof EndCrystalEntity
-			|| e instanceof ShulkerBulletEntity)
-		&& e != MC.player && !(e instanceof FakePlayerEntity)
-		&& !WURST.getFriends().isFriend(e);
+	public static final Predicate<Entity> IS_ATTACKABLE =
+		e -> WURST.getEntitySnapshot().isAttackable(e);
 	
 	public static Stream<AnimalEntity> getValidAnimals()
 	{
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.wurstclient.WurstClient;
+
+/**
+ * An index of which slots of the player's inventory hold which items, with a
+ * version number that goes up every time the inventory changes. Hacks can
+ * remember results that only depend on the inventory, like the best armor
+ * piece, together with the version they were computed for and skip the work
+ * while the version stays the same.
+ *
+ * <p>
+ * Changes are detected by comparing each slot's stack, count and damage with
+ * the last known values, which is much cheaper than testing every stack
+ * against a predicate. This also catches changes that the client makes on
+ * its own, like clicks and eating, which don't come with a packet.
+ *
+ * <p>
+ * Covers slots 0-40 (main inventory, armor and offhand), using the same slot
+ * numbers as {@link PlayerInventory#getStack(int)}. Must only be used on the
+ * client thread.
+ */
+public final class InventoryIndex
+{
+	private static final int SLOTS = 41;
+	private static final int OFFHAND = 40;
+	
+	private final ItemStack[] stacks = new ItemStack[SLOTS];
+	private final int[] counts = new int[SLOTS];
+	private final int[] damages = new int[SLOTS];
+	private final IdentityHashMap<Item, int[]> slotsByItem =
+		new IdentityHashMap<>();
+	
+	private PlayerInventory inventory;
+	private int version;
+	
+	/**
+	 * Returns a number that goes up every time the player's inventory
+	 * changes.
+	 */
+	public int getVersion()
+	{
+		update();
+		return version;
+	}
+	
+	/**
+	 * Same as {@link InventoryUtils#indexOf(Item, int, boolean)}, but only
+	 * looks at the slots that are known to hold the item.
+	 */
+	public int indexOf(Item item, int maxInvSlot, boolean includeOffhand)
+	{
+		update();
+		int[] slots = slotsByItem.get(item);
+		if(slots == null)
+			return -1;
+		
+		for(int slot : slots)
+			if(slot < maxInvSlot || includeOffhand && slot == OFFHAND)
+				return slot;
+			
+		return -1;
+	}
+	
+	/**
+	 * Same as {@link InventoryUtils#count(Item, int, boolean)}, but only looks
+	 * at the slots that are known to hold the item.
+	 */
+	public int count(Item item, int maxInvSlot, boolean includeOffhand)
+	{
+		update();
+		int[] slots = slotsByItem.get(item);
+		if(slots == null)
+			return 0;
+		
+		int count = 0;
+		for(int slot : slots)
+			if(slot < maxInvSlot || includeOffhand && slot == OFFHAND)
+				count += counts[slot];
+			
+		return count;
+	}
+	
+	private void update()
+	{
+		ClientPlayerEntity player = WurstClient.MC.player;
+		PlayerInventory newInventory = player == null ? null
+			: player.getInventory();
+		
+		boolean changed = newInventory != inventory;
+		inventory = newInventory;
+		
+		if(inventory == null)
+		{
+			if(changed)
+			{
+				Arrays.fill(stacks, null);
+				slotsByItem.clear();
+				version++;
+			}
+			
+			return;
+		}
+		
+		for(int i = 0; i < SLOTS; i++)
+		{
+			ItemStack stack = inventory.getStack(i);
+			int count = stack.getCount();
+			int damage = stack.getDamage();
+			if(stack == stacks[i] && count == counts[i]
+				&& damage == damages[i])
+				continue;
+			
+			stacks[i] = stack;
+			counts[i] = count;
+			damages[i] = damage;
+			changed = true;
+		}
+		
+		if(!changed)
+			return;
+		
+		version++;
+		slotsByItem.clear();
+		for(int i = 0; i < SLOTS; i++)
+		{
+			Item item = stacks[i].getItem();
+			int[] slots = slotsByItem.get(item);
+			if(slots == null)
+				slots = new int[]{i};
+			else
+			{
+				slots = Arrays.copyOf(slots, slots.length + 1);
+				slots[slots.length - 1] = i;
+			}
+			
+			slotsByItem.put(item, slots);
+		}
+	}
+}
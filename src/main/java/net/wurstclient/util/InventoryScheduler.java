@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.screen.slot.SlotActionType;
+import net.wurstclient.WurstClient;
+import net.wurstclient.events.UpdateListener;
+
+/**
+ * Sends the inventory clicks of all hacks from the client thread, within a
+ * shared budget of clicks per tick and per second.
+ *
+ * <p>
+ * Hacks submit their clicks as a plan. As many clicks as the budget allows
+ * are sent right away and the rest continue on the following ticks. A plan
+ * that holds an item on the cursor keeps the plans behind it waiting, so
+ * that clicks from different hacks never get mixed up. Plans that would
+ * touch slots that another plan is still using are rejected, and so are
+ * plans from a hack that already has one running.
+ *
+ * <p>
+ * Must only be used on the client thread.
+ */
+public final class InventoryScheduler implements UpdateListener
+{
+	public static final int MAX_CLICKS_PER_TICK = 8;
+	public static final int MAX_CLICKS_PER_SECOND = 80;
+	
+	private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+	private static final long ONE_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+	
+	private final ArrayList<Plan> plans = new ArrayList<>();
+	private final ArrayDeque<Long> clickTimes = new ArrayDeque<>();
+	private int clicksThisTick;
+	
+	/**
+	 * Submits clicks in the player's own inventory, to be sent as fast as the
+	 * budget allows. The plan waits while another screen is open, since the
+	 * server ignores inventory clicks during that time.
+	 */
+	public boolean submit(Object owner, List<Click> clicks)
+	{
+		return submit(owner, 0, clicks, 0);
+	}
+	
+	/**
+	 * Submits clicks in the screen handler with the given sync ID, with at
+	 * least {@code delayMs} milliseconds between two clicks. The plan is
+	 * dropped if that screen handler is closed before it's done. Plans for
+	 * the player's own inventory (sync ID 0) wait while another screen is
+	 * open instead.
+	 *
+	 * @return false if the plan was rejected because the owner already has
+	 *         a plan running or because it touches the slots of another plan
+	 */
+	public boolean submit(Object owner, int syncId, List<Click> clicks,
+		int delayMs)
+	{
+		if(clicks.isEmpty() || isBusy(owner))
+			return false;
+		
+		Plan plan = new Plan(owner, syncId, List.copyOf(clicks),
+			TimeUnit.MILLISECONDS.toNanos(delayMs));
+		for(Plan other : plans)
+			for(long slot : plan.slots)
+				if(other.slots.contains(slot))
+					return false;
+			
+		plans.add(plan);
+		run();
+		return true;
+	}
+	
+	public boolean isBusy(Object owner)
+	{
+		for(Plan plan : plans)
+			if(plan.owner == owner)
+				return true;
+			
+		return false;
+	}
+	
+	/**
+	 * Drops the owner's plan. Clicks that were already sent stay sent.
+	 */
+	public void cancel(Object owner)
+	{
+		plans.removeIf(plan -> plan.owner == owner);
+	}
+	
+	@Override
+	public void onUpdate()
+	{
+		clicksThisTick = 0;
+		run();
+	}
+	
+	private void run()
+	{
+		ClientPlayerEntity player = WurstClient.MC.player;
+		if(player == null)
+		{
+			plans.clear();
+			return;
+		}
+		
+		long now = System.nanoTime();
+		while(!clickTimes.isEmpty() && now - clickTimes.peek() >= ONE_SECOND)
+			clickTimes.poll();
+		
+		for(Iterator<Plan> itr = plans.iterator(); itr.hasNext();)
+		{
+			Plan plan = itr.next();
+			ScreenHandler handler = player.currentScreenHandler;
+			if(handler.syncId != plan.syncId)
+			{
+				// the player's inventory comes back once the screen closes,
+				// any other screen handler is gone for good
+				if(plan.syncId != 0)
+					itr.remove();
+				continue;
+			}
+			
+			if(plan.run(handler, now))
+			{
+				itr.remove();
+				continue;
+			}
+			
+			// don't let other plans click while this one holds an item
+			if(!handler.getCursorStack().isEmpty())
+				break;
+		}
+	}
+	
+	private boolean hasBudget()
+	{
+		return clicksThisTick < MAX_CLICKS_PER_TICK
+			&& clickTimes.size() < MAX_CLICKS_PER_SECOND;
+	}
+	
+	private final class Plan
+	{
+		private final Object owner;
+		private final int syncId;
+		private final List<Click> clicks;
+		private final long delay;
+		private final HashSet<Long> slots = new HashSet<>();
+		
+		private int nextClick;
+		private long nextClickTime = Long.MIN_VALUE;
+		
+		private Plan(Object owner, int syncId, List<Click> clicks, long delay)
+		{
+			this.owner = owner;
+			this.syncId = syncId;
+			this.clicks = clicks;
+			this.delay = delay;
+			
+			for(Click click : clicks)
+			{
+				slots.add(getSlotKey(syncId, click.slot()));
+				
+				// swapping always touches the player's own hotbar or offhand,
+				// whichever screen handler the click is sent to
+				if(click.action() == SlotActionType.SWAP)
+					slots.add(getSlotKey(0,
+						click.button() == 40 ? 45 : 36 + click.button()));
+			}
+		}
+		
+		/**
+		 * Slot numbers only mean something within their screen handler, so
+		 * slots are compared together with its sync ID.
+		 */
+		private static long getSlotKey(int syncId, int slot)
+		{
+			return (long)syncId << 32 | slot & 0xFFFFFFFFL;
+		}
+		
+		/**
+		 * Sends as many clicks as the delay and the budget allow and returns
+		 * true once all clicks are done.
+		 */
+		private boolean run(ScreenHandler handler, long now)
+		{
+			while(nextClick < clicks.size())
+			{
+				Click click = clicks.get(nextClick);
+				if(click.isNoOp(handler))
+				{
+					nextClick++;
+					continue;
+				}
+				
+				if(now < nextClickTime || !hasBudget())
+					return false;
+				
+				WurstClient.MC.interactionManager.clickSlot(syncId,
+					click.slot(), click.button(), click.action(),
+					WurstClient.MC.player);
+				
+				clicksThisTick++;
+				clickTimes.add(now);
+				nextClick++;
+				
+				// catch up on at most one tick of delay, so that delays
+				// shorter than a tick still allow multiple clicks per tick
+				nextClickTime =
+					Math.max(nextClickTime, now - ONE_TICK) + delay;
+			}
+			
+			return true;
+		}
+	}
+	
+	/**
+	 * A single inventory click. {@code QUICK_MOVE} and {@code THROW} clicks
+	 * on empty slots are skipped, since they wouldn't do anything.
+	 *
+	 * @param onlyIfHolding
+	 *            If true, the click is only sent when there is an item on
+	 *            the cursor. Used to put back whatever is left over after
+	 *            swapping two stacks.
+	 */
+	public record Click(int slot, int button, SlotActionType action,
+		boolean onlyIfHolding)
+	{
+		public static Click pickup(int slot)
+		{
+			return new Click(slot, 0, SlotActionType.PICKUP, false);
+		}
+		
+		public static Click pickupIfHolding(int slot)
+		{
+			return new Click(slot, 0, SlotActionType.PICKUP, true);
+		}
+		
+		public static Click quickMove(int slot)
+		{
+			return new Click(slot, 0, SlotActionType.QUICK_MOVE, false);
+		}
+		
+		public static Click throwStack(int slot)
+		{
+			return new Click(slot, 1, SlotActionType.THROW, false);
+		}
+		
+		public static Click swap(int slot, int button)
+		{
+			return new Click(slot, button, SlotActionType.SWAP, false);
+		}
+		
+		private boolean isNoOp(ScreenHandler handler)
+		{
+			if(onlyIfHolding)
+				return handler.getCursorStack().isEmpty();
+			
+			if(action != SlotActionType.QUICK_MOVE
+				&& action != SlotActionType.THROW)
+				return false;
+			
+			return slot >= 0 && slot < handler.slots.size()
+				&& !handler.getSlot(slot).hasStack();
+		}
+	}
+}
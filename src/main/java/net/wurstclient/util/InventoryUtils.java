@@ -28,17 +28,18 @@ public enum InventoryUtils
 	
 	public static int indexOf(Item item)
 	{
-		return indexOf(stack -> stack.isOf(item), 36, false);
+		return indexOf(item, 36, false);
 	}
 	
 	public static int indexOf(Item item, int maxInvSlot)
 	{
-		return indexOf(stack -> stack.isOf(item), maxInvSlot, false);
+		return indexOf(item, maxInvSlot, false);
 	}
 	
 	public static int indexOf(Item item, int maxInvSlot, boolean includeOffhand)
 	{
-		return indexOf(stack -> stack.isOf(item), maxInvSlot, includeOffhand);
+		return WurstClient.INSTANCE.getInventoryIndex().indexOf(item,
+			maxInvSlot, includeOffhand);
 	}
 	
 	public static int indexOf(Predicate<ItemStack> predicate)
@@ -75,17 +76,18 @@ public enum InventoryUtils
 	
 	public static int count(Item item)
 	{
-		return count(stack -> stack.isOf(item), 36, false);
+		return count(item, 36, false);
 	}
 	
 	public static int count(Item item, int maxInvSlot)
 	{
-		return count(stack -> stack.isOf(item), maxInvSlot, false);
+		return count(item, maxInvSlot, false);
 	}
 	
 	public static int count(Item item, int maxInvSlot, boolean includeOffhand)
 	{
-		return count(stack -> stack.isOf(item), maxInvSlot, includeOffhand);
+		return WurstClient.INSTANCE.getInventoryIndex().count(item, maxInvSlot,
+			includeOffhand);
 	}
 	
 	public static int count(Predicate<ItemStack> predicate)
@@ -14,9 +14,14 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
@@ -31,21 +36,72 @@ public abstract class AbstractChunkCoordinator implements PacketInputListener
 		new HashMap<>();
 	protected final ChunkAreaSetting area;
 	private BiPredicate<BlockPos, BlockState> query;
+	private Predicate<BlockState> stateFilter;
 	
 	protected final Set<ChunkPos> chunksToUpdate =
 		Collections.synchronizedSet(new HashSet<>());
+	protected final Set<BlockPos> blocksToUpdate =
+		Collections.synchronizedSet(new HashSet<>());
+	private HashSet<BlockPos> delayedBlockUpdates = new HashSet<>();
 	
 	public AbstractChunkCoordinator(BiPredicate<BlockPos, BlockState> query,
 		ChunkAreaSetting area)
+	{
+		this(query, state -> true, area);
+	}
+	
+	/**
+	 * @param stateFilter
+	 *            Must return true for every {@link BlockState} that the query
+	 *            could possibly match. Lets the {@link ChunkSearcher}s skip
+	 *            chunk sections that don't contain any such state.
+	 */
+	public AbstractChunkCoordinator(BiPredicate<BlockPos, BlockState> query,
+		Predicate<BlockState> stateFilter, ChunkAreaSetting area)
 	{
 		this.query = Objects.requireNonNull(query);
+		this.stateFilter = Objects.requireNonNull(stateFilter);
 		this.area = Objects.requireNonNull(area);
 	}
 	
+	@Override
+	public void onReceivedPacket(PacketInputEvent event)
+	{
+		Packet<?> packet = event.getPacket();
+		
+		// block changes only need the changed blocks to be checked again
+		if(packet instanceof BlockUpdateS2CPacket p)
+			onBlockUpdate(p.getPos());
+		else if(packet instanceof ChunkDeltaUpdateS2CPacket p)
+			p.visitUpdates((pos, state) -> onBlockUpdate(pos.toImmutable()));
+		
+		// new chunk data needs a full rescan
+		else if(packet instanceof ChunkDataS2CPacket p)
+			onChunkUpdate(new ChunkPos(p.getChunkX(), p.getChunkZ()));
+	}
+	
+	/**
+	 * Called on the network thread when a block has changed.
+	 */
+	protected void onBlockUpdate(BlockPos pos)
+	{
+		blocksToUpdate.add(pos);
+	}
+	
+	/**
+	 * Called on the network thread when a chunk has been (re)loaded.
+	 */
+	protected void onChunkUpdate(ChunkPos chunkPos)
+	{
+		chunksToUpdate.add(chunkPos);
+	}
+	
 	public boolean update()
 	{
 		DimensionType dimension = WurstClient.MC.world.getDimension();
 		HashSet<ChunkPos> chunkUpdates = clearChunksToUpdate();
+		HashMap<ChunkPos, ArrayList<BlockPos>> blockUpdates =
+			clearBlocksToUpdate();
 		boolean searchersChanged = false;
 		
 		// remove outdated ChunkSearchers
@@ -66,12 +122,26 @@ public abstract class AbstractChunkCoordinator implements PacketInputListener
 			else if(chunkUpdates.contains(searcherPos))
 				remove = true;
 			
+			// block updates during the search, it may have missed them
+			else if(blockUpdates.containsKey(searcherPos) && !searcher.isDone())
+				remove = true;
+			
 			if(remove)
 			{
 				searchers.remove(searcherPos);
 				searcher.cancel();
 				onRemove(searcher);
 				searchersChanged = true;
+				continue;
+			}
+			
+			// block updates after the search, only the changed blocks need to
+			// be checked again
+			ArrayList<BlockPos> blocks = blockUpdates.get(searcherPos);
+			if(blocks != null && searcher.updateBlocks(blocks))
+			{
+				onMatchesChanged(searcher);
+				searchersChanged = true;
 			}
 		}
 		
@@ -82,7 +152,8 @@ public abstract class AbstractChunkCoordinator implements PacketInputListener
 			if(searchers.containsKey(chunkPos))
 				continue;
 			
-			ChunkSearcher searcher = new ChunkSearcher(query, chunk, dimension);
+			ChunkSearcher searcher =
+				new ChunkSearcher(query, stateFilter, chunk, dimension);
 			searchers.put(chunkPos, searcher);
 			searcher.start();
 			searchersChanged = true;
@@ -96,11 +167,18 @@ public abstract class AbstractChunkCoordinator implements PacketInputListener
 		// Overridden in ChunkVertexBufferCoordinator
 	}
 	
+	protected void onMatchesChanged(ChunkSearcher searcher)
+	{
+		// For subclasses that keep something built from the matches
+	}
+	
 	public void reset()
 	{
 		searchers.values().forEach(ChunkSearcher::cancel);
 		searchers.clear();
 		chunksToUpdate.clear();
+		blocksToUpdate.clear();
+		delayedBlockUpdates = new HashSet<>();
 	}
 	
 	public boolean isDone()
@@ -109,15 +187,23 @@ public abstract class AbstractChunkCoordinator implements PacketInputListener
 	}
 	
 	public void setQuery(BiPredicate<BlockPos, BlockState> query)
+	{
+		setQuery(query, state -> true);
+	}
+	
+	public void setQuery(BiPredicate<BlockPos, BlockState> query,
+		Predicate<BlockState> stateFilter)
 	{
 		this.query = Objects.requireNonNull(query);
+		this.stateFilter = Objects.requireNonNull(stateFilter);
 		searchers.values().forEach(ChunkSearcher::cancel);
 		searchers.clear();
 	}
 	
 	public void setTargetBlock(Block block)
 	{
-		setQuery((pos, state) -> block == state.getBlock());
+		setQuery((pos, state) -> block == state.getBlock(),
+			state -> block == state.getBlock());
 	}
 	
 	protected HashSet<ChunkPos> clearChunksToUpdate()
@@ -129,4 +215,24 @@ public abstract class AbstractChunkCoordinator implements PacketInputListener
 			return chunks;
 		}
 	}
+	
+	private HashMap<ChunkPos, ArrayList<BlockPos>> clearBlocksToUpdate()
+	{
+		// Block update packets arrive before the client applies them, so
+		// each batch is held back until the next update, when the world has
+		// caught up.
+		HashSet<BlockPos> blocks = delayedBlockUpdates;
+		synchronized(blocksToUpdate)
+		{
+			delayedBlockUpdates = new HashSet<>(blocksToUpdate);
+			blocksToUpdate.clear();
+		}
+		
+		HashMap<ChunkPos, ArrayList<BlockPos>> blocksByChunk = new HashMap<>();
+		for(BlockPos pos : blocks)
+			blocksByChunk.computeIfAbsent(new ChunkPos(pos),
+				chunkPos -> new ArrayList<>()).add(pos);
+		
+		return blocksByChunk;
+	}
 }
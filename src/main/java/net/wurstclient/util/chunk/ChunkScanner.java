@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util.chunk;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ExecutorService;
+
+import net.minecraft.world.chunk.Chunk;
+import net.wurstclient.events.UpdateListener;
+import net.wurstclient.util.MinPriorityThreadFactory;
+
+/**
+ * Runs the {@link ChunkSearcher}s of all ESP hacks. Searchers that are
+ * started for the same chunk during the same tick are combined into a single
+ * pass over that chunk's blocks, so that enabling more ESP hacks doesn't
+ * mean scanning every loaded chunk again for each of them.
+ */
+public final class ChunkScanner implements UpdateListener
+{
+	private static final ExecutorService BACKGROUND_THREAD_POOL =
+		MinPriorityThreadFactory.newFixedThreadPool();
+	
+	private final IdentityHashMap<Chunk, ArrayList<ChunkSearcher>> pending =
+		new IdentityHashMap<>();
+	
+	/**
+	 * Queues the given searcher to run together with any other searchers for
+	 * the same chunk at the start of the next tick. Must be called on the
+	 * client thread.
+	 */
+	void submit(ChunkSearcher searcher, Chunk chunk)
+	{
+		pending.computeIfAbsent(chunk, c -> new ArrayList<>()).add(searcher);
+	}
+	
+	@Override
+	public void onUpdate()
+	{
+		if(pending.isEmpty())
+			return;
+		
+		pending.forEach((chunk, searchers) -> BACKGROUND_THREAD_POOL
+			.execute(() -> ChunkSearcher.searchNow(chunk, searchers)));
+		
+		pending.clear();
+	}
+}
@@ -8,80 +8,222 @@
 package net.wurstclient.util.chunk;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
 import net.minecraft.world.dimension.DimensionType;
-import net.wurstclient.util.MinPriorityThreadFactory;
+import net.wurstclient.WurstClient;
 
 /**
  * Searches the given {@link Chunk} for blocks matching the given query.
+ *
+ * <p>
+ * The chunk is searched one {@link ChunkSection} at a time. Sections whose
+ * block state palette has no entry matching the state filter are skipped
+ * without looking at any of their blocks, which makes searches for rare
+ * blocks much faster.
  */
 public final class ChunkSearcher
 {
-	private static final ExecutorService BACKGROUND_THREAD_POOL =
-		MinPriorityThreadFactory.newFixedThreadPool();
-	
 	private final BiPredicate<BlockPos, BlockState> query;
+	private final Predicate<BlockState> stateFilter;
 	private final Chunk chunk;
 	private final DimensionType dimension;
 	
-	private CompletableFuture<ArrayList<Result>> future;
+	private volatile CompletableFuture<ArrayList<Result>> future;
 	private boolean interrupted;
 	
 	public ChunkSearcher(BiPredicate<BlockPos, BlockState> query, Chunk chunk,
 		DimensionType dimension)
+	{
+		this(query, state -> true, chunk, dimension);
+	}
+	
+	/**
+	 * @param query
+	 *            The query. The {@link BlockPos} passed to it is mutable and
+	 *            must not be stored.
+	 * @param stateFilter
+	 *            Must return true for every {@link BlockState} that the query
+	 *            could possibly match. Used to skip entire chunk sections.
+	 */
+	public ChunkSearcher(BiPredicate<BlockPos, BlockState> query,
+		Predicate<BlockState> stateFilter, Chunk chunk, DimensionType dimension)
 	{
 		this.query = query;
+		this.stateFilter = stateFilter;
 		this.chunk = chunk;
 		this.dimension = dimension;
 	}
 	
+	/**
+	 * Queues this search on the {@link ChunkScanner}, which runs it together
+	 * with any other searches for the same chunk.
+	 */
 	public void start()
 	{
 		if(future != null || interrupted)
 			throw new IllegalStateException();
 		
-		future = CompletableFuture.supplyAsync(this::searchNow,
-			BACKGROUND_THREAD_POOL);
+		future = new CompletableFuture<>();
+		WurstClient.INSTANCE.getChunkScanner().submit(this, chunk);
 	}
 	
-	private ArrayList<Result> searchNow()
+	/**
+	 * Runs all of the given searches in a single pass over the chunk. Each
+	 * section is only scanned for the searches whose state filter matches its
+	 * palette.
+	 */
+	@SuppressWarnings("unchecked")
+	static void searchNow(Chunk chunk, List<ChunkSearcher> searchers)
 	{
-		ArrayList<Result> results = new ArrayList<>();
-		ChunkPos chunkPos = chunk.getPos();
+		int count = searchers.size();
+		ArrayList<Result>[] results = new ArrayList[count];
+		for(int i = 0; i < count; i++)
+			results[i] = new ArrayList<>();
+		
+		try
+		{
+			scanSections(chunk, searchers, results);
+			
+		}catch(RuntimeException e)
+		{
+			searchers.forEach(searcher -> searcher.future
+				.completeExceptionally(e));
+			return;
+		}
 		
+		for(int i = 0; i < count; i++)
+			searchers.get(i).future.complete(results[i]);
+	}
+	
+	private static void scanSections(Chunk chunk,
+		List<ChunkSearcher> searchers, ArrayList<Result>[] results)
+	{
+		ChunkPos chunkPos = chunk.getPos();
 		int minX = chunkPos.getStartX();
 		int minY = chunk.getBottomY();
 		int minZ = chunkPos.getStartZ();
-		int maxX = chunkPos.getEndX();
 		int maxY = ChunkUtils.getHighestNonEmptySectionYOffset(chunk) + 16;
-		int maxZ = chunkPos.getEndZ();
 		
-		for(int x = minX; x <= maxX; x++)
-			for(int y = minY; y <= maxY; y++)
-				for(int z = minZ; z <= maxZ; z++)
-				{
-					if(interrupted)
-						return results;
-					
-					BlockPos pos = new BlockPos(x, y, z);
-					BlockState state = chunk.getBlockState(pos);
-					if(!query.test(pos, state))
-						continue;
-					
-					results.add(new Result(pos, state));
-				}
+		ChunkSection[] sections = chunk.getSectionArray();
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		
+		// indices of the searches that need to look at the current section
+		int[] active = new int[searchers.size()];
+		
+		for(int i = 0; i < sections.length; i++)
+		{
+			int sectionMinY = minY + (i << 4);
+			if(sectionMinY > maxY)
+				break;
+			
+			// skip searches that can't match anything in this section
+			ChunkSection section = sections[i];
+			int activeCount = 0;
+			for(int j = 0; j < active.length; j++)
+			{
+				ChunkSearcher searcher = searchers.get(j);
+				if(!searcher.interrupted
+					&& section.hasAny(searcher.stateFilter))
+					active[activeCount++] = j;
+			}
+			
+			if(activeCount == 0)
+				continue;
+			
+			int sectionMaxY = Math.min(sectionMinY + 15, maxY);
+			for(int y = sectionMinY; y <= sectionMaxY; y++)
+			{
+				if(areAllInterrupted(searchers))
+					return;
+				
+				for(int z = 0; z < 16; z++)
+					for(int x = 0; x < 16; x++)
+					{
+						BlockState state =
+							section.getBlockState(x, y - sectionMinY, z);
+						pos.set(minX + x, y, minZ + z);
+						
+						for(int j = 0; j < activeCount; j++)
+						{
+							int index = active[j];
+							if(!searchers.get(index).query.test(pos, state))
+								continue;
+							
+							results[index]
+								.add(new Result(pos.toImmutable(), state));
+						}
+					}
+			}
+		}
+	}
+	
+	private static boolean areAllInterrupted(List<ChunkSearcher> searchers)
+	{
+		for(ChunkSearcher searcher : searchers)
+			if(!searcher.interrupted)
+				return false;
+			
+		return true;
+	}
+	
+	/**
+	 * Checks the given positions in this chunk again and updates the matches
+	 * accordingly. Must be called on the client thread after the search is
+	 * done.
+	 *
+	 * @return true if the matches have changed.
+	 */
+	public boolean updateBlocks(Collection<BlockPos> positions)
+	{
+		if(!isDone() || future.isCancelled())
+			throw new IllegalStateException();
+		
+		int minY = chunk.getBottomY();
+		int maxY = chunk.getTopYInclusive();
+		HashSet<BlockPos> changed = new HashSet<>(positions);
+		changed.removeIf(pos -> pos.getY() < minY || pos.getY() > maxY);
+		
+		ArrayList<Result> oldResults = future.join();
+		ArrayList<Result> results = new ArrayList<>(oldResults.size());
+		HashSet<Result> removed = new HashSet<>();
+		for(Result result : oldResults)
+			if(changed.contains(result.pos()))
+				removed.add(result);
+			else
+				results.add(result);
+			
+		boolean matchesChanged = false;
+		for(BlockPos pos : changed)
+		{
+			BlockState state = chunk.getBlockState(pos);
+			boolean match = query.test(pos, state);
+			if(match)
+				results.add(new Result(pos, state));
 			
-		return results;
+			if(match != removed.remove(new Result(pos, state)))
+				matchesChanged = true;
+		}
+		
+		if(!matchesChanged && removed.isEmpty())
+			return false;
+		
+		// replace the list instead of modifying it, since other threads may
+		// still be reading the old one
+		future = CompletableFuture.completedFuture(results);
+		return true;
 	}
 	
 	public void cancel()
@@ -8,11 +8,11 @@
 package net.wurstclient.util.chunk;
 
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
 import net.wurstclient.settings.ChunkAreaSetting;
 import net.wurstclient.util.chunk.ChunkSearcher.Result;
 
@@ -29,13 +29,14 @@ public final class ChunkSearcherCoordinator extends AbstractChunkCoordinator
 		super(query, area);
 	}
 	
-	@Override
-	public void onReceivedPacket(PacketInputEvent event)
+	/**
+	 * Creates a coordinator for a query that only depends on the block state,
+	 * so that chunk sections without any matching states can be skipped.
+	 */
+	public ChunkSearcherCoordinator(Predicate<BlockState> query,
+		ChunkAreaSetting area)
 	{
-		ChunkPos chunkPos = ChunkUtils.getAffectedChunk(event.getPacket());
-		
-		if(chunkPos != null)
-			chunksToUpdate.add(chunkPos);
+		super((pos, state) -> query.test(state), query, area);
 	}
 	
 	public Stream<Result> getMatches()
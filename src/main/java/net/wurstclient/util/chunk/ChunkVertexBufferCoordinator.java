@@ -7,31 +7,70 @@
  */
 package net.wurstclient.util.chunk;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import com.mojang.blaze3d.vertex.VertexFormat;
 import com.mojang.blaze3d.vertex.VertexFormat.DrawMode;
 
 import net.minecraft.block.BlockState;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BuiltBuffer;
 import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.util.BufferAllocator;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.wurstclient.settings.ChunkAreaSetting;
 import net.wurstclient.util.EasyVertexBuffer;
+import net.wurstclient.util.MinPriorityThreadFactory;
+import net.wurstclient.util.RegionPos;
 import net.wurstclient.util.chunk.ChunkSearcher.Result;
 
+/**
+ * Keeps one {@link EasyVertexBuffer} per {@link RegionPos}, containing the
+ * results of all finished {@link ChunkSearcher}s in that region.
+ *
+ * <p>
+ * The vertex data is built on a background thread. The render thread only
+ * uploads finished buffers, and stops uploading once the per-frame upload
+ * budget is used up, so that loading many chunks at once doesn't cause a lag
+ * spike.
+ */
 public final class ChunkVertexBufferCoordinator extends AbstractChunkCoordinator
 {
-	private final HashMap<ChunkPos, EasyVertexBuffer> buffers = new HashMap<>();
+	private static final ExecutorService BUILD_THREAD_POOL =
+		MinPriorityThreadFactory.newFixedThreadPool();
+	
+	// initial size only, BufferAllocator grows as needed
+	private static final int ALLOCATOR_SIZE = 262144;
+	
+	private final HashMap<RegionPos, EasyVertexBuffer> buffers =
+		new HashMap<>();
+	private final HashMap<RegionPos, Region> regions = new HashMap<>();
+	private final HashMap<ChunkPos, Region> builtChunks = new HashMap<>();
+	private final ConcurrentLinkedQueue<Build> finishedBuilds =
+		new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<BufferAllocator> allocators =
+		new ConcurrentLinkedQueue<>();
+	
+	// incremented by reset(), so that builds started before it don't return
+	// their allocators to the pool after it has been closed
+	private volatile int generation;
+	
 	private final Renderer renderer;
 	private final DrawMode drawMode;
 	private final VertexFormat format;
+	private long uploadBudgetNanos = TimeUnit.MILLISECONDS.toNanos(2);
 	
 	public ChunkVertexBufferCoordinator(BiPredicate<BlockPos, BlockState> query,
 		DrawMode drawMode, VertexFormat format, Renderer renderer,
@@ -43,13 +82,28 @@ public final class ChunkVertexBufferCoordinator extends AbstractChunkCoordinator
 		this.format = format;
 	}
 	
+	/**
+	 * Sets how much time {@link #getBuffers()} may spend uploading vertex
+	 * buffers each frame. At least one buffer is uploaded per frame, no matter
+	 * how small the budget is.
+	 */
+	public void setUploadBudget(long nanos)
+	{
+		uploadBudgetNanos = nanos;
+	}
+	
 	@Override
-	public void onReceivedPacket(PacketInputEvent event)
+	protected void onBlockUpdate(BlockPos pos)
+	{
+		// MobSpawnESP's query depends on light levels, which a block change
+		// can affect up to 15 blocks away, so testing only the changed blocks
+		// again isn't enough
+		onChunkUpdate(new ChunkPos(pos));
+	}
+	
+	@Override
+	protected void onChunkUpdate(ChunkPos center)
 	{
-		ChunkPos center = ChunkUtils.getAffectedChunk(event.getPacket());
-		if(center == null)
-			return;
-		
 		for(int x = center.x - 1; x <= center.x + 1; x++)
 			for(int z = center.z - 1; z <= center.z + 1; z++)
 				chunksToUpdate.add(new ChunkPos(x, z));
@@ -58,42 +112,226 @@ public final class ChunkVertexBufferCoordinator extends AbstractChunkCoordinator
 	@Override
 	protected void onRemove(ChunkSearcher searcher)
 	{
-		@SuppressWarnings("resource")
-		EasyVertexBuffer buffer = buffers.remove(searcher.getPos());
-		if(buffer != null)
-			buffer.close();
+		invalidate(searcher.getPos());
+	}
+	
+	private void invalidate(ChunkPos chunkPos)
+	{
+		Region region = builtChunks.remove(chunkPos);
+		if(region != null)
+			region.dirty = true;
+	}
+	
+	@Override
+	public void setQuery(BiPredicate<BlockPos, BlockState> query,
+		Predicate<BlockState> stateFilter)
+	{
+		super.setQuery(query, stateFilter);
+		builtChunks.clear();
+		regions.values().forEach(region -> region.dirty = true);
 	}
 	
 	@Override
 	public void reset()
 	{
 		super.reset();
+		generation++;
 		buffers.values().forEach(EasyVertexBuffer::close);
 		buffers.clear();
+		regions.clear();
+		builtChunks.clear();
+		
+		// builds that are still running will close their allocators when they
+		// finish, since they belong to an older generation
+		Build build;
+		while((build = finishedBuilds.poll()) != null)
+			discard(build);
+		
+		allocators.forEach(BufferAllocator::close);
+		allocators.clear();
 	}
 	
-	public Set<Entry<ChunkPos, EasyVertexBuffer>> getBuffers()
+	/**
+	 * Uploads finished buffers within the upload budget, starts building new
+	 * ones for regions that have changed and returns the buffers of all
+	 * regions that have been uploaded so far. Must be called on the render
+	 * thread.
+	 */
+	public Set<Entry<RegionPos, EasyVertexBuffer>> getBuffers()
 	{
-		for(ChunkSearcher searcher : searchers.values())
-			buildBuffer(searcher);
-		
+		uploadFinishedBuilds();
+		startBuilds();
 		return Collections.unmodifiableSet(buffers.entrySet());
 	}
 	
-	private void buildBuffer(ChunkSearcher searcher)
+	private void uploadFinishedBuilds()
 	{
-		if(buffers.containsKey(searcher.getPos()))
+		long deadline = System.nanoTime() + uploadBudgetNanos;
+		
+		Build build;
+		while((build = finishedBuilds.poll()) != null)
+			if(upload(build) && System.nanoTime() > deadline)
+				break;
+	}
+	
+	private boolean upload(Build build)
+	{
+		Region region = build.region();
+		if(regions.get(region.pos) != region)
+		{
+			discard(build);
+			return false;
+		}
+		
+		region.building = false;
+		
+		try(BuiltBuffer builtBuffer = build.buffer())
+		{
+			EasyVertexBuffer buffer =
+				EasyVertexBuffer.upload(builtBuffer, drawMode);
+			
+			@SuppressWarnings("resource")
+			EasyVertexBuffer oldBuffer = buffers.put(region.pos, buffer);
+			if(oldBuffer != null)
+				oldBuffer.close();
+		}
+		
+		recycle(build);
+		return true;
+	}
+	
+	private void discard(Build build)
+	{
+		if(build.buffer() != null)
+			build.buffer().close();
+		
+		recycle(build);
+	}
+	
+	private void recycle(Build build)
+	{
+		BufferAllocator allocator = build.allocator();
+		if(allocator == null)
+			return;
+		
+		if(build.generation() == generation)
+			allocators.add(allocator);
+		else
+			allocator.close();
+	}
+	
+	private void startBuilds()
+	{
+		// mark regions with newly finished searchers as changed
+		for(ChunkSearcher searcher : searchers.values())
+			if(searcher.isDone() && !builtChunks.containsKey(searcher.getPos()))
+				regions.computeIfAbsent(RegionPos.of(searcher.getPos()),
+					Region::new).dirty = true;
+			
+		if(regions.values().stream()
+			.noneMatch(region -> region.dirty && !region.building))
 			return;
 		
-		EasyVertexBuffer vertexBuffer = EasyVertexBuffer
-			.createAndUpload(drawMode, format, buffer -> renderer
-				.buildBuffer(buffer, searcher, searcher.getMatchesList()));
+		HashMap<RegionPos, ArrayList<ChunkSearcher>> searchersByRegion =
+			new HashMap<>();
+		for(ChunkSearcher searcher : searchers.values())
+			if(searcher.isDone())
+				searchersByRegion.computeIfAbsent(
+					RegionPos.of(searcher.getPos()), r -> new ArrayList<>())
+					.add(searcher);
+			
+		for(Region region : new ArrayList<>(regions.values()))
+		{
+			// if the region changes again while it's being built, it's built
+			// once more after the current build has been uploaded
+			if(!region.dirty || region.building)
+				continue;
+			
+			region.dirty = false;
+			ArrayList<ChunkSearcher> regionSearchers =
+				searchersByRegion.get(region.pos);
+			
+			if(regionSearchers == null)
+			{
+				regions.remove(region.pos);
+				@SuppressWarnings("resource")
+				EasyVertexBuffer buffer = buffers.remove(region.pos);
+				if(buffer != null)
+					buffer.close();
+				continue;
+			}
+			
+			for(ChunkSearcher searcher : regionSearchers)
+				builtChunks.put(searcher.getPos(), region);
+			
+			BufferAllocator allocator = allocators.poll();
+			if(allocator == null)
+				allocator = new BufferAllocator(ALLOCATOR_SIZE);
+			
+			region.building = true;
+			BufferAllocator finalAllocator = allocator;
+			int buildGeneration = generation;
+			BUILD_THREAD_POOL.execute(() -> finishBuild(build(region,
+				regionSearchers, finalAllocator, buildGeneration)));
+		}
+	}
+	
+	private void finishBuild(Build build)
+	{
+		// don't keep outdated builds around until the next frame, which may
+		// never come if the hack was turned off
+		if(build.generation() != generation)
+			discard(build);
+		else
+			finishedBuilds.add(build);
+	}
+	
+	private Build build(Region region, ArrayList<ChunkSearcher> regionSearchers,
+		BufferAllocator allocator, int generation)
+	{
+		try
+		{
+			BufferBuilder bufferBuilder =
+				new BufferBuilder(allocator, drawMode, format);
+			
+			for(ChunkSearcher searcher : regionSearchers)
+				renderer.buildBuffer(bufferBuilder, searcher,
+					searcher.getMatchesList());
+			
+			return new Build(region, bufferBuilder.endNullable(), allocator,
+				generation);
+			
+		}catch(RuntimeException e)
+		{
+			e.printStackTrace();
+			allocator.close();
+			return new Build(region, null, null, generation);
+		}
+	}
+	
+	private static final class Region
+	{
+		private final RegionPos pos;
+		private boolean dirty;
+		private boolean building;
 		
-		buffers.put(searcher.getPos(), vertexBuffer);
+		private Region(RegionPos pos)
+		{
+			this.pos = pos;
+		}
 	}
 	
+	private record Build(Region region, BuiltBuffer buffer,
+		BufferAllocator allocator, int generation)
+	{}
+	
 	public static interface Renderer
 	{
+		/**
+		 * Called on a background thread. All chunks in the same
+		 * {@link RegionPos} share one buffer, so vertex positions must be
+		 * relative to {@code RegionPos.of(searcher.getPos())}.
+		 */
 		public void buildBuffer(VertexConsumer buffer, ChunkSearcher searcher,
 			List<Result> results);
 	}
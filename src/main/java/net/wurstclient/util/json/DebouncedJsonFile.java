@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util.json;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.gson.JsonElement;
+
+import net.wurstclient.WurstClient;
+
+/**
+ * Saves a JSON file in the background, so that changing a setting many times
+ * per second (e.g. by dragging a slider) doesn't rewrite the file every time.
+ *
+ * <p>
+ * {@link #save(Supplier)} only marks the file as changed. Up to
+ * {@link #DELAY_MS} later, the JSON is created on the client thread and then
+ * written on a background thread, through a temporary file that replaces
+ * the old one, so that the file is never left half-written.
+ *
+ * <p>
+ * Call {@link #flushAll()} before the game closes to write any changes that
+ * are still pending.
+ */
+public final class DebouncedJsonFile
+{
+	public static final long DELAY_MS = 500;
+	
+	private static final ScheduledExecutorService WRITER =
+		Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "Wurst JSON writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	
+	private static final Set<DebouncedJsonFile> INSTANCES =
+		ConcurrentHashMap.newKeySet();
+	
+	private final Path path;
+	private Supplier<? extends JsonElement> jsonSupplier;
+	private boolean scheduled;
+	
+	public DebouncedJsonFile(Path path)
+	{
+		this.path = path;
+		INSTANCES.add(this);
+	}
+	
+	/**
+	 * Marks the file as changed. The supplier is called on the client thread
+	 * when the file is actually written, so it always sees the latest state.
+	 */
+	public synchronized void save(Supplier<? extends JsonElement> jsonSupplier)
+	{
+		this.jsonSupplier = jsonSupplier;
+		
+		if(scheduled)
+			return;
+		
+		scheduled = true;
+		WRITER.schedule(() -> WurstClient.MC.execute(this::writePending),
+			DELAY_MS, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Writes any pending changes right away and waits until all writes have
+	 * finished. Must be called on the client thread.
+	 */
+	public void flush()
+	{
+		writePending();
+		awaitWrites();
+	}
+	
+	/**
+	 * Writes the pending changes of all files and waits until they are on
+	 * disk. If called from another thread, the files are written on the
+	 * client thread as soon as possible instead.
+	 */
+	public static void flushAll()
+	{
+		if(!WurstClient.MC.isOnThread())
+		{
+			WurstClient.MC.execute(DebouncedJsonFile::flushAll);
+			return;
+		}
+		
+		INSTANCES.forEach(DebouncedJsonFile::writePending);
+		awaitWrites();
+	}
+	
+	private void writePending()
+	{
+		Supplier<? extends JsonElement> supplier;
+		synchronized(this)
+		{
+			supplier = jsonSupplier;
+			jsonSupplier = null;
+			scheduled = false;
+		}
+		
+		if(supplier == null)
+			return;
+		
+		JsonElement json = supplier.get();
+		WRITER.execute(() -> write(json));
+	}
+	
+	private void write(JsonElement json)
+	{
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+		
+		try
+		{
+			JsonUtils.toJson(json, tempPath);
+			
+			try
+			{
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+				
+			}catch(AtomicMoveNotSupportedException e)
+			{
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			
+		}catch(IOException | JsonException e)
+		{
+			System.out.println("Couldn't save " + path.getFileName());
+			e.printStackTrace();
+		}
+	}
+	
+	private static void awaitWrites()
+	{
+		// the writer is single-threaded, so this runs after all earlier writes
+		try
+		{
+			WRITER.submit(() -> {}).get();
+			
+		}catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			
+		}catch(ExecutionException e)
+		{
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.ai;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PathQueueTest
+{
+	@Test
+	void testPollReturnsLowestPriorityFirst()
+	{
+		PathQueue queue = new PathQueue();
+		queue.add(0, 3);
+		queue.add(1, 1);
+		queue.add(2, 2);
+		
+		assertEquals(1, queue.poll());
+		assertEquals(2, queue.poll());
+		assertEquals(0, queue.poll());
+		assertTrue(queue.isEmpty());
+	}
+	
+	@Test
+	void testAddLowersPriorityInsteadOfDuplicating()
+	{
+		PathQueue queue = new PathQueue();
+		queue.add(0, 1);
+		queue.add(1, 5);
+		queue.add(1, 0.5F);
+		queue.add(1, 10);
+		
+		assertEquals(2, queue.size());
+		assertEquals(1, queue.poll());
+		assertFalse(queue.contains(1));
+		assertEquals(0, queue.poll());
+	}
+	
+	@Test
+	void testRandomDecreaseKey()
+	{
+		Random random = new Random(0);
+		PathQueue queue = new PathQueue();
+		float[] priorities = new float[10000];
+		
+		for(int i = 0; i < priorities.length; i++)
+		{
+			priorities[i] = random.nextFloat() * 1000;
+			queue.add(i, priorities[i]);
+		}
+		
+		for(int i = 0; i < 5000; i++)
+		{
+			int node = random.nextInt(priorities.length);
+			priorities[node] -= random.nextFloat() * 100;
+			queue.add(node, priorities[node]);
+		}
+		
+		float last = Float.NEGATIVE_INFINITY;
+		for(int i = 0; i < priorities.length; i++)
+		{
+			int node = queue.poll();
+			assertTrue(priorities[node] >= last);
+			last = priorities[node];
+		}
+		
+		assertTrue(queue.isEmpty());
+	}
+	
+	@Test
+	void testNodeMapRoundTrip()
+	{
+		PathNodeMap nodes = new PathNodeMap(-29_000_000, 12_345);
+		long key = nodes.pack(-29_000_100, -64, 12_000, true);
+		int node = nodes.getOrCreate(key);
+		
+		assertEquals(node, nodes.getOrCreate(key));
+		assertEquals(node, nodes.get(key));
+		assertEquals(PathNodeMap.NO_NODE,
+			nodes.get(nodes.pack(-29_000_100, -64, 12_000, false)));
+		assertEquals(-29_000_100, nodes.getX(node));
+		assertEquals(-64, nodes.getY(node));
+		assertEquals(12_000, nodes.getZ(node));
+		assertTrue(nodes.isJumping(node));
+		assertEquals(Float.POSITIVE_INFINITY, nodes.getCost(node));
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.altmanager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static net.wurstclient.util.StubHttpServer.respond;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.wurstclient.altmanager.ProfileFetcher.Textures;
+import net.wurstclient.util.StubHttpServer;
+
+class ProfileQueueTest
+{
+	private static final UUID ALICE =
+		UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+	
+	private final AtomicInteger profileRequests = new AtomicInteger();
+	private final AtomicInteger sessionRequests = new AtomicInteger();
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger maxActive = new AtomicInteger();
+	private final CountDownLatch saturated =
+		new CountDownLatch(ProfileQueue.MAX_REQUESTS);
+	private volatile CountDownLatch release = new CountDownLatch(0);
+	private StubHttpServer server;
+	
+	@BeforeEach
+	void startServer() throws IOException
+	{
+		server = new StubHttpServer();
+		
+		server.handle("/profiles/", exchange -> {
+			profileRequests.incrementAndGet();
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			saturated.countDown();
+			try
+			{
+				release.await(5, TimeUnit.SECONDS);
+				
+			}catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			
+			active.decrementAndGet();
+			String path = exchange.getRequestURI().getPath();
+			if(path.endsWith("/alice"))
+				respond(exchange, 200, "{\"name\":\"Alice\",\"id\":\""
+					+ ALICE.toString().replace("-", "") + "\"}");
+			else
+				respond(exchange, 204, null);
+		});
+		
+		server.handle("/session/", exchange -> {
+			sessionRequests.incrementAndGet();
+			respond(exchange, 200,
+				"{\"id\":\"" + ALICE.toString().replace("-", "")
+					+ "\",\"name\":\"Alice\",\"properties\":[{\"name\":"
+					+ "\"textures\",\"value\":\"abc\",\"signature\":"
+					+ "\"sig\"}]}");
+		});
+	}
+	
+	@AfterEach
+	void stopServer()
+	{
+		server.close();
+	}
+	
+	@Test
+	void testFetchesUuidAndTextures() throws Exception
+	{
+		ProfileCache cache = new ProfileCache();
+		CountDownLatch done = new CountDownLatch(1);
+		ProfileQueue queue = createQueue(cache, done);
+		
+		queue.request("Alice");
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		
+		assertEquals(ALICE, cache.getName("alice").uuid());
+		assertEquals(new Textures("abc", "sig"),
+			cache.getTexturesForName("Alice"));
+		assertFalse(cache.needsFetch("Alice"));
+		
+		// cached, so this returns without starting a lookup
+		queue.request("Alice");
+		assertEquals(1, profileRequests.get());
+		assertEquals(1, sessionRequests.get());
+	}
+	
+	@Test
+	void testRemembersNamesWithoutAccount() throws Exception
+	{
+		ProfileCache cache = new ProfileCache();
+		CountDownLatch done = new CountDownLatch(1);
+		ProfileQueue queue = createQueue(cache, done);
+		
+		queue.request("Cracked");
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		
+		assertNull(cache.getName("Cracked").uuid());
+		assertFalse(cache.needsFetch("Cracked"));
+		assertEquals(0, sessionRequests.get());
+	}
+	
+	@Test
+	void testExpiredEntriesAreFetchedAgain()
+	{
+		long[] now = {0};
+		ProfileCache cache = new ProfileCache(() -> now[0]);
+		cache.putName("Cracked", null);
+		assertFalse(cache.needsFetch("Cracked"));
+		
+		now[0] += ProfileCache.NO_ACCOUNT_TTL;
+		assertTrue(cache.needsFetch("Cracked"));
+	}
+	
+	@Test
+	void testLimitsConcurrentRequests() throws Exception
+	{
+		release = new CountDownLatch(1);
+		ProfileCache cache = new ProfileCache();
+		CountDownLatch done = new CountDownLatch(10);
+		ProfileQueue queue = createQueue(cache, done);
+		
+		for(int i = 0; i < 10; i++)
+			queue.request("Alt" + i);
+		
+		// all lookups are blocked until release, so no more can start
+		assertTrue(saturated.await(5, TimeUnit.SECONDS));
+		assertEquals(ProfileQueue.MAX_REQUESTS, active.get());
+		
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(10, profileRequests.get());
+		assertEquals(ProfileQueue.MAX_REQUESTS, maxActive.get());
+	}
+	
+	private ProfileQueue createQueue(ProfileCache cache, CountDownLatch done)
+	{
+		ProfileFetcher fetcher = new ProfileFetcher(
+			server.getUri("/profiles/"), server.getUri("/session/"));
+		
+		// names are only requested once here, unlike in the alt list, so they
+		// must not be forgotten while waiting for other lookups
+		return new ProfileQueue(fetcher, cache, done::countDown,
+			Long.MAX_VALUE);
+	}
+}
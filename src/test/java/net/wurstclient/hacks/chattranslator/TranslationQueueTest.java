@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.hacks.chattranslator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static net.wurstclient.util.StubHttpServer.respond;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.wurstclient.util.StubHttpServer;
+
+class TranslationQueueTest
+{
+	private final AtomicInteger requests = new AtomicInteger();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private StubHttpServer server;
+	
+	@BeforeEach
+	void startServer() throws IOException
+	{
+		server = new StubHttpServer();
+		
+		server.handle("/ok", exchange -> {
+			requests.incrementAndGet();
+			try
+			{
+				release.await(5, TimeUnit.SECONDS);
+				
+			}catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			
+			respond(exchange, 200,
+				"<div class=\"result-container\">Hallo Welt</div>");
+		});
+		
+		server.handle("/fail", exchange -> {
+			requests.incrementAndGet();
+			respond(exchange, 500, null);
+		});
+	}
+	
+	@AfterEach
+	void stopServer()
+	{
+		server.close();
+	}
+	
+	@Test
+	void testCoalescesDuplicatesAndCachesResults() throws Exception
+	{
+		TranslationQueue queue = createQueue("/ok");
+		
+		CompletableFuture<String> first =
+			queue.translate("Hello world", "en", "de");
+		CompletableFuture<String> second =
+			queue.translate("Hello world", "en", "de");
+		assertSame(first, second);
+		
+		release.countDown();
+		assertEquals("Hallo Welt", first.get(5, TimeUnit.SECONDS));
+		
+		CompletableFuture<String> cached =
+			queue.translate("Hello world", "en", "de");
+		assertTrue(cached.isDone());
+		assertEquals("Hallo Welt", cached.get());
+		assertEquals(1, requests.get());
+	}
+	
+	@Test
+	void testDoesNotCacheFailedRequests() throws Exception
+	{
+		TranslationQueue queue = createQueue("/fail");
+		
+		for(int i = 0; i < 2; i++)
+		{
+			CompletableFuture<String> future =
+				queue.translate("Hello", "en", "de");
+			assertNull(future.get(5, TimeUnit.SECONDS));
+		}
+		
+		assertEquals(2, requests.get());
+	}
+	
+	@Test
+	void testKeepsWorkingAfterTranslatorCrash() throws Exception
+	{
+		TranslationQueue queue = new TranslationQueue((text, from, to) -> {
+			if(text.equals("crash"))
+				throw new IllegalStateException("unexpected page");
+			
+			return text.toUpperCase();
+		}, new TranslationCache(16));
+		
+		assertNull(
+			queue.translate("crash", "en", "de").get(5, TimeUnit.SECONDS));
+		assertEquals("HELLO",
+			queue.translate("hello", "en", "de").get(5, TimeUnit.SECONDS));
+	}
+	
+	private TranslationQueue createQueue(String path)
+	{
+		return new TranslationQueue(new GoogleTranslate(server.getUri(path)),
+			new TranslationCache(16));
+	}
+}
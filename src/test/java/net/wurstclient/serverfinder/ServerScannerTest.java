@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.serverfinder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+import net.wurstclient.serverfinder.ServerScanner.Result;
+
+class ServerScannerTest
+{
+	private static final String STATUS =
+		"{\"version\":{\"name\":\"1.21.8\",\"protocol\":772}}";
+	
+	@Test
+	void testFindsFakeServerAndSkipsClosedPort() throws Exception
+	{
+		InetAddress localhost = InetAddress.getLoopbackAddress();
+		
+		int closedPort;
+		try(ServerSocket closed = new ServerSocket(0, 50, localhost))
+		{
+			closedPort = closed.getLocalPort();
+		}
+		
+		try(ServerSocket server = new ServerSocket(0, 50, localhost))
+		{
+			Thread.ofVirtual().start(() -> respondToPings(server));
+			
+			int serverPort = server.getLocalPort();
+			List<InetSocketAddress> addresses =
+				List.of(new InetSocketAddress(localhost, serverPort),
+					new InetSocketAddress(localhost, closedPort));
+			
+			ConcurrentLinkedQueue<Result> results =
+				new ConcurrentLinkedQueue<>();
+			ServerScanner scanner = new ServerScanner(1, 2000);
+			assertTrue(scanner.scan(addresses, results::add));
+			
+			assertEquals(2, results.size());
+			for(Result result : results)
+			{
+				boolean fake = result.address().getPort() == serverPort;
+				assertEquals(fake, result.isWorking());
+				if(fake)
+					assertEquals(STATUS, result.status());
+			}
+		}
+	}
+	
+	@Test
+	void testParsesCidrRangeAndPorts() throws Exception
+	{
+		List<InetSocketAddress> targets =
+			ScanTargets.parse("10.0.0.77/30:25565,25570-25571");
+		
+		assertEquals(12, targets.size());
+		assertEquals(new InetSocketAddress("10.0.0.76", 25565),
+			targets.get(0));
+		assertEquals(new InetSocketAddress("10.0.0.79", 25571),
+			targets.get(11));
+		
+		assertThrows(IllegalArgumentException.class,
+			() -> ScanTargets.parse("10.0.0.0/8"));
+	}
+	
+	private static void respondToPings(ServerSocket server)
+	{
+		while(!server.isClosed())
+		{
+			try(Socket socket = server.accept())
+			{
+				DataInputStream in =
+					new DataInputStream(socket.getInputStream());
+				in.readFully(new byte[readVarInt(in)]); // handshake
+				in.readFully(new byte[readVarInt(in)]); // status request
+				
+				byte[] status = STATUS.getBytes(StandardCharsets.UTF_8);
+				ByteArrayOutputStream packet = new ByteArrayOutputStream();
+				DataOutputStream packetOut = new DataOutputStream(packet);
+				writeVarInt(packetOut, 0x00);
+				writeVarInt(packetOut, status.length);
+				packetOut.write(status);
+				
+				DataOutputStream out =
+					new DataOutputStream(socket.getOutputStream());
+				writeVarInt(out, packet.size());
+				packet.writeTo(out);
+				out.flush();
+				
+			}catch(IOException e)
+			{
+				// server closed or client gave up
+			}
+		}
+	}
+	
+	private static void writeVarInt(DataOutputStream out, int value)
+		throws IOException
+	{
+		while((value & ~0x7F) != 0)
+		{
+			out.writeByte(value & 0x7F | 0x80);
+			value >>>= 7;
+		}
+		
+		out.writeByte(value);
+	}
+	
+	private static int readVarInt(DataInputStream in) throws IOException
+	{
+		int value = 0;
+		for(int shift = 0; shift < 35; shift += 7)
+		{
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if((b & 0x80) == 0)
+				return value;
+		}
+		
+		throw new IOException("VarInt too long");
+	}
+}
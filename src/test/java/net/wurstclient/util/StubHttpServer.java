@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014-2025 Wurst-Imperium and contributors.
+ *
+ * This source code is subject to the terms of the GNU General Public
+ * License, version 3. If a copy of the GPL was not distributed with this
+ * file, You can obtain one at: https://www.gnu.org/licenses/gpl-3.0.txt
+ */
+package net.wurstclient.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A loopback HTTP server for tests of code that talks to web services.
+ * Create it in a {@code @BeforeEach} method and close it in an
+ * {@code @AfterEach} method.
+ */
+public final class StubHttpServer implements AutoCloseable
+{
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	
+	public StubHttpServer() throws IOException
+	{
+		server = HttpServer.create(
+			new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.setExecutor(executor);
+		server.start();
+	}
+	
+	public void handle(String path, HttpHandler handler)
+	{
+		server.createContext(path, handler);
+	}
+	
+	public URI getUri(String path)
+	{
+		InetSocketAddress address = server.getAddress();
+		return URI.create("http://" + address.getHostString() + ":"
+			+ address.getPort() + path);
+	}
+	
+	/**
+	 * Sends the given body, or no body at all if it's null or empty.
+	 */
+	public static void respond(HttpExchange exchange, int status,
+		String body) throws IOException
+	{
+		if(body == null || body.isEmpty())
+		{
+			// -1 means no response body
+			exchange.sendResponseHeaders(status, -1);
+			exchange.close();
+			return;
+		}
+		
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try(OutputStream out = exchange.getResponseBody())
+		{
+			out.write(bytes);
+		}
+	}
+	
+	@Override
+	public void close()
+	{
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}